@@ -1,18 +1,24 @@
 package com.corhuila.ms_categories.application.usecases;
 
 import com.corhuila.ms_categories.domain.model.Category;
+import com.corhuila.ms_categories.domain.model.CategoryChangedEvent;
+import com.corhuila.ms_categories.domain.model.CategorySnapshot;
 import com.corhuila.ms_categories.domain.model.dto.CategoryRequest;
 import com.corhuila.ms_categories.domain.model.dto.CategoryResponse;
 import com.corhuila.ms_categories.domain.model.dto.CategoryUpdateRequest;
+import com.corhuila.ms_categories.domain.ports.CategoryEventPublisherPort;
 import com.corhuila.ms_categories.domain.ports.CategoryRepositoryPort;
 import com.corhuila.ms_categories.domain.ports.CategoryServicePort;
+import com.corhuila.ms_categories.domain.ports.CategorySnapshotPort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,10 +26,16 @@ public class CategoryUseCase implements CategoryServicePort {
 
     private static final Logger logger = LoggerFactory.getLogger(CategoryUseCase.class);
     private final CategoryRepositoryPort categoryRepositoryPort;
+    private final CategorySnapshotPort categorySnapshotPort;
+    private final CategoryEventPublisherPort categoryEventPublisherPort;
 
     @Autowired
-    public CategoryUseCase(CategoryRepositoryPort categoryRepositoryPort) {
+    public CategoryUseCase(CategoryRepositoryPort categoryRepositoryPort,
+                           CategorySnapshotPort categorySnapshotPort,
+                           CategoryEventPublisherPort categoryEventPublisherPort) {
         this.categoryRepositoryPort = categoryRepositoryPort;
+        this.categorySnapshotPort = categorySnapshotPort;
+        this.categoryEventPublisherPort = categoryEventPublisherPort;
     }
 
     @Override
@@ -41,6 +53,8 @@ public class CategoryUseCase implements CategoryServicePort {
 
         Category savedCategory = categoryRepositoryPort.save(category);
         logger.info("Categoría creada exitosamente con ID: {}", savedCategory.getCategoryId());
+        refreshSnapshot();
+        publishChange(savedCategory);
 
         return mapToResponse(savedCategory);
     }
@@ -71,6 +85,8 @@ public class CategoryUseCase implements CategoryServicePort {
 
         Category updatedCategory = categoryRepositoryPort.save(category);
         logger.info("Categoría actualizada exitosamente con ID: {}", updatedCategory.getCategoryId());
+        refreshSnapshot();
+        publishChange(updatedCategory);
 
         return mapToResponse(updatedCategory);
     }
@@ -87,7 +103,9 @@ public class CategoryUseCase implements CategoryServicePort {
 
         category.setActive(false);
         category.setUpdatedAt(LocalDateTime.now());
-        categoryRepositoryPort.save(category);
+        Category deletedCategory = categoryRepositoryPort.save(category);
+        refreshSnapshot();
+        publishChange(deletedCategory);
 
         logger.info("Categoría eliminada lógicamente exitosamente con ID: {}", id);
     }
@@ -96,9 +114,7 @@ public class CategoryUseCase implements CategoryServicePort {
     public List<CategoryResponse> getAllCategories() {
         logger.info("Obteniendo todas las categorías activas");
 
-        List<CategoryResponse> categories = categoryRepositoryPort.findAllActive().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<CategoryResponse> categories = getCategorySnapshot().getCategories();
 
         logger.info("Se encontraron {} categorías activas", categories.size());
         return categories;
@@ -108,9 +124,7 @@ public class CategoryUseCase implements CategoryServicePort {
     public List<CategoryResponse> getCategoriesByType(Category.CategoryType type) {
         logger.info("Filtrando categorías por tipo: {}", type);
 
-        List<CategoryResponse> categories = categoryRepositoryPort.findByTypeAndActiveTrue(type).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<CategoryResponse> categories = getCategorySnapshot().findByType(type);
 
         logger.info("Se encontraron {} categorías de tipo {}", categories.size(), type);
         return categories;
@@ -120,14 +134,54 @@ public class CategoryUseCase implements CategoryServicePort {
     public CategoryResponse getCategoryById(Long id) {
         logger.info("Buscando categoría con ID: {}", id);
 
-        Category category = categoryRepositoryPort.findByIdAndActiveTrue(id)
+        CategoryResponse category = getCategorySnapshot().findById(id)
                 .orElseThrow(() -> {
                     logger.error("No se encontró categoría activa con ID: {}", id);
                     return new RuntimeException("Categoría no encontrada con ID: " + id);
                 });
 
         logger.info("Categoría encontrada: {}", category.getName());
-        return mapToResponse(category);
+        return category;
+    }
+
+    @Override
+    public List<CategoryResponse> getCategoriesByIds(List<Long> ids) {
+        logger.info("Buscando {} categorías por ID", ids.size());
+
+        CategorySnapshot snapshot = getCategorySnapshot();
+        List<CategoryResponse> categories = ids.stream()
+                .distinct()
+                .map(id -> snapshot.findById(id).orElse(null))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        logger.info("Se encontraron {} categorías activas de {} solicitadas", categories.size(), ids.size());
+        return categories;
+    }
+
+    /**
+     * Las lecturas se sirven del snapshot en memoria; solo la primera lectura (o una escritura)
+     * consulta la base de datos.
+     */
+    @Override
+    public CategorySnapshot getCategorySnapshot() {
+        CategorySnapshot snapshot = categorySnapshotPort.current();
+        return snapshot != null ? snapshot : refreshSnapshot();
+    }
+
+    @Override
+    public CategorySnapshot refreshSnapshot() {
+        return categorySnapshotPort.rebuild(() -> categoryRepositoryPort.findAllActive().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Avisa a las demás réplicas y a los consumidores para que descarten la categoría de su caché.
+     */
+    private void publishChange(Category category) {
+        long version = category.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        categoryEventPublisherPort.publishCategoryChanged(new CategoryChangedEvent(category.getCategoryId(), version));
     }
 
     private CategoryResponse mapToResponse(Category category) {
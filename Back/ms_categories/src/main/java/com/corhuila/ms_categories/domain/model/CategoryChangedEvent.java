@@ -0,0 +1,8 @@
+package com.corhuila.ms_categories.domain.model;
+
+/**
+ * Aviso de que una categoría cambió (creación, actualización o eliminación lógica).
+ * La versión es el updatedAt de la categoría en milisegundos, así que crece con cada escritura.
+ */
+public record CategoryChangedEvent(Long categoryId, long version) {
+}
@@ -0,0 +1,60 @@
+package com.corhuila.ms_categories.domain.model;
+
+import com.corhuila.ms_categories.domain.model.dto.CategoryResponse;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Copia inmutable y versionada de las categorías activas, indexada por ID y por tipo.
+ * Se reemplaza completa en cada cambio, de modo que los lectores nunca necesitan bloqueos.
+ */
+public final class CategorySnapshot {
+
+    private final long version;
+    private final List<CategoryResponse> categories;
+    private final Map<Long, CategoryResponse> byId;
+    private final Map<Category.CategoryType, List<CategoryResponse>> byType;
+
+    private CategorySnapshot(long version, List<CategoryResponse> categories) {
+        this.version = version;
+        this.categories = List.copyOf(categories);
+
+        Map<Long, CategoryResponse> ids = new LinkedHashMap<>();
+        this.categories.forEach(category -> ids.put(category.getCategoryId(), category));
+        this.byId = Collections.unmodifiableMap(ids);
+
+        Map<Category.CategoryType, List<CategoryResponse>> types = new EnumMap<>(Category.CategoryType.class);
+        for (Category.CategoryType type : Category.CategoryType.values()) {
+            types.put(type, this.categories.stream()
+                    .filter(category -> category.getType() == type)
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+        this.byType = Collections.unmodifiableMap(types);
+    }
+
+    public static CategorySnapshot of(long version, List<CategoryResponse> categories) {
+        return new CategorySnapshot(version, categories);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<CategoryResponse> getCategories() {
+        return categories;
+    }
+
+    public Optional<CategoryResponse> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<CategoryResponse> findByType(Category.CategoryType type) {
+        return byType.getOrDefault(type, List.of());
+    }
+}
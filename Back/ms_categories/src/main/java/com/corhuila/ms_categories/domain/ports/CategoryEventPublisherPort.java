@@ -0,0 +1,11 @@
+package com.corhuila.ms_categories.domain.ports;
+
+import com.corhuila.ms_categories.domain.model.CategoryChangedEvent;
+
+public interface CategoryEventPublisherPort {
+    /**
+     * Notifica el cambio a las demás réplicas y a los consumidores (ms_expense, ms_income).
+     * Una falla se registra pero no se propaga: la escritura ya quedó confirmada.
+     */
+    void publishCategoryChanged(CategoryChangedEvent event);
+}
@@ -2,6 +2,7 @@ package com.corhuila.ms_categories.domain.ports;
 
 import com.corhuila.ms_categories.domain.model.Category;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,5 +10,6 @@ public interface CategoryRepositoryPort {
     Category save(Category category);
     Optional<Category> findByIdAndActiveTrue(Long id);
     List<Category> findAllActive();
+    List<Category> findByIdInAndActiveTrue(Collection<Long> ids);
     List<Category> findByTypeAndActiveTrue(Category.CategoryType type);
 }
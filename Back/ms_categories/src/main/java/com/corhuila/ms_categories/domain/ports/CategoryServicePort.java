@@ -1,6 +1,7 @@
 package com.corhuila.ms_categories.domain.ports;
 
 import com.corhuila.ms_categories.domain.model.Category;
+import com.corhuila.ms_categories.domain.model.CategorySnapshot;
 import com.corhuila.ms_categories.domain.model.dto.CategoryRequest;
 import com.corhuila.ms_categories.domain.model.dto.CategoryResponse;
 import com.corhuila.ms_categories.domain.model.dto.CategoryUpdateRequest;
@@ -14,4 +15,7 @@ public interface CategoryServicePort {
     List<CategoryResponse> getAllCategories();
     List<CategoryResponse> getCategoriesByType(Category.CategoryType type);
     CategoryResponse getCategoryById(Long id);
+    List<CategoryResponse> getCategoriesByIds(List<Long> ids);
+    CategorySnapshot getCategorySnapshot();
+    CategorySnapshot refreshSnapshot();
 }
@@ -0,0 +1,20 @@
+package com.corhuila.ms_categories.domain.ports;
+
+import com.corhuila.ms_categories.domain.model.CategorySnapshot;
+import com.corhuila.ms_categories.domain.model.dto.CategoryResponse;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface CategorySnapshotPort {
+    /**
+     * Snapshot vigente, o null si todavía no se ha construido.
+     */
+    CategorySnapshot current();
+
+    /**
+     * Construye y publica un nuevo snapshot con las categorías que entrega el loader.
+     * Las reconstrucciones se serializan para que nunca se publique una versión más vieja.
+     */
+    CategorySnapshot rebuild(Supplier<List<CategoryResponse>> loader);
+}
@@ -0,0 +1,143 @@
+package com.corhuila.ms_categories.infrastructure.adapters.input.events;
+
+import com.corhuila.ms_categories.domain.model.Category;
+import com.corhuila.ms_categories.domain.ports.CategoryServicePort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Escucha (LISTEN) los cambios que publican las demás réplicas de ms_categories, descarta las
+ * categorías del second-level cache local y reconstruye el snapshot. Usa una conexión propia, fuera del pool de Hikari, porque queda abierta
+ * mientras viva la aplicación. En H2 no hay LISTEN/NOTIFY y el listener no se inicia.
+ */
+@Component
+public class CategoryChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryChangeListener.class);
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long VALIDATION_INTERVAL_MILLIS = 30_000;
+
+    private final CategoryServicePort categoryServicePort;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public CategoryChangeListener(CategoryServicePort categoryServicePort,
+                                  EntityManagerFactory entityManagerFactory,
+                                  @Value("${spring.datasource.url}") String url,
+                                  @Value("${spring.datasource.username:}") String username,
+                                  @Value("${spring.datasource.password:}") String password,
+                                  @Value("${categories.events.channel:category_changed}") String channel,
+                                  @Value("${categories.events.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.categoryServicePort = categoryServicePort;
+        this.entityManagerFactory = entityManagerFactory;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!url.startsWith("jdbc:postgresql:")) {
+            logger.info("La base de datos no es PostgreSQL, no se escuchan notificaciones de categorías");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "category-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                logger.info("Escuchando notificaciones en el canal {}", channel);
+                // Lo que cambió mientras no había conexión no se notificó: se reconstruye todo
+                refresh();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                long lastValidation = System.currentTimeMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        handle(notifications);
+                    } else if (System.currentTimeMillis() - lastValidation > VALIDATION_INTERVAL_MILLIS) {
+                        // Detecta conexiones caídas que de otro modo solo devolverían "sin notificaciones"
+                        if (!connection.isValid(2)) {
+                            throw new SQLException("La conexión de LISTEN dejó de responder");
+                        }
+                        lastValidation = System.currentTimeMillis();
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Se perdió la conexión de LISTEN ({}), reintentando en {}", e.getMessage(), reconnectDelay);
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private void handle(PGNotification[] notifications) {
+        for (PGNotification notification : notifications) {
+            logger.debug("Cambio de categoría recibido: {}", notification.getParameter());
+        }
+        // El snapshot se reconstruye completo, así que basta un rebuild por lote de notificaciones
+        refresh();
+    }
+
+    /**
+     * El second-level cache y el query cache son locales a cada réplica: sin este evict el
+     * rebuild leería las categorías que esta réplica tenía antes del cambio.
+     */
+    private void refresh() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Category.class);
+        cache.evictQueryRegions();
+        categoryServicePort.refreshSnapshot();
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.corhuila.ms_categories.infrastructure.adapters.input.rest;
 
 import com.corhuila.ms_categories.domain.model.Category;
+import com.corhuila.ms_categories.domain.model.CategorySnapshot;
 import com.corhuila.ms_categories.domain.model.dto.CategoryRequest;
 import com.corhuila.ms_categories.domain.model.dto.CategoryResponse;
 import com.corhuila.ms_categories.domain.model.dto.CategoryUpdateRequest;
@@ -9,8 +10,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -22,10 +25,12 @@ public class CategoryController {
 
     private static final Logger logger = LoggerFactory.getLogger(CategoryController.class);
     private final CategoryServicePort categoryServicePort;
+    private final CategoryJsonCache categoryJsonCache;
 
     @Autowired
-    public CategoryController(CategoryServicePort categoryServicePort) {
+    public CategoryController(CategoryServicePort categoryServicePort, CategoryJsonCache categoryJsonCache) {
         this.categoryServicePort = categoryServicePort;
+        this.categoryJsonCache = categoryJsonCache;
     }
 
     @PostMapping
@@ -62,32 +67,66 @@ public class CategoryController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
+    public ResponseEntity<byte[]> getAllCategories(WebRequest webRequest) {
         logger.info("Solicitud recibida para obtener todas las categorías");
 
-        List<CategoryResponse> responses = categoryServicePort.getAllCategories();
+        CategorySnapshot snapshot = categoryServicePort.getCategorySnapshot();
+
+        logger.info("Respuesta enviada con {} categorías", snapshot.getCategories().size());
+        return toResponse(categoryJsonCache.all(snapshot), webRequest);
+    }
+
+    /**
+     * Bulk lookup used by ms_expense / ms_income to resolve every category of a list
+     * response in a single round trip. Only active categories are returned; unknown ids are omitted.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<CategoryResponse>> getCategoriesByIds(@RequestParam List<Long> ids) {
+        logger.info("Solicitud recibida para obtener {} categorías por ID", ids.size());
+
+        List<CategoryResponse> responses = ids.isEmpty()
+                ? List.of()
+                : categoryServicePort.getCategoriesByIds(ids);
 
         logger.info("Respuesta enviada con {} categorías", responses.size());
         return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getCategoryById(@PathVariable Long id, WebRequest webRequest) {
         logger.info("Solicitud recibida para obtener categoría con ID: {}", id);
 
-        CategoryResponse response = categoryServicePort.getCategoryById(id);
+        CategoryJsonCache.CategoryJson json = categoryJsonCache.byId(categoryServicePort.getCategorySnapshot(), id);
+        if (json == null) {
+            logger.warn("No se encontró categoría activa con ID: {}", id);
+            return ResponseEntity.notFound().build();
+        }
 
-        logger.info("Respuesta enviada para categoría con ID: {}", response.getCategoryId());
-        return ResponseEntity.ok(response);
+        logger.info("Respuesta enviada para categoría con ID: {}", id);
+        return toResponse(json, webRequest);
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<CategoryResponse>> getCategoriesByType(@PathVariable Category.CategoryType type) {
+    public ResponseEntity<byte[]> getCategoriesByType(@PathVariable Category.CategoryType type, WebRequest webRequest) {
         logger.info("Solicitud recibida para filtrar categorías por tipo: {}", type);
 
-        List<CategoryResponse> responses = categoryServicePort.getCategoriesByType(type);
+        CategorySnapshot snapshot = categoryServicePort.getCategorySnapshot();
 
-        logger.info("Respuesta enviada con {} categorías de tipo {}", responses.size(), type);
-        return ResponseEntity.ok(responses);
+        logger.info("Respuesta enviada con {} categorías de tipo {}", snapshot.findByType(type).size(), type);
+        return toResponse(categoryJsonCache.byType(snapshot, type), webRequest);
+    }
+
+    /**
+     * Responde 304 si el cliente ya tiene la misma versión (If-None-Match); si no, envía el
+     * JSON pre-serializado junto con su ETag.
+     */
+    private ResponseEntity<byte[]> toResponse(CategoryJsonCache.CategoryJson json, WebRequest webRequest) {
+        if (webRequest.checkNotModified(json.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(json.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(json.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.body());
     }
 }
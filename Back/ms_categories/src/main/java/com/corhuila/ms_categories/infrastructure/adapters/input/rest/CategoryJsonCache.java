@@ -0,0 +1,89 @@
+package com.corhuila.ms_categories.infrastructure.adapters.input.rest;
+
+import com.corhuila.ms_categories.domain.model.Category;
+import com.corhuila.ms_categories.domain.model.CategorySnapshot;
+import com.corhuila.ms_categories.domain.model.dto.CategoryResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Respuestas JSON ya serializadas para cada snapshot de categorías: el listado completo, cada
+ * tipo y cada categoría. Se generan una sola vez por snapshot y se sirven tal cual, con un
+ * ETag fuerte calculado sobre el contenido (igual en todas las réplicas).
+ */
+@Component
+public class CategoryJsonCache {
+
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Rendered> rendered = new AtomicReference<>();
+
+    public CategoryJsonCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public CategoryJson all(CategorySnapshot snapshot) {
+        return render(snapshot).all();
+    }
+
+    public CategoryJson byType(CategorySnapshot snapshot, Category.CategoryType type) {
+        return render(snapshot).byType().get(type);
+    }
+
+    /**
+     * Retorna null si la categoría no existe o no está activa.
+     */
+    public CategoryJson byId(CategorySnapshot snapshot, Long id) {
+        return render(snapshot).byId().get(id);
+    }
+
+    private Rendered render(CategorySnapshot snapshot) {
+        Rendered current = rendered.get();
+        if (current != null && current.snapshot() == snapshot) {
+            return current;
+        }
+
+        Map<Category.CategoryType, CategoryJson> byType = new EnumMap<>(Category.CategoryType.class);
+        for (Category.CategoryType type : Category.CategoryType.values()) {
+            byType.put(type, toJson(snapshot.findByType(type)));
+        }
+        Map<Long, CategoryJson> byId = new HashMap<>();
+        for (CategoryResponse category : snapshot.getCategories()) {
+            byId.put(category.getCategoryId(), toJson(category));
+        }
+        Rendered next = new Rendered(snapshot, toJson(snapshot.getCategories()), byType, byId);
+
+        // Si otro hilo ya publicó un snapshot más nuevo no se sobrescribe
+        rendered.getAndUpdate(previous -> previous == null
+                || previous.snapshot().getVersion() <= snapshot.getVersion() ? next : previous);
+        return next;
+    }
+
+    private CategoryJson toJson(Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+            return new CategoryJson(body, etag);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo serializar el snapshot de categorías", e);
+        }
+    }
+
+    public record CategoryJson(byte[] body, String etag) {
+    }
+
+    private record Rendered(CategorySnapshot snapshot,
+                            CategoryJson all,
+                            Map<Category.CategoryType, CategoryJson> byType,
+                            Map<Long, CategoryJson> byId) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.corhuila.ms_categories.infrastructure.adapters.output.events;
+
+import com.corhuila.ms_categories.domain.model.CategoryChangedEvent;
+import com.corhuila.ms_categories.domain.ports.CategoryEventPublisherPort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+
+/**
+ * Publica los cambios de categorías con NOTIFY de PostgreSQL sobre la base compartida. En H2
+ * (perfil local) no hay NOTIFY, así que el evento se publica dentro del mismo proceso.
+ */
+@Component
+public class CategoryEventPublisher implements CategoryEventPublisherPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryEventPublisher.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final String channel;
+    private volatile Boolean postgres;
+
+    public CategoryEventPublisher(JdbcTemplate jdbcTemplate,
+                                  ObjectMapper objectMapper,
+                                  ApplicationEventPublisher applicationEventPublisher,
+                                  @Value("${categories.events.channel:category_changed}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.channel = channel;
+    }
+
+    @Override
+    public void publishCategoryChanged(CategoryChangedEvent event) {
+        try {
+            if (isPostgres()) {
+                String payload = objectMapper.writeValueAsString(event);
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+                logger.info("Notificación enviada por {}: {}", channel, payload);
+            } else {
+                applicationEventPublisher.publishEvent(event);
+                logger.debug("Cambio de categoría publicado en proceso: {}", event);
+            }
+        } catch (Exception e) {
+            // Los consumidores igual se ponen al día cuando vence el TTL de su caché
+            logger.error("No se pudo notificar el cambio de la categoría {}: {}", event.categoryId(), e.getMessage());
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((Connection connection) ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
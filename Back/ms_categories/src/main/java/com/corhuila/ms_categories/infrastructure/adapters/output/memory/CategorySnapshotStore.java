@@ -0,0 +1,38 @@
+package com.corhuila.ms_categories.infrastructure.adapters.output.memory;
+
+import com.corhuila.ms_categories.domain.model.CategorySnapshot;
+import com.corhuila.ms_categories.domain.model.dto.CategoryResponse;
+import com.corhuila.ms_categories.domain.ports.CategorySnapshotPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Guarda el snapshot vigente en una referencia volatile: las lecturas no toman bloqueos y
+ * solo las reconstrucciones (poco frecuentes) se serializan entre sí.
+ */
+@Component
+public class CategorySnapshotStore implements CategorySnapshotPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategorySnapshotStore.class);
+
+    private volatile CategorySnapshot snapshot;
+
+    @Override
+    public CategorySnapshot current() {
+        return snapshot;
+    }
+
+    @Override
+    public synchronized CategorySnapshot rebuild(Supplier<List<CategoryResponse>> loader) {
+        long version = snapshot != null ? snapshot.getVersion() + 1 : 1;
+        CategorySnapshot rebuilt = CategorySnapshot.of(version, loader.get());
+        snapshot = rebuilt;
+        logger.info("Snapshot de categorías publicado: versión {} con {} categorías activas",
+                version, rebuilt.getCategories().size());
+        return rebuilt;
+    }
+}
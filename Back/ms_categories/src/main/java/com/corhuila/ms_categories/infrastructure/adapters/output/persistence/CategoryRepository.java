@@ -1,22 +1,30 @@
 package com.corhuila.ms_categories.infrastructure.adapters.output.persistence;
 
 import com.corhuila.ms_categories.domain.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
-    Optional<Category> findByCategoryIdAndActiveTrue(Long categoryId);
-
+    // Query cache: guarda solo los IDs, las entidades salen de la región "categories"
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Category c WHERE c.type = :type AND c.active = true")
     List<Category> findByTypeAndActiveTrue(@Param("type") Category.CategoryType type);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Category c WHERE c.active = true")
     List<Category> findAllActive();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Category c WHERE c.categoryId IN :ids AND c.active = true")
+    List<Category> findByCategoryIdInAndActiveTrue(@Param("ids") Collection<Long> ids);
 }
@@ -5,6 +5,7 @@ import com.corhuila.ms_categories.domain.ports.CategoryRepositoryPort;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,7 +26,8 @@ public class CategoryRepositoryAdapter implements CategoryRepositoryPort {
 
     @Override
     public Optional<Category> findByIdAndActiveTrue(Long id) {
-        return categoryRepository.findByCategoryIdAndActiveTrue(id);
+        // findById resuelve desde el second-level cache; el filtro por activa se hace en memoria
+        return categoryRepository.findById(id).filter(Category::getActive);
     }
 
     @Override
@@ -33,6 +35,11 @@ public class CategoryRepositoryAdapter implements CategoryRepositoryPort {
         return categoryRepository.findAllActive();
     }
 
+    @Override
+    public List<Category> findByIdInAndActiveTrue(Collection<Long> ids) {
+        return categoryRepository.findByCategoryIdInAndActiveTrue(ids);
+    }
+
     @Override
     public List<Category> findByTypeAndActiveTrue(Category.CategoryType type) {
         return categoryRepository.findByTypeAndActiveTrue(type);
@@ -1,8 +1,11 @@
 package com.corhuila.ms_categories.infrastructure.configuration;
 
 import com.corhuila.ms_categories.application.usecases.CategoryUseCase;
+import com.corhuila.ms_categories.domain.ports.CategoryEventPublisherPort;
 import com.corhuila.ms_categories.domain.ports.CategoryRepositoryPort;
 import com.corhuila.ms_categories.domain.ports.CategoryServicePort;
+import com.corhuila.ms_categories.domain.ports.CategorySnapshotPort;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,7 +13,17 @@ import org.springframework.context.annotation.Configuration;
 public class BeanConfiguration {
 
     @Bean
-    public CategoryServicePort categoryServicePort(CategoryRepositoryPort categoryRepositoryPort) {
-        return new CategoryUseCase(categoryRepositoryPort);
+    public CategoryServicePort categoryServicePort(CategoryRepositoryPort categoryRepositoryPort,
+                                                   CategorySnapshotPort categorySnapshotPort,
+                                                   CategoryEventPublisherPort categoryEventPublisherPort) {
+        return new CategoryUseCase(categoryRepositoryPort, categorySnapshotPort, categoryEventPublisherPort);
+    }
+
+    /**
+     * Construye el snapshot al arrancar para que la primera lectura no tenga que ir a la base de datos.
+     */
+    @Bean
+    public ApplicationRunner categorySnapshotWarmup(CategoryServicePort categoryServicePort) {
+        return args -> categoryServicePort.getCategorySnapshot();
     }
 }
@@ -0,0 +1,121 @@
+package com.corhuila.ms_categories;
+
+import com.corhuila.ms_categories.domain.model.Category;
+import com.corhuila.ms_categories.domain.ports.CategoryRepositoryPort;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mide cuántas sentencias SQL llegan a la base por las lecturas de categorías con el
+ * second-level cache y el query cache de Hibernate apagados y encendidos. Mezcla de lecturas:
+ * CATEGORIES categorías, READS lecturas por CategoryRepositoryPort; 80% por ID (validación de
+ * gastos e ingresos), 15% por tipo y 5% de todas las activas (snapshot), con el 80% de las
+ * lecturas por ID sobre el 20% de categorías más usadas. La misma secuencia (semilla fija) corre
+ * en dos contextos que solo difieren en hibernate.cache.use_second_level_cache/use_query_cache,
+ * cada uno con su propia base H2 en memoria y el caché vacío.
+ * <p>
+ * Los conteos salen de Hibernate Statistics (sentencias preparadas, aciertos del second-level
+ * cache y del query cache). Se omite salvo con CATEGORY_CACHE_BENCHMARK=true:
+ * CATEGORY_CACHE_BENCHMARK=true SPRING_PROFILES_ACTIVE=local mvn test -Dtest=CategorySecondLevelCacheBenchmarkTest
+ * (opcionales: -Dbenchmark.categories, -Dbenchmark.reads).
+ */
+@EnabledIfEnvironmentVariable(named = "CATEGORY_CACHE_BENCHMARK", matches = "true")
+class CategorySecondLevelCacheBenchmarkTest {
+
+    private static final int CATEGORIES = Integer.getInteger("benchmark.categories", 50);
+    private static final int READS = Integer.getInteger("benchmark.reads", 20_000);
+    private static final double BY_ID_SHARE = 0.80;
+    private static final double BY_TYPE_SHARE = 0.15;
+    private static final double HOT_CATEGORY_SHARE = 0.2;
+    private static final double HOT_TRAFFIC_SHARE = 0.8;
+    private static final long SEED = 18;
+
+    @Test
+    void secondLevelCacheCutsDatabaseStatements() {
+        Result off = run(false);
+        Result on = run(true);
+
+        System.out.printf("%nCategorías: %d, lecturas: %d (%.0f%% por ID, %.0f%% por tipo, resto todas las activas)%n",
+                CATEGORIES, READS, BY_ID_SHARE * 100, BY_TYPE_SHARE * 100);
+        System.out.printf("%-8s %12s %10s %16s%n", "L2", "sentencias", "L2 hits", "query cache hits");
+        off.print("apagado");
+        on.print("activo");
+        System.out.printf("Reducción de consultas a la base: %.1f%%%n", 100.0 * (off.statements - on.statements) / off.statements);
+
+        assertEquals(0, off.secondLevelHits, "sin L2 nada sale del caché");
+        assertEquals(READS, off.statements, "sin L2 cada lectura es una sentencia");
+        // Con L2 cada categoría se carga una vez y cada consulta distinta (dos tipos y todas) una vez
+        assertTrue(on.statements <= CATEGORIES + 3L, "con L2 solo la primera lectura va a la base: " + on.statements);
+        assertTrue(on.queryCacheHits > 0, "las consultas por tipo y de activas no usaron el query cache");
+        assertTrue(on.statements * 10 <= off.statements, "L2 debería reducir las sentencias al menos un 90%");
+    }
+
+    private static Result run(boolean secondLevelCache) {
+        String[] args = {
+                "--spring.profiles.active=local",
+                "--spring.datasource.url=jdbc:h2:mem:categories_l2_" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--logging.level.com.corhuila.ms_categories=WARN"
+        };
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MsCategoriesApplication.class).run(args)) {
+            CategoryRepositoryPort categories = context.getBean(CategoryRepositoryPort.class);
+            SessionFactory sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+
+            List<Long> ids = new ArrayList<>(CATEGORIES);
+            for (int i = 0; i < CATEGORIES; i++) {
+                ids.add(categories.save(Category.builder()
+                        .name("Categoría " + i)
+                        .type(i % 2 == 0 ? Category.CategoryType.EXPENSE : Category.CategoryType.INCOME)
+                        .build()).getCategoryId());
+            }
+            // Se parte del caché vacío: las altas también llenan la región READ_WRITE
+            sessionFactory.getCache().evictAllRegions();
+            Statistics statistics = sessionFactory.getStatistics();
+            statistics.clear();
+
+            Random random = new Random(SEED);
+            int hotCategories = Math.max(1, (int) (CATEGORIES * HOT_CATEGORY_SHARE));
+            for (int i = 0; i < READS; i++) {
+                double read = random.nextDouble();
+                if (read < BY_ID_SHARE) {
+                    Long id = random.nextDouble() < HOT_TRAFFIC_SHARE
+                            ? ids.get(random.nextInt(hotCategories))
+                            : ids.get(hotCategories + random.nextInt(CATEGORIES - hotCategories));
+                    assertTrue(categories.findByIdAndActiveTrue(id).isPresent(), "no se encontró la categoría " + id);
+                } else if (read < BY_ID_SHARE + BY_TYPE_SHARE) {
+                    Category.CategoryType type = random.nextBoolean() ? Category.CategoryType.EXPENSE : Category.CategoryType.INCOME;
+                    assertEquals(CATEGORIES / 2, categories.findByTypeAndActiveTrue(type).size());
+                } else {
+                    assertEquals(CATEGORIES, categories.findAllActive().size());
+                }
+            }
+            return new Result(statistics.getPrepareStatementCount(),
+                    statistics.getSecondLevelCacheHitCount(),
+                    statistics.getQueryCacheHitCount());
+        }
+    }
+
+    private record Result(long statements, long secondLevelHits, long queryCacheHits) {
+
+        void print(String label) {
+            System.out.printf("%-8s %12d %10d %16d%n", label, statements, secondLevelHits, queryCacheHits);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.Corhuila.ms_expense;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MsExpenseApplication {
 
 	public static void main(String[] args) {
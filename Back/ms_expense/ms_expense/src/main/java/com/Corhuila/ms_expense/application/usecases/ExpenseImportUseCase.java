@@ -0,0 +1,168 @@
+package com.Corhuila.ms_expense.application.usecases;
+
+import com.Corhuila.ms_expense.domain.model.Expense;
+import com.Corhuila.ms_expense.domain.model.ExpenseImportJob;
+import com.Corhuila.ms_expense.domain.model.ExpenseOutboxEvent;
+import com.Corhuila.ms_expense.domain.model.MonthlyBalanceKey;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseImportJobResponse;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseImportRow;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseRequest;
+import com.Corhuila.ms_expense.domain.ports.ExpenseImportJobRepositoryPort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseImportServicePort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseOutboxRepositoryPort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseRepositoryPort;
+import com.Corhuila.ms_expense.domain.ports.MonthlyBalanceRepositoryPort;
+import com.Corhuila.ms_expense.infrastructure.adapters.output.external.CategoryClient;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ExpenseImportUseCase implements ExpenseImportServicePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseImportUseCase.class);
+    private static final int IMPORT_BATCH_SIZE = 500;
+    private final ExpenseRepositoryPort expenseRepositoryPort;
+    private final MonthlyBalanceRepositoryPort monthlyBalanceRepositoryPort;
+    private final ExpenseOutboxRepositoryPort outboxRepositoryPort;
+    private final ExpenseImportJobRepositoryPort importJobRepositoryPort;
+    private final CategoryClient categoryClient;
+    private final Validator validator;
+    private final TransactionTemplate transaction;
+
+    @Autowired
+    public ExpenseImportUseCase(ExpenseRepositoryPort expenseRepositoryPort,
+                                MonthlyBalanceRepositoryPort monthlyBalanceRepositoryPort,
+                                ExpenseOutboxRepositoryPort outboxRepositoryPort,
+                                ExpenseImportJobRepositoryPort importJobRepositoryPort,
+                                CategoryClient categoryClient,
+                                Validator validator,
+                                PlatformTransactionManager transactionManager) {
+        this.expenseRepositoryPort = expenseRepositoryPort;
+        this.monthlyBalanceRepositoryPort = monthlyBalanceRepositoryPort;
+        this.outboxRepositoryPort = outboxRepositoryPort;
+        this.importJobRepositoryPort = importJobRepositoryPort;
+        this.categoryClient = categoryClient;
+        this.validator = validator;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Procesa las filas a medida que llegan: las categorías se validan contra un único snapshot
+     * tomado al inicio y los gastos válidos se escriben en lotes de IMPORT_BATCH_SIZE. Los lotes
+     * ya escritos se conservan si la importación falla a mitad de camino.
+     */
+    @Override
+    public ExpenseImportJobResponse importExpenses(Long userId, Iterator<ExpenseImportRow> rows) {
+        ExpenseImportJob job = importJobRepositoryPort.save(new ExpenseImportJob(userId));
+        logger.info("Iniciando importación {} para el usuario: {}", job.getJobId(), userId);
+
+        try {
+            Set<Long> categoryIds = categoryClient.getActiveExpenseCategoryIds();
+            List<Expense> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+            LocalDateTime now = LocalDateTime.now();
+
+            while (rows.hasNext()) {
+                ExpenseImportRow row = rows.next();
+                job.rowRead();
+
+                String error = row.getError() != null ? row.getError() : validateRow(row.getRequest(), categoryIds);
+                if (error != null) {
+                    job.rowRejected(row.getLineNumber(), error);
+                    continue;
+                }
+
+                ExpenseRequest request = row.getRequest();
+                batch.add(Expense.builder()
+                        .amount(request.getAmount())
+                        .expenseCategoryId(request.getExpenseCategoryId())
+                        .expenseDate(request.getExpenseDate().atStartOfDay())
+                        .description(request.getDescription())
+                        .userId(userId)
+                        .active(true)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+
+                if (batch.size() == IMPORT_BATCH_SIZE) {
+                    writeBatch(job, batch);
+                    batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+                }
+            }
+            writeBatch(job, batch);
+            job.complete();
+        } catch (RuntimeException e) {
+            logger.error("La importación {} falló: {}", job.getJobId(), e.getMessage(), e);
+            job.fail(e.getMessage());
+        }
+
+        ExpenseImportJobResponse response = job.toResponse();
+        logger.info("Importación {} finalizada con estado {}: {} importados, {} rechazados",
+                job.getJobId(), response.getStatus(), response.getImported(), response.getRejected());
+        return response;
+    }
+
+    @Override
+    public ExpenseImportJobResponse getImportJob(Long userId, String jobId) {
+        logger.info("Consultando importación {} del usuario: {}", jobId, userId);
+
+        return importJobRepositoryPort.findById(jobId)
+                .filter(job -> job.getUserId().equals(userId))
+                .map(ExpenseImportJob::toResponse)
+                .orElseThrow(() -> {
+                    logger.error("No se encontró la importación {} para el usuario: {}", jobId, userId);
+                    return new RuntimeException("Importación no encontrada con ID: " + jobId);
+                });
+    }
+
+    @Override
+    public List<ExpenseImportJobResponse> getImportJobs(Long userId) {
+        logger.info("Consultando importaciones del usuario: {}", userId);
+
+        return importJobRepositoryPort.findByUserId(userId).stream()
+                .map(ExpenseImportJob::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    private void writeBatch(ExpenseImportJob job, List<Expense> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Cada lote, su aporte a los acumulados mensuales y sus eventos de cambio se escriben en una transacción
+        transaction.executeWithoutResult(status -> {
+            expenseRepositoryPort.insertBatch(batch);
+            monthlyBalanceRepositoryPort.addToExpenseTotals(MonthlyBalanceKey.totalsOf(batch));
+            outboxRepositoryPort.append(batch.stream().map(ExpenseOutboxEvent::created).toList());
+        });
+        job.rowsImported(batch.size());
+        logger.debug("Importación {}: lote de {} gastos escrito ({} filas leídas)",
+                job.getJobId(), batch.size(), job.getRowsRead());
+    }
+
+    private String validateRow(ExpenseRequest request, Set<Long> categoryIds) {
+        Set<ConstraintViolation<ExpenseRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!categoryIds.contains(request.getExpenseCategoryId())) {
+            return "La categoría con ID " + request.getExpenseCategoryId() +
+                    " no existe, no está activa o no es de tipo EXPENSE";
+        }
+        return null;
+    }
+}
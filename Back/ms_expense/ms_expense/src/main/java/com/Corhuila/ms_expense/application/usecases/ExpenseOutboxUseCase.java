@@ -0,0 +1,61 @@
+package com.Corhuila.ms_expense.application.usecases;
+
+import com.Corhuila.ms_expense.domain.ports.ExpenseEventSubscriberPort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseOutboxRepositoryPort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseOutboxServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ExpenseOutboxUseCase implements ExpenseOutboxServicePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseOutboxUseCase.class);
+    private final ExpenseOutboxRepositoryPort outboxRepositoryPort;
+    private final List<ExpenseEventSubscriberPort> subscribers;
+
+    @Autowired
+    public ExpenseOutboxUseCase(ExpenseOutboxRepositoryPort outboxRepositoryPort,
+                                List<ExpenseEventSubscriberPort> subscribers) {
+        this.outboxRepositoryPort = outboxRepositoryPort;
+        this.subscribers = subscribers;
+        logger.info("Suscriptores de eventos de gastos registrados: {}",
+                subscribers.stream().map(ExpenseEventSubscriberPort::getName).toList());
+    }
+
+    /**
+     * Publica un lote de expense_outbox a todos los suscriptores, en orden de outbox_id, y lo
+     * borra solo si todos lo recibieron. Lo invoca ExpenseOutboxRelay; devuelve cuántos eventos
+     * publicó (0 si no había pendientes u otra réplica está publicando).
+     */
+    @Override
+    public int relayOutboxEvents(int batchSize) {
+        return outboxRepositoryPort.relay(batchSize, events -> {
+            for (ExpenseEventSubscriberPort subscriber : subscribers) {
+                try {
+                    subscriber.publish(events);
+                } catch (RuntimeException e) {
+                    logger.error("El suscriptor {} rechazó {} eventos de gastos (outbox_id {} a {}): {}",
+                            subscriber.getName(), events.size(), events.get(0).getOutboxId(),
+                            events.get(events.size() - 1).getOutboxId(), e.getMessage());
+                    throw e;
+                }
+            }
+        });
+    }
+
+    @Override
+    public Optional<LocalDateTime> getOldestPendingOutboxEvent() {
+        return outboxRepositoryPort.findOldestCreatedAt();
+    }
+
+    @Override
+    public long countPendingOutboxEvents() {
+        return outboxRepositoryPort.count();
+    }
+}
@@ -1,35 +1,86 @@
 package com.Corhuila.ms_expense.application.usecases;
 
 import com.Corhuila.ms_expense.domain.model.Expense;
+import com.Corhuila.ms_expense.domain.model.ExpenseCursor;
+import com.Corhuila.ms_expense.domain.model.ExpenseOutboxEvent;
+import com.Corhuila.ms_expense.domain.model.ExpenseSearchCriteria;
+import com.Corhuila.ms_expense.domain.model.ExpenseSummaryGroupBy;
+import com.Corhuila.ms_expense.domain.model.ExpenseTotal;
+import com.Corhuila.ms_expense.domain.model.ExpenseView;
+import com.Corhuila.ms_expense.domain.model.MonthlyBalanceKey;
+import com.Corhuila.ms_expense.domain.model.MonthlyTotal;
 import com.Corhuila.ms_expense.domain.model.dto.CategoryInfo;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseBatchItemResult;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseBatchResponse;
 import com.Corhuila.ms_expense.domain.model.dto.ExpenseResponse;
 import com.Corhuila.ms_expense.domain.model.dto.ExpenseRequest;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseSummaryItem;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseSummaryResponse;
 import com.Corhuila.ms_expense.domain.model.dto.ExpenseUpdateRequest;
+import com.Corhuila.ms_expense.domain.model.dto.MonthlyTotalItem;
+import com.Corhuila.ms_expense.domain.model.dto.MonthlyTotalsResponse;
+import com.Corhuila.ms_expense.domain.model.dto.PageResponse;
+import com.Corhuila.ms_expense.domain.ports.ExpenseOutboxRepositoryPort;
 import com.Corhuila.ms_expense.domain.ports.ExpenseRepositoryPort;
 import com.Corhuila.ms_expense.domain.ports.ExpenseServicePort;
+import com.Corhuila.ms_expense.domain.ports.MonthlyBalanceRepositoryPort;
 import com.Corhuila.ms_expense.infrastructure.adapters.output.external.CategoryClient;
 import com.Corhuila.ms_expense.infrastructure.adapters.output.external.CategoryResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class ExpenseUseCase implements ExpenseServicePort {
 
     private static final Logger logger = LoggerFactory.getLogger(ExpenseUseCase.class);
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BATCH_SIZE = 500;
     private final ExpenseRepositoryPort expenseRepositoryPort;
+    private final MonthlyBalanceRepositoryPort monthlyBalanceRepositoryPort;
+    private final ExpenseOutboxRepositoryPort outboxRepositoryPort;
     private final CategoryClient categoryClient;
+    private final Validator validator;
+
+    /*
+     * Límites de transacción explícitos (open-in-view está deshabilitado): el trabajo con la base
+     * de datos se hace dentro de estas transacciones y las llamadas a ms_categories después, con
+     * la conexión ya devuelta al pool.
+     */
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
 
     @Autowired
-    public ExpenseUseCase(ExpenseRepositoryPort expenseRepositoryPort, CategoryClient categoryClient) {
+    public ExpenseUseCase(ExpenseRepositoryPort expenseRepositoryPort, MonthlyBalanceRepositoryPort monthlyBalanceRepositoryPort,
+                          ExpenseOutboxRepositoryPort outboxRepositoryPort, CategoryClient categoryClient,
+                          Validator validator, PlatformTransactionManager transactionManager) {
         this.expenseRepositoryPort = expenseRepositoryPort;
+        this.monthlyBalanceRepositoryPort = monthlyBalanceRepositoryPort;
+        this.outboxRepositoryPort = outboxRepositoryPort;
         this.categoryClient = categoryClient;
+        this.validator = validator;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
@@ -54,121 +105,238 @@ public class ExpenseUseCase implements ExpenseServicePort {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        Expense savedExpense = expenseRepositoryPort.save(expense);
+        // El gasto, su acumulado mensual y su evento de cambio se escriben en la misma transacción
+        Expense savedExpense = transaction.execute(status -> {
+            Expense saved = expenseRepositoryPort.save(expense);
+            monthlyBalanceRepositoryPort.addToExpenseTotals(MonthlyBalanceKey.totalsOf(List.of(saved)));
+            outboxRepositoryPort.append(List.of(ExpenseOutboxEvent.created(saved)));
+            return saved;
+        });
         logger.info("Gasto creado exitosamente con ID: {} para usuario: {}", savedExpense.getExpenseId(), savedExpense.getUserId());
 
         return mapToResponse(savedExpense);
     }
 
+    /**
+     * Crea varios gastos en una sola operación: las categorías distintas se validan con una
+     * única consulta y los gastos válidos se insertan juntos (batching JDBC). Los elementos
+     * inválidos se reportan sin impedir la creación del resto.
+     */
+    @Override
+    public ExpenseBatchResponse createExpenses(List<ExpenseRequest> requests) {
+        logger.info("Iniciando creación masiva de {} gastos", requests.size());
+
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("La creación masiva admite entre 1 y " + MAX_BATCH_SIZE + " gastos");
+        }
+
+        Set<Long> categoryIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(ExpenseRequest::getExpenseCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, CategoryResponse> categories = categoryClient.getCategoriesByIds(categoryIds);
+
+        List<ExpenseBatchItemResult> results = new ArrayList<>();
+        List<ExpenseBatchItemResult> pending = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < requests.size(); i++) {
+            ExpenseRequest request = requests.get(i);
+            String error = validateBatchItem(request, categories);
+            if (error != null) {
+                logger.warn("Gasto en la posición {} rechazado: {}", i, error);
+                results.add(ExpenseBatchItemResult.builder()
+                        .index(i)
+                        .status(ExpenseBatchItemResult.Status.REJECTED)
+                        .error(error)
+                        .build());
+                continue;
+            }
+
+            expenses.add(Expense.builder()
+                    .amount(request.getAmount())
+                    .expenseCategoryId(request.getExpenseCategoryId())
+                    .expenseDate(request.getExpenseDate().atStartOfDay())
+                    .description(request.getDescription())
+                    .userId(request.getUserId())
+                    .active(true)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            ExpenseBatchItemResult result = ExpenseBatchItemResult.builder()
+                    .index(i)
+                    .status(ExpenseBatchItemResult.Status.CREATED)
+                    .build();
+            pending.add(result);
+            results.add(result);
+        }
+
+        if (!expenses.isEmpty()) {
+            List<Expense> savedExpenses = transaction.execute(status -> {
+                List<Expense> saved = expenseRepositoryPort.saveAll(expenses);
+                monthlyBalanceRepositoryPort.addToExpenseTotals(MonthlyBalanceKey.totalsOf(saved));
+                outboxRepositoryPort.append(saved.stream().map(ExpenseOutboxEvent::created).toList());
+                return saved;
+            });
+            for (int i = 0; i < savedExpenses.size(); i++) {
+                pending.get(i).setExpenseId(savedExpenses.get(i).getExpenseId());
+            }
+        }
+
+        ExpenseBatchResponse response = ExpenseBatchResponse.builder()
+                .created(expenses.size())
+                .rejected(requests.size() - expenses.size())
+                .results(results)
+                .build();
+
+        logger.info("Creación masiva finalizada: {} creados, {} rechazados", response.getCreated(), response.getRejected());
+        return response;
+    }
+
     @Override
     public ExpenseResponse getExpenseById(Long id) {
         logger.info("Obteniendo gasto con ID: {}", id);
 
-        Expense expense = expenseRepositoryPort.findByIdAndActiveTrue(id)
-                .orElseThrow(() -> {
-                    logger.error("No se encontró gasto activo con ID: {}", id);
-                    return new RuntimeException("Gasto no encontrado con ID: " + id);
-                });
+        Optional<Expense> found = readOnlyTransaction.execute(status -> expenseRepositoryPort.findByIdAndActiveTrue(id));
+        Expense expense = found.orElseThrow(() -> {
+            logger.error("No se encontró gasto activo con ID: {}", id);
+            return new RuntimeException("Gasto no encontrado con ID: " + id);
+        });
 
         logger.info("Gasto encontrado con ID: {} para usuario: {}", id, expense.getUserId());
         return mapToResponse(expense);
     }
 
     @Override
-    public List<ExpenseResponse> getAllExpenses() {
-        logger.info("Obteniendo todos los gastos activos");
+    public PageResponse<ExpenseResponse> getAllExpenses(String cursor, int limit) {
+        logger.info("Obteniendo gastos activos (limit: {})", limit);
 
-        List<ExpenseResponse> expenses = expenseRepositoryPort.findAllActive().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Solo se retiene una página: el filtro de activos y el límite se aplican en la base de datos
+        int pageSize = pageSize(limit);
+        List<ExpenseView> rows = new ArrayList<>(pageSize + 1);
+        expenseRepositoryPort.forEachActive(ExpenseCursor.decode(cursor), pageSize + 1, rows::add);
+        PageResponse<ExpenseResponse> page = toPage(rows, pageSize);
 
-        logger.info("Se encontraron {} gastos activos", expenses.size());
-        return expenses;
+        logger.info("Se encontraron {} gastos activos", page.getItems().size());
+        return page;
     }
 
     @Override
-    public List<ExpenseResponse> getExpensesByUserId(Long userId) {
-        logger.info("Obteniendo todos los gastos del usuario: {}", userId);
+    public PageResponse<ExpenseResponse> getExpensesByUserId(Long userId, String cursor, int limit) {
+        logger.info("Obteniendo gastos del usuario: {} (limit: {})", userId, limit);
 
-        List<ExpenseResponse> expenses = expenseRepositoryPort.findByUserIdAndActiveTrue(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        List<ExpenseView> rows = readOnlyTransaction.execute(status -> expenseRepositoryPort.findPageByUserIdAndActiveTrue(
+                userId, ExpenseCursor.decode(cursor), pageSize + 1));
+        PageResponse<ExpenseResponse> page = toPage(rows, pageSize);
 
-        logger.info("Se encontraron {} gastos para el usuario: {}", expenses.size(), userId);
-        return expenses;
+        logger.info("Se encontraron {} gastos para el usuario: {}", page.getItems().size(), userId);
+        return page;
     }
 
     @Override
-    public List<ExpenseResponse> getExpensesByUserIdAndCategory(Long userId, Long categoryId) {
+    public PageResponse<ExpenseResponse> getExpensesByUserIdAndCategory(Long userId, Long categoryId, String cursor, int limit) {
         logger.info("Filtrando gastos por usuario: {} y categoría: {}", userId, categoryId);
 
-        List<ExpenseResponse> expenses = expenseRepositoryPort.findByUserIdAndExpenseCategoryIdAndActiveTrue(userId, categoryId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        List<ExpenseView> rows = readOnlyTransaction.execute(status -> expenseRepositoryPort.findPageByUserIdAndExpenseCategoryIdAndActiveTrue(
+                userId, categoryId, ExpenseCursor.decode(cursor), pageSize + 1));
+        PageResponse<ExpenseResponse> page = toPage(rows, pageSize);
 
-        logger.info("Se encontraron {} gastos para usuario: {} y categoría: {}", expenses.size(), userId, categoryId);
-        return expenses;
+        logger.info("Se encontraron {} gastos para usuario: {} y categoría: {}", page.getItems().size(), userId, categoryId);
+        return page;
     }
 
     @Override
-    public List<ExpenseResponse> getExpensesByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+    public PageResponse<ExpenseResponse> getExpensesByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate, String cursor, int limit) {
         logger.info("Filtrando gastos por usuario: {} en el rango de fechas: {} a {}", userId, startDate.toLocalDate(), endDate.toLocalDate());
 
-        List<ExpenseResponse> expenses = expenseRepositoryPort.findByUserIdAndExpenseDateBetweenAndActiveTrue(userId, startDate, endDate).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        List<ExpenseView> rows = readOnlyTransaction.execute(status -> expenseRepositoryPort.findPageByUserIdAndExpenseDateBetweenAndActiveTrue(
+                userId, startDate, endDate, ExpenseCursor.decode(cursor), pageSize + 1));
+        PageResponse<ExpenseResponse> page = toPage(rows, pageSize);
 
-        logger.info("Se encontraron {} gastos para usuario: {} en el rango de fechas especificado", expenses.size(), userId);
-        return expenses;
+        logger.info("Se encontraron {} gastos para usuario: {} en el rango de fechas especificado", page.getItems().size(), userId);
+        return page;
     }
 
     @Override
-    public List<ExpenseResponse> getExpensesByUserIdAndAmountRange(Long userId, BigDecimal minAmount, BigDecimal maxAmount) {
+    public PageResponse<ExpenseResponse> getExpensesByUserIdAndAmountRange(Long userId, BigDecimal minAmount, BigDecimal maxAmount, String cursor, int limit) {
         logger.info("Filtrando gastos por usuario: {} en el rango de montos: {} a {}", userId, minAmount, maxAmount);
 
-        List<ExpenseResponse> expenses = expenseRepositoryPort.findByUserIdAndAmountBetweenAndActiveTrue(userId, minAmount, maxAmount).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        List<ExpenseView> rows = readOnlyTransaction.execute(status -> expenseRepositoryPort.findPageByUserIdAndAmountBetweenAndActiveTrue(
+                userId, minAmount, maxAmount, ExpenseCursor.decode(cursor), pageSize + 1));
+        PageResponse<ExpenseResponse> page = toPage(rows, pageSize);
+
+        logger.info("Se encontraron {} gastos para usuario: {} en el rango de montos especificado", page.getItems().size(), userId);
+        return page;
+    }
 
-        logger.info("Se encontraron {} gastos para usuario: {} en el rango de montos especificado", expenses.size(), userId);
-        return expenses;
+    @Override
+    public PageResponse<ExpenseResponse> searchExpenses(ExpenseSearchCriteria criteria, String cursor, int limit) {
+        logger.info("Buscando gastos con filtros combinados: {}", criteria);
+
+        int pageSize = pageSize(limit);
+        List<ExpenseView> rows = readOnlyTransaction.execute(status -> expenseRepositoryPort.search(
+                criteria, ExpenseCursor.decode(cursor), pageSize + 1));
+        PageResponse<ExpenseResponse> page = toPage(rows, pageSize);
+
+        logger.info("Se encontraron {} gastos para usuario: {} con los filtros especificados", page.getItems().size(), criteria.getUserId());
+        return page;
     }
 
     @Override
     public ExpenseResponse updateExpense(Long id, ExpenseUpdateRequest request) {
         logger.info("Iniciando actualización de gasto con ID: {}", id);
 
-        Expense expense = expenseRepositoryPort.findByIdAndActiveTrue(id)
-                .orElseThrow(() -> {
-                    logger.error("No se encontró gasto activo con ID: {}", id);
-                    return new RuntimeException("Gasto no encontrado con ID: " + id);
-                });
-
-        if (request.getAmount() != null) {
-            logger.info("Actualizando monto de {} a {}", expense.getAmount(), request.getAmount());
-            expense.setAmount(request.getAmount());
+        // Validar que la nueva categoría existe y es de tipo EXPENSE antes de abrir la transacción
+        if (request.getExpenseCategoryId() != null
+                && !categoryClient.validateExpenseCategoryExists(request.getExpenseCategoryId())) {
+            logger.error("Categoría inválida con ID: {}", request.getExpenseCategoryId());
+            throw new RuntimeException("La categoría con ID " + request.getExpenseCategoryId() +
+                " no existe, no está activa o no es de tipo EXPENSE");
         }
-        if (request.getExpenseCategoryId() != null) {
-            // Validar que la nueva categoría existe y es de tipo EXPENSE
-            if (!categoryClient.validateExpenseCategoryExists(request.getExpenseCategoryId())) {
-                logger.error("Categoría inválida con ID: {}", request.getExpenseCategoryId());
-                throw new RuntimeException("La categoría con ID " + request.getExpenseCategoryId() +
-                    " no existe, no está activa o no es de tipo EXPENSE");
+
+        Expense updatedExpense = transaction.execute(status -> {
+            Expense expense = expenseRepositoryPort.findByIdAndActiveTrueForUpdate(id)
+                    .orElseThrow(() -> {
+                        logger.error("No se encontró gasto activo con ID: {}", id);
+                        return new RuntimeException("Gasto no encontrado con ID: " + id);
+                    });
+            MonthlyBalanceKey previousKey = MonthlyBalanceKey.of(expense);
+            Long previousCategoryId = expense.getExpenseCategoryId();
+            LocalDateTime previousDate = expense.getExpenseDate();
+            BigDecimal previousAmount = expense.getAmount();
+
+            if (request.getAmount() != null) {
+                logger.info("Actualizando monto de {} a {}", expense.getAmount(), request.getAmount());
+                expense.setAmount(request.getAmount());
             }
-            logger.info("Actualizando categoría de {} a {}", expense.getExpenseCategoryId(), request.getExpenseCategoryId());
-            expense.setExpenseCategoryId(request.getExpenseCategoryId());
-        }
-        if (request.getExpenseDate() != null) {
-            logger.info("Actualizando fecha de {} a {}", expense.getExpenseDate().toLocalDate(), request.getExpenseDate());
-            expense.setExpenseDate(request.getExpenseDate().atStartOfDay());
-        }
-        if (request.getDescription() != null) {
-            logger.info("Actualizando descripción del gasto");
-            expense.setDescription(request.getDescription());
-        }
-        expense.setUpdatedAt(LocalDateTime.now());
+            if (request.getExpenseCategoryId() != null) {
+                logger.info("Actualizando categoría de {} a {}", expense.getExpenseCategoryId(), request.getExpenseCategoryId());
+                expense.setExpenseCategoryId(request.getExpenseCategoryId());
+            }
+            if (request.getExpenseDate() != null) {
+                logger.info("Actualizando fecha de {} a {}", expense.getExpenseDate().toLocalDate(), request.getExpenseDate());
+                expense.setExpenseDate(request.getExpenseDate().atStartOfDay());
+            }
+            if (request.getDescription() != null) {
+                logger.info("Actualizando descripción del gasto");
+                expense.setDescription(request.getDescription());
+            }
+            expense.setUpdatedAt(LocalDateTime.now());
+
+            // Se descuenta el monto anterior de su celda y se suma el nuevo (pueden ser la misma)
+            SortedMap<MonthlyBalanceKey, BigDecimal> deltas = MonthlyBalanceKey.totalsOf(List.of(expense));
+            deltas.merge(previousKey, previousAmount.negate(), BigDecimal::add);
+            monthlyBalanceRepositoryPort.addToExpenseTotals(deltas);
+            outboxRepositoryPort.append(ExpenseOutboxEvent.updated(expense, previousCategoryId, previousDate, previousAmount));
 
-        Expense updatedExpense = expenseRepositoryPort.save(expense);
+            return expenseRepositoryPort.save(expense);
+        });
         logger.info("Gasto actualizado exitosamente con ID: {}", updatedExpense.getExpenseId());
 
         return mapToResponse(updatedExpense);
@@ -178,40 +346,239 @@ public class ExpenseUseCase implements ExpenseServicePort {
     public void deleteExpense(Long id) {
         logger.info("Iniciando eliminación lógica de gasto con ID: {}", id);
 
-        Expense expense = expenseRepositoryPort.findByIdAndActiveTrue(id)
-                .orElseThrow(() -> {
-                    logger.error("No se encontró gasto activo con ID: {} para eliminar", id);
-                    return new RuntimeException("Gasto no encontrado con ID: " + id);
-                });
-
-        expense.setActive(false);
-        expense.setUpdatedAt(LocalDateTime.now());
-        expenseRepositoryPort.save(expense);
+        transaction.executeWithoutResult(status -> {
+            Expense expense = expenseRepositoryPort.findByIdAndActiveTrueForUpdate(id)
+                    .orElseThrow(() -> {
+                        logger.error("No se encontró gasto activo con ID: {} para eliminar", id);
+                        return new RuntimeException("Gasto no encontrado con ID: " + id);
+                    });
+
+            expense.setActive(false);
+            expense.setUpdatedAt(LocalDateTime.now());
+            expenseRepositoryPort.save(expense);
+            monthlyBalanceRepositoryPort.addToExpenseTotals(
+                    new TreeMap<>(Map.of(MonthlyBalanceKey.of(expense), expense.getAmount().negate())));
+            outboxRepositoryPort.append(List.of(ExpenseOutboxEvent.deleted(expense)));
+        });
 
         logger.info("Gasto eliminado lógicamente exitosamente con ID: {}", id);
     }
 
+    @Override
+    public void exportExpensesByUserId(Long userId, Consumer<ExpenseResponse> consumer) {
+        logger.info("Iniciando exportación de gastos del usuario: {}", userId);
+
+        // Las categorías se resuelven antes de abrir el cursor, así ninguna llamada a ms_categories
+        // ocurre mientras la conexión está tomada; cada fila se mapea y entrega apenas se lee
+        Map<Long, CategoryResponse> categories = categoryClient.getCategoriesByIds(
+                expenseRepositoryPort.findCategoryIdsByUserIdAndActiveTrue(userId));
+        long[] exported = {0};
+        expenseRepositoryPort.forEachByUserIdAndActiveTrue(userId, expense -> {
+            consumer.accept(mapToResponse(expense, categories.get(expense.getExpenseCategoryId())));
+            exported[0]++;
+        });
+
+        logger.info("Exportación finalizada: {} gastos para el usuario: {}", exported[0], userId);
+    }
+
+    @Override
+    public ExpenseSummaryResponse getExpenseSummary(Long userId, LocalDateTime startDate, LocalDateTime endDate, String groupBy) {
+        ExpenseSummaryGroupBy summaryGroupBy = ExpenseSummaryGroupBy.from(groupBy);
+        logger.info("Calculando resumen de gastos del usuario: {} por {} entre {} y {}",
+                userId, summaryGroupBy, startDate.toLocalDate(), endDate.toLocalDate());
+
+        List<ExpenseTotal> totals = readOnlyTransaction.execute(status ->
+                expenseRepositoryPort.sumByUserIdAndExpenseDateBetween(userId, startDate, endDate, summaryGroupBy));
+
+        // Los nombres de categoría se resuelven una vez por grupo, no por gasto
+        boolean byCategory = summaryGroupBy == ExpenseSummaryGroupBy.CATEGORY;
+        Map<Long, CategoryResponse> categories = byCategory
+                ? categoryClient.getCategoriesByIds(totals.stream().map(ExpenseTotal::getCategoryId).collect(Collectors.toSet()))
+                : Map.of();
+
+        List<ExpenseSummaryItem> groups = totals.stream()
+                .map(total -> ExpenseSummaryItem.builder()
+                        .expenseCategoryId(total.getCategoryId())
+                        .category(byCategory ? toCategoryInfo(categories.get(total.getCategoryId())) : null)
+                        .period(total.getPeriod())
+                        .total(total.getTotal())
+                        .count(total.getCount())
+                        .build())
+                .collect(Collectors.toList());
+
+        ExpenseSummaryResponse summary = ExpenseSummaryResponse.builder()
+                .groupBy(summaryGroupBy.name())
+                .from(startDate.toLocalDate())
+                .to(endDate.toLocalDate())
+                .total(totals.stream().map(ExpenseTotal::getTotal).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .count(totals.stream().mapToLong(ExpenseTotal::getCount).sum())
+                .groups(groups)
+                .build();
+
+        logger.info("Resumen calculado con {} grupos para el usuario: {}", groups.size(), userId);
+        return summary;
+    }
+
+    /**
+     * Totales mensuales por categoría leídos de monthly_balances (una fila por mes y categoría),
+     * para los meses que tocan el rango [from, to].
+     */
+    @Override
+    public MonthlyTotalsResponse getMonthlyTotals(Long userId, LocalDate from, LocalDate to) {
+        logger.info("Obteniendo totales mensuales de gastos del usuario: {} entre {} y {}", userId, from, to);
+
+        LocalDate fromMonth = from.withDayOfMonth(1);
+        LocalDate toMonth = to.withDayOfMonth(1);
+        List<MonthlyTotal> totals = readOnlyTransaction.execute(status ->
+                monthlyBalanceRepositoryPort.findExpenseTotals(userId, fromMonth, toMonth));
+
+        MonthlyTotalsResponse response = MonthlyTotalsResponse.builder()
+                .from(fromMonth)
+                .to(toMonth)
+                .total(totals.stream().map(MonthlyTotal::getTotal).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .months(totals.stream()
+                        .map(total -> MonthlyTotalItem.builder()
+                                .month(total.getMonthStart())
+                                .expenseCategoryId(total.getCategoryId())
+                                .total(total.getTotal())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+
+        logger.info("Se encontraron {} totales mensuales para el usuario: {}", response.getMonths().size(), userId);
+        return response;
+    }
+
+    /**
+     * Verifica monthly_balances contra los gastos activos y recalcula los usuarios con
+     * diferencias. Devuelve el número de celdas corregidas.
+     */
+    @Override
+    public int reconcileMonthlyBalances() {
+        List<Long> userIds = monthlyBalanceRepositoryPort.findUserIdsWithDrift();
+        int repaired = 0;
+        for (Long userId : userIds) {
+            int cells = monthlyBalanceRepositoryPort.reconcile(userId);
+            if (cells > 0) {
+                logger.warn("Acumulado mensual del usuario {} corregido en {} celdas", userId, cells);
+            }
+            repaired += cells;
+        }
+        logger.info("Conciliación de acumulados mensuales finalizada: {} usuarios revisados, {} celdas corregidas",
+                userIds.size(), repaired);
+        return repaired;
+    }
+
+    /**
+     * Mueve un lote de gastos eliminados lógicamente antes de deletedBefore a expenses_archive.
+     * Lo invoca ExpenseArchiver en lotes acotados; devuelve cuántos gastos movió.
+     */
+    @Override
+    public int archiveDeletedExpenses(LocalDateTime deletedBefore, int batchSize) {
+        int moved = expenseRepositoryPort.archiveInactive(deletedBefore, batchSize);
+        if (moved > 0) {
+            logger.info("Se archivaron {} gastos eliminados antes de {}", moved, deletedBefore);
+        }
+        return moved;
+    }
+
+    @Override
+    public Optional<LocalDateTime> getOldestDeletedExpensePendingArchive(LocalDateTime deletedBefore) {
+        return readOnlyTransaction.execute(status -> expenseRepositoryPort.findOldestInactiveUpdatedAt(deletedBefore));
+    }
+
+    @Override
+    public PageResponse<ExpenseResponse> getArchivedExpenses(Long userId, String cursor, int limit) {
+        logger.info("Obteniendo gastos archivados del usuario: {} (limit: {})", userId, limit);
+
+        int pageSize = pageSize(limit);
+        List<ExpenseView> rows = readOnlyTransaction.execute(status -> expenseRepositoryPort.findArchivedPageByUserId(
+                userId, ExpenseCursor.decode(cursor), pageSize + 1));
+        PageResponse<ExpenseResponse> page = toPage(rows, pageSize);
+
+        logger.info("Se encontraron {} gastos archivados para el usuario: {}", page.getItems().size(), userId);
+        return page;
+    }
+
+
+    private String validateBatchItem(ExpenseRequest request, Map<Long, CategoryResponse> categories) {
+        if (request == null) {
+            return "El gasto es requerido";
+        }
+        Set<ConstraintViolation<ExpenseRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        CategoryResponse category = categories.get(request.getExpenseCategoryId());
+        if (category == null || !Boolean.TRUE.equals(category.getActive())
+                || category.getType() != CategoryResponse.CategoryType.EXPENSE) {
+            return "La categoría con ID " + request.getExpenseCategoryId() +
+                    " no existe, no está activa o no es de tipo EXPENSE";
+        }
+        return null;
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Construye la página a partir de una consulta que pidió pageSize + 1 filas:
+     * la fila extra solo indica que existe una página siguiente.
+     */
+    private PageResponse<ExpenseResponse> toPage(List<ExpenseView> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<ExpenseView> expenses = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? ExpenseCursor.after(expenses.get(expenses.size() - 1)).encode() : null;
+
+        return PageResponse.<ExpenseResponse>builder()
+                .items(mapToResponses(expenses))
+                .nextCursor(nextCursor)
+                .limit(pageSize)
+                .build();
+    }
 
     private ExpenseResponse mapToResponse(Expense expense) {
         // Obtener información de la categoría
-        CategoryInfo categoryInfo = null;
+        CategoryResponse categoryResponse = null;
         try {
-            CategoryResponse categoryResponse = categoryClient.getCategoryById(expense.getExpenseCategoryId());
-            if (categoryResponse != null) {
-                categoryInfo = CategoryInfo.builder()
-                        .name(categoryResponse.getName())
-                        .description(categoryResponse.getDescription())
-                        .type(categoryResponse.getType() != null ? categoryResponse.getType().toString() : null)
-                        .build();
-                logger.debug("Información de categoría obtenida para el gasto ID: {}", expense.getExpenseId());
-            } else {
-                logger.warn("No se pudo obtener información de la categoría ID: {} para el gasto ID: {}",
-                        expense.getExpenseCategoryId(), expense.getExpenseId());
-            }
+            categoryResponse = categoryClient.getCategoryById(expense.getExpenseCategoryId());
         } catch (Exception e) {
             logger.error("Error al obtener información de la categoría ID: {} para el gasto ID: {}",
                     expense.getExpenseCategoryId(), expense.getExpenseId(), e);
         }
+        return mapToResponse(ExpenseView.from(expense), categoryResponse);
+    }
+
+    /**
+     * Mapea una lista de gastos resolviendo todas sus categorías distintas en una sola
+     * consulta a ms_categories, en lugar de una llamada HTTP por gasto.
+     */
+    private List<ExpenseResponse> mapToResponses(List<ExpenseView> expenses) {
+        Set<Long> categoryIds = expenses.stream()
+                .map(ExpenseView::getExpenseCategoryId)
+                .collect(Collectors.toSet());
+
+        Map<Long, CategoryResponse> categories = categoryClient.getCategoriesByIds(categoryIds);
+        logger.debug("Resueltas {} de {} categorías distintas para {} gastos",
+                categories.size(), categoryIds.size(), expenses.size());
+
+        return expenses.stream()
+                .map(expense -> mapToResponse(expense, categories.get(expense.getExpenseCategoryId())))
+                .collect(Collectors.toList());
+    }
+
+    private ExpenseResponse mapToResponse(ExpenseView expense, CategoryResponse categoryResponse) {
+        CategoryInfo categoryInfo = toCategoryInfo(categoryResponse);
+        if (categoryInfo != null) {
+            logger.debug("Información de categoría obtenida para el gasto ID: {}", expense.getExpenseId());
+        } else {
+            logger.warn("No se pudo obtener información de la categoría ID: {} para el gasto ID: {}",
+                    expense.getExpenseCategoryId(), expense.getExpenseId());
+        }
 
         return ExpenseResponse.builder()
                 .expenseId(expense.getExpenseId())
@@ -226,4 +593,16 @@ public class ExpenseUseCase implements ExpenseServicePort {
                 .updatedAt(expense.getUpdatedAt())
                 .build();
     }
+
+    private CategoryInfo toCategoryInfo(CategoryResponse categoryResponse) {
+        if (categoryResponse == null) {
+            return null;
+        }
+        return CategoryInfo.builder()
+                .name(categoryResponse.getName())
+                .description(categoryResponse.getDescription())
+                .type(categoryResponse.getType() != null ? categoryResponse.getType().toString() : null)
+                .stale(categoryResponse.isStale())
+                .build();
+    }
 }
\ No newline at end of file
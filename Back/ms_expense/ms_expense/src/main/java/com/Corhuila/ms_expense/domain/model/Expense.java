@@ -14,10 +14,24 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses",
+       indexes = {
+           @Index(name = "idx_expenses_user_date_id", columnList = "user_id, expense_date DESC, expense_id DESC"),
+           @Index(name = "idx_expenses_user_category_date_id", columnList = "user_id, expense_category_id, expense_date DESC, expense_id DESC"),
+           @Index(name = "idx_expenses_user_amount", columnList = "user_id, amount"),
+           @Index(name = "idx_expenses_date_id", columnList = "expense_date DESC, expense_id DESC")
+       })
 public class Expense {
+
+    /**
+     * Tamaño del bloque de IDs que reserva cada nextval de expenses_seq (optimizador pooled).
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Secuencia con pool de 50 IDs: IDENTITY obliga a Hibernate a insertar fila por fila y desactiva el batching JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_seq")
+    @SequenceGenerator(name = "expenses_seq", sequenceName = "expenses_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "expense_id")
     private Long expenseId;
 
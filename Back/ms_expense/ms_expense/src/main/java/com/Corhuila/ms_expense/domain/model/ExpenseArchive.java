@@ -0,0 +1,56 @@
+package com.Corhuila.ms_expense.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Gasto eliminado lógicamente que el archivador sacó de expenses. Mismas columnas que Expense
+ * más archived_at; expense_id conserva el valor original. Solo se escribe en bloque desde
+ * ExpenseRepositoryAdapter.archiveInactive y se lee desde el endpoint administrativo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "expenses_archive",
+       indexes = {
+           @Index(name = "idx_expenses_archive_user_date_id", columnList = "user_id, expense_date DESC, expense_id DESC")
+       })
+public class ExpenseArchive {
+
+    @Id
+    @Column(name = "expense_id")
+    private Long expenseId;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "expense_category_id", nullable = false)
+    private Long expenseCategoryId;
+
+    @Column(name = "expense_date", nullable = false)
+    private LocalDateTime expenseDate;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "active", nullable = false)
+    private Boolean active;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
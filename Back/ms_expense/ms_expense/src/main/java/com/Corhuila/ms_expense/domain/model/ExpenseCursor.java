@@ -0,0 +1,47 @@
+package com.Corhuila.ms_expense.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posición de paginación sobre el orden (expense_date DESC, expense_id DESC).
+ * Se expone al cliente como un string opaco (Base64 URL-safe).
+ */
+@Data
+@AllArgsConstructor
+public class ExpenseCursor {
+
+    /**
+     * Cursor de la primera página: cualquier gasto real queda "antes" de esta posición.
+     */
+    public static final ExpenseCursor FIRST = new ExpenseCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private LocalDateTime expenseDate;
+    private Long expenseId;
+
+    public static ExpenseCursor after(ExpenseView expense) {
+        return new ExpenseCursor(expense.getExpenseDate(), expense.getExpenseId());
+    }
+
+    public String encode() {
+        String raw = expenseDate + "|" + expenseId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ExpenseCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new ExpenseCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.Corhuila.ms_expense.domain.model;
+
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseImportJobResponse;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseImportRejectedRow;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Estado de una importación de gastos. Lo actualiza el hilo que procesa el archivo y lo
+ * consultan otras solicitudes mientras avanza, por eso los métodos están sincronizados.
+ * Solo se conservan las primeras MAX_REPORTED_REJECTIONS filas rechazadas; el contador sigue.
+ */
+@Getter
+public class ExpenseImportJob {
+
+    public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final Long userId;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private Status status = Status.RUNNING;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private final List<ExpenseImportRejectedRow> rejectedRows = new ArrayList<>();
+    private String error;
+    private LocalDateTime finishedAt;
+
+    public ExpenseImportJob(Long userId) {
+        this.userId = userId;
+    }
+
+    public synchronized void rowRead() {
+        rowsRead++;
+    }
+
+    public synchronized void rowsImported(int count) {
+        imported += count;
+    }
+
+    public synchronized void rowRejected(long line, String reason) {
+        rejected++;
+        if (rejectedRows.size() < MAX_REPORTED_REJECTIONS) {
+            rejectedRows.add(new ExpenseImportRejectedRow(line, reason));
+        }
+    }
+
+    public synchronized void complete() {
+        status = Status.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized void fail(String reason) {
+        status = Status.FAILED;
+        error = reason;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public synchronized ExpenseImportJobResponse toResponse() {
+        return ExpenseImportJobResponse.builder()
+                .jobId(jobId)
+                .status(status.name())
+                .rowsRead(rowsRead)
+                .imported(imported)
+                .rejected(rejected)
+                .rejectedRows(List.copyOf(rejectedRows))
+                .error(error)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
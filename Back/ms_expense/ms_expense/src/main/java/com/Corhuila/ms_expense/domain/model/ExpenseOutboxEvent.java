@@ -0,0 +1,103 @@
+package com.Corhuila.ms_expense.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cambio de un gasto registrado en expense_outbox dentro de la misma transacción que lo escribe.
+ * Es compacto: operación, gasto, usuario, categoría, delta del monto y fecha; sumar amountDelta
+ * por (usuario, categoría, fecha) reproduce los totales de los gastos activos. outbox_id lo
+ * asigna la base al insertar y es el orden de publicación de ExpenseOutboxRelay.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "expense_outbox")
+public class ExpenseOutboxEvent {
+
+    public enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 10)
+    private Operation operation;
+
+    @Column(name = "expense_id", nullable = false)
+    private Long expenseId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expense_category_id", nullable = false)
+    private Long expenseCategoryId;
+
+    @Column(name = "amount_delta", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amountDelta;
+
+    @Column(name = "expense_date", nullable = false)
+    private LocalDate expenseDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Hasta cuándo lo tiene reservado el relay que lo está publicando; null si nadie lo publica
+    @JsonIgnore
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    public static ExpenseOutboxEvent created(Expense expense) {
+        return of(Operation.CREATED, expense, expense.getExpenseCategoryId(), expense.getExpenseDate(), expense.getAmount());
+    }
+
+    public static ExpenseOutboxEvent deleted(Expense expense) {
+        return of(Operation.DELETED, expense, expense.getExpenseCategoryId(), expense.getExpenseDate(), expense.getAmount().negate());
+    }
+
+    /**
+     * Eventos de una actualización: uno con la diferencia de monto si no cambió la categoría ni
+     * la fecha; si cambió alguna, uno que descuenta el monto anterior de su categoría y fecha y
+     * otro que suma el nuevo.
+     */
+    public static List<ExpenseOutboxEvent> updated(Expense expense, Long previousCategoryId,
+                                                   LocalDateTime previousDate, BigDecimal previousAmount) {
+        if (Objects.equals(previousCategoryId, expense.getExpenseCategoryId())
+                && previousDate.toLocalDate().equals(expense.getExpenseDate().toLocalDate())) {
+            return List.of(of(Operation.UPDATED, expense, previousCategoryId, previousDate,
+                    expense.getAmount().subtract(previousAmount)));
+        }
+        return List.of(
+                of(Operation.UPDATED, expense, previousCategoryId, previousDate, previousAmount.negate()),
+                of(Operation.UPDATED, expense, expense.getExpenseCategoryId(), expense.getExpenseDate(), expense.getAmount()));
+    }
+
+    private static ExpenseOutboxEvent of(Operation operation, Expense expense, Long categoryId,
+                                         LocalDateTime date, BigDecimal amountDelta) {
+        return ExpenseOutboxEvent.builder()
+                .operation(operation)
+                .expenseId(expense.getExpenseId())
+                .userId(expense.getUserId())
+                .expenseCategoryId(categoryId)
+                .amountDelta(amountDelta)
+                .expenseDate(date.toLocalDate())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.Corhuila.ms_expense.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Filtros combinables de la búsqueda de gastos. Solo userId es obligatorio;
+ * los demás campos se ignoran cuando son null (o vacíos en el caso de categoryIds).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSearchCriteria {
+    private Long userId;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Set<Long> categoryIds;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private String text;
+}
@@ -0,0 +1,19 @@
+package com.Corhuila.ms_expense.domain.model;
+
+/**
+ * Criterio de agrupación del resumen de gastos.
+ */
+public enum ExpenseSummaryGroupBy {
+    CATEGORY,
+    MONTH,
+    DAY;
+
+    public static ExpenseSummaryGroupBy from(String value) {
+        for (ExpenseSummaryGroupBy groupBy : values()) {
+            if (groupBy.name().equalsIgnoreCase(value)) {
+                return groupBy;
+            }
+        }
+        throw new IllegalArgumentException("Agrupación de resumen no soportada: " + value);
+    }
+}
@@ -0,0 +1,33 @@
+package com.Corhuila.ms_expense.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Fila agregada (SUM/COUNT) calculada por la base de datos para un grupo del resumen.
+ * Según la agrupación se llena categoryId o period (primer día del mes, o el día).
+ */
+@Data
+@AllArgsConstructor
+public class ExpenseTotal {
+
+    private Long categoryId;
+    private LocalDate period;
+    private BigDecimal total;
+    private Long count;
+
+    public ExpenseTotal(Long categoryId, BigDecimal total, Long count) {
+        this(categoryId, null, total, count);
+    }
+
+    public ExpenseTotal(Integer year, Integer month, BigDecimal total, Long count) {
+        this(null, LocalDate.of(year, month, 1), total, count);
+    }
+
+    public ExpenseTotal(Integer year, Integer month, Integer day, BigDecimal total, Long count) {
+        this(null, LocalDate.of(year, month, day), total, count);
+    }
+}
@@ -0,0 +1,33 @@
+package com.Corhuila.ms_expense.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de gasto para los listados, construida directamente por la consulta (SELECT new ...).
+ * No es una entidad: Hibernate no la registra en el contexto de persistencia, no guarda su
+ * snapshot ni la revisa en el flush.
+ */
+@Data
+@AllArgsConstructor
+public class ExpenseView {
+
+    private Long expenseId;
+    private BigDecimal amount;
+    private Long expenseCategoryId;
+    private LocalDateTime expenseDate;
+    private String description;
+    private Long userId;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static ExpenseView from(Expense expense) {
+        return new ExpenseView(expense.getExpenseId(), expense.getAmount(), expense.getExpenseCategoryId(),
+                expense.getExpenseDate(), expense.getDescription(), expense.getUserId(), expense.getActive(),
+                expense.getCreatedAt(), expense.getUpdatedAt());
+    }
+}
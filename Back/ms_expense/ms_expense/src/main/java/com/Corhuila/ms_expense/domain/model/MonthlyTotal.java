@@ -0,0 +1,19 @@
+package com.Corhuila.ms_expense.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Total de gastos de un mes y una categoría, leído de monthly_balances.
+ */
+@Data
+@AllArgsConstructor
+public class MonthlyTotal {
+
+    private LocalDate monthStart;
+    private Long categoryId;
+    private BigDecimal total;
+}
@@ -13,4 +13,5 @@ public class CategoryInfo {
     private String name;
     private String description;
     private String type;
+    private boolean stale;
 }
\ No newline at end of file
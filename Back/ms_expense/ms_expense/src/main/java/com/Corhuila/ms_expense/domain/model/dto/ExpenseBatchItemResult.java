@@ -0,0 +1,26 @@
+package com.Corhuila.ms_expense.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de un elemento de la creación masiva; index es la posición en la lista recibida.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseBatchItemResult {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    private Integer index;
+    private Status status;
+    private Long expenseId;
+    private String error;
+}
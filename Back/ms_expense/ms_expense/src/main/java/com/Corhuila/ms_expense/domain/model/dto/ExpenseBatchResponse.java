@@ -0,0 +1,18 @@
+package com.Corhuila.ms_expense.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseBatchResponse {
+    private Integer created;
+    private Integer rejected;
+    private List<ExpenseBatchItemResult> results;
+}
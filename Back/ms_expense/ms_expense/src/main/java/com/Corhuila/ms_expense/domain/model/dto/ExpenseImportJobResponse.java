@@ -0,0 +1,25 @@
+package com.Corhuila.ms_expense.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportJobResponse {
+    private String jobId;
+    private String status;
+    private Long rowsRead;
+    private Long imported;
+    private Long rejected;
+    private List<ExpenseImportRejectedRow> rejectedRows;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
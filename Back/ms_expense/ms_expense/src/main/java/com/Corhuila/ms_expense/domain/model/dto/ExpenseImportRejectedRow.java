@@ -0,0 +1,15 @@
+package com.Corhuila.ms_expense.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportRejectedRow {
+    private Long line;
+    private String error;
+}
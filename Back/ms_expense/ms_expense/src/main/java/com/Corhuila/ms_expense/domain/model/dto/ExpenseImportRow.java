@@ -0,0 +1,23 @@
+package com.Corhuila.ms_expense.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Fila leída del archivo de importación. Si no se pudo interpretar, request es null y error trae el motivo.
+ */
+@Data
+@AllArgsConstructor
+public class ExpenseImportRow {
+    private long lineNumber;
+    private ExpenseRequest request;
+    private String error;
+
+    public static ExpenseImportRow parsed(long lineNumber, ExpenseRequest request) {
+        return new ExpenseImportRow(lineNumber, request, null);
+    }
+
+    public static ExpenseImportRow invalid(long lineNumber, String error) {
+        return new ExpenseImportRow(lineNumber, null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package com.Corhuila.ms_expense.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSummaryItem {
+    private Long expenseCategoryId;
+    private CategoryInfo category;
+    private LocalDate period;
+    private BigDecimal total;
+    private Long count;
+}
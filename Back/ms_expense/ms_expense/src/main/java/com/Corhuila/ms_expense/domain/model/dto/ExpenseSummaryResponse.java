@@ -0,0 +1,23 @@
+package com.Corhuila.ms_expense.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSummaryResponse {
+    private String groupBy;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal total;
+    private Long count;
+    private List<ExpenseSummaryItem> groups;
+}
@@ -0,0 +1,21 @@
+package com.Corhuila.ms_expense.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyTotalsResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal total;
+    private List<MonthlyTotalItem> months;
+}
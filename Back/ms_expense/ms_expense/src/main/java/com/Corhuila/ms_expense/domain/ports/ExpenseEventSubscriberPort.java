@@ -0,0 +1,16 @@
+package com.Corhuila.ms_expense.domain.ports;
+
+import com.Corhuila.ms_expense.domain.model.ExpenseOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destino de los eventos de expense_outbox. Todo bean que implemente esta interfaz queda
+ * registrado en ExpenseOutboxUseCase y recibe cada lote en orden de outbox_id. La entrega es
+ * al menos una vez: si un suscriptor lanza una excepción, el lote completo se reintenta (también
+ * para los que ya lo recibieron), así que deben descartar duplicados por outboxId.
+ */
+public interface ExpenseEventSubscriberPort {
+    String getName();
+    void publish(List<ExpenseOutboxEvent> events);
+}
@@ -0,0 +1,12 @@
+package com.Corhuila.ms_expense.domain.ports;
+
+import com.Corhuila.ms_expense.domain.model.ExpenseImportJob;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ExpenseImportJobRepositoryPort {
+    ExpenseImportJob save(ExpenseImportJob job);
+    Optional<ExpenseImportJob> findById(String jobId);
+    List<ExpenseImportJob> findByUserId(Long userId);
+}
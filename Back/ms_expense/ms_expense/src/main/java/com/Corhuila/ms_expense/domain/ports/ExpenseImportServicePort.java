@@ -0,0 +1,13 @@
+package com.Corhuila.ms_expense.domain.ports;
+
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseImportJobResponse;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseImportRow;
+
+import java.util.Iterator;
+import java.util.List;
+
+public interface ExpenseImportServicePort {
+    ExpenseImportJobResponse importExpenses(Long userId, Iterator<ExpenseImportRow> rows);
+    ExpenseImportJobResponse getImportJob(Long userId, String jobId);
+    List<ExpenseImportJobResponse> getImportJobs(Long userId);
+}
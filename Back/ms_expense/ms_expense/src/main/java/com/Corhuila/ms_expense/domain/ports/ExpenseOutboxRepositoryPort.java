@@ -0,0 +1,15 @@
+package com.Corhuila.ms_expense.domain.ports;
+
+import com.Corhuila.ms_expense.domain.model.ExpenseOutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface ExpenseOutboxRepositoryPort {
+    void append(List<ExpenseOutboxEvent> events);
+    int relay(int batchSize, Consumer<List<ExpenseOutboxEvent>> publisher);
+    Optional<LocalDateTime> findOldestCreatedAt();
+    long count();
+}
@@ -0,0 +1,10 @@
+package com.Corhuila.ms_expense.domain.ports;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ExpenseOutboxServicePort {
+    int relayOutboxEvents(int batchSize);
+    Optional<LocalDateTime> getOldestPendingOutboxEvent();
+    long countPendingOutboxEvents();
+}
@@ -1,18 +1,35 @@
 package com.Corhuila.ms_expense.domain.ports;
 
 import com.Corhuila.ms_expense.domain.model.Expense;
+import com.Corhuila.ms_expense.domain.model.ExpenseCursor;
+import com.Corhuila.ms_expense.domain.model.ExpenseSearchCriteria;
+import com.Corhuila.ms_expense.domain.model.ExpenseSummaryGroupBy;
+import com.Corhuila.ms_expense.domain.model.ExpenseTotal;
+import com.Corhuila.ms_expense.domain.model.ExpenseView;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ExpenseRepositoryPort {
     Expense save(Expense expense);
+    List<Expense> saveAll(List<Expense> expenses);
+    void insertBatch(List<Expense> expenses);
     Optional<Expense> findByIdAndActiveTrue(Long id);
-    List<Expense> findAllActive();
-    List<Expense> findByUserIdAndActiveTrue(Long userId);
-    List<Expense> findByUserIdAndExpenseCategoryIdAndActiveTrue(Long userId, Long categoryId);
-    List<Expense> findByUserIdAndExpenseDateBetweenAndActiveTrue(Long userId, LocalDateTime startDate, LocalDateTime endDate);
-    List<Expense> findByUserIdAndAmountBetweenAndActiveTrue(Long userId, BigDecimal minAmount, BigDecimal maxAmount);
-}
\ No newline at end of file
+    Optional<Expense> findByIdAndActiveTrueForUpdate(Long id);
+    void forEachActive(ExpenseCursor after, int limit, Consumer<ExpenseView> action);
+    List<ExpenseView> findPageByUserIdAndActiveTrue(Long userId, ExpenseCursor after, int limit);
+    List<ExpenseView> findPageByUserIdAndExpenseCategoryIdAndActiveTrue(Long userId, Long categoryId, ExpenseCursor after, int limit);
+    List<ExpenseView> findPageByUserIdAndExpenseDateBetweenAndActiveTrue(Long userId, LocalDateTime startDate, LocalDateTime endDate, ExpenseCursor after, int limit);
+    List<ExpenseView> findPageByUserIdAndAmountBetweenAndActiveTrue(Long userId, BigDecimal minAmount, BigDecimal maxAmount, ExpenseCursor after, int limit);
+    List<ExpenseView> search(ExpenseSearchCriteria criteria, ExpenseCursor after, int limit);
+    Set<Long> findCategoryIdsByUserIdAndActiveTrue(Long userId);
+    void forEachByUserIdAndActiveTrue(Long userId, Consumer<ExpenseView> action);
+    List<ExpenseTotal> sumByUserIdAndExpenseDateBetween(Long userId, LocalDateTime startDate, LocalDateTime endDate, ExpenseSummaryGroupBy groupBy);
+    int archiveInactive(LocalDateTime deletedBefore, int limit);
+    Optional<LocalDateTime> findOldestInactiveUpdatedAt(LocalDateTime deletedBefore);
+    List<ExpenseView> findArchivedPageByUserId(Long userId, ExpenseCursor after, int limit);
+}
@@ -1,21 +1,38 @@
 package com.Corhuila.ms_expense.domain.ports;
 
+import com.Corhuila.ms_expense.domain.model.ExpenseSearchCriteria;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseBatchResponse;
 import com.Corhuila.ms_expense.domain.model.dto.ExpenseRequest;
 import com.Corhuila.ms_expense.domain.model.dto.ExpenseResponse;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseSummaryResponse;
 import com.Corhuila.ms_expense.domain.model.dto.ExpenseUpdateRequest;
+import com.Corhuila.ms_expense.domain.model.dto.MonthlyTotalsResponse;
+import com.Corhuila.ms_expense.domain.model.dto.PageResponse;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ExpenseServicePort {
     ExpenseResponse createExpense(ExpenseRequest request);
+    ExpenseBatchResponse createExpenses(List<ExpenseRequest> requests);
     ExpenseResponse getExpenseById(Long id);
-    List<ExpenseResponse> getAllExpenses();
-    List<ExpenseResponse> getExpensesByUserId(Long userId);
-    List<ExpenseResponse> getExpensesByUserIdAndCategory(Long userId, Long categoryId);
-    List<ExpenseResponse> getExpensesByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate);
-    List<ExpenseResponse> getExpensesByUserIdAndAmountRange(Long userId, BigDecimal minAmount, BigDecimal maxAmount);
+    PageResponse<ExpenseResponse> getAllExpenses(String cursor, int limit);
+    PageResponse<ExpenseResponse> getExpensesByUserId(Long userId, String cursor, int limit);
+    PageResponse<ExpenseResponse> getExpensesByUserIdAndCategory(Long userId, Long categoryId, String cursor, int limit);
+    PageResponse<ExpenseResponse> getExpensesByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate, String cursor, int limit);
+    PageResponse<ExpenseResponse> getExpensesByUserIdAndAmountRange(Long userId, BigDecimal minAmount, BigDecimal maxAmount, String cursor, int limit);
+    PageResponse<ExpenseResponse> searchExpenses(ExpenseSearchCriteria criteria, String cursor, int limit);
     ExpenseResponse updateExpense(Long id, ExpenseUpdateRequest request);
     void deleteExpense(Long id);
+    void exportExpensesByUserId(Long userId, Consumer<ExpenseResponse> consumer);
+    ExpenseSummaryResponse getExpenseSummary(Long userId, LocalDateTime startDate, LocalDateTime endDate, String groupBy);
+    MonthlyTotalsResponse getMonthlyTotals(Long userId, LocalDate from, LocalDate to);
+    int reconcileMonthlyBalances();
+    int archiveDeletedExpenses(LocalDateTime deletedBefore, int batchSize);
+    Optional<LocalDateTime> getOldestDeletedExpensePendingArchive(LocalDateTime deletedBefore);
+    PageResponse<ExpenseResponse> getArchivedExpenses(Long userId, String cursor, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.Corhuila.ms_expense.domain.ports;
+
+import com.Corhuila.ms_expense.domain.model.MonthlyBalanceKey;
+import com.Corhuila.ms_expense.domain.model.MonthlyTotal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SortedMap;
+
+public interface MonthlyBalanceRepositoryPort {
+    void addToExpenseTotals(SortedMap<MonthlyBalanceKey, BigDecimal> deltas);
+    List<MonthlyTotal> findExpenseTotals(Long userId, LocalDate fromMonth, LocalDate toMonth);
+    List<Long> findUserIdsWithDrift();
+    int reconcile(Long userId);
+}
@@ -0,0 +1,135 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.input.events;
+
+import com.Corhuila.ms_expense.infrastructure.adapters.output.external.CategoryChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Escucha (LISTEN) en la base de ms_categories los cambios de categorías y los publica como
+ * CategoryChangedEvent dentro de la aplicación, donde CategoryClient descarta esa entrada de su
+ * caché. Usa una conexión propia, fuera del pool de Hikari, porque queda abierta mientras viva
+ * la aplicación. Sin categories.events.datasource.url (perfil local, H2) no se inicia y la caché
+ * solo se renueva por TTL.
+ */
+@Component
+public class CategoryChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryChangeListener.class);
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long VALIDATION_INTERVAL_MILLIS = 30_000;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public CategoryChangeListener(ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper,
+                                  @Value("${categories.events.datasource.url:}") String url,
+                                  @Value("${categories.events.datasource.username:}") String username,
+                                  @Value("${categories.events.datasource.password:}") String password,
+                                  @Value("${categories.events.channel:category_changed}") String channel,
+                                  @Value("${categories.events.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!url.startsWith("jdbc:postgresql:")) {
+            logger.info("Sin base PostgreSQL de categorías configurada, no se escuchan notificaciones de cambios");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "category-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                logger.info("Escuchando notificaciones en el canal {}", channel);
+                // Lo que cambió mientras no había conexión no se notificó
+                eventPublisher.publishEvent(CategoryChangedEvent.all());
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                long lastValidation = System.currentTimeMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        handle(notifications);
+                    } else if (System.currentTimeMillis() - lastValidation > VALIDATION_INTERVAL_MILLIS) {
+                        // Detecta conexiones caídas que de otro modo solo devolverían "sin notificaciones"
+                        if (!connection.isValid(2)) {
+                            throw new SQLException("La conexión de LISTEN dejó de responder");
+                        }
+                        lastValidation = System.currentTimeMillis();
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Se perdió la conexión de LISTEN ({}), reintentando en {}", e.getMessage(), reconnectDelay);
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private void handle(PGNotification[] notifications) {
+        for (PGNotification notification : notifications) {
+            try {
+                eventPublisher.publishEvent(objectMapper.readValue(notification.getParameter(), CategoryChangedEvent.class));
+            } catch (Exception e) {
+                logger.warn("Notificación de categoría inválida ({}), se descartan todas las categorías", notification.getParameter());
+                eventPublisher.publishEvent(CategoryChangedEvent.all());
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,23 +1,37 @@
 package com.Corhuila.ms_expense.infrastructure.adapters.input.rest;
 
+import com.Corhuila.ms_expense.domain.model.ExpenseSearchCriteria;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseBatchResponse;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseImportJobResponse;
 import com.Corhuila.ms_expense.domain.model.dto.ExpenseRequest;
 import com.Corhuila.ms_expense.domain.model.dto.ExpenseResponse;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseSummaryResponse;
 import com.Corhuila.ms_expense.domain.model.dto.ExpenseUpdateRequest;
+import com.Corhuila.ms_expense.domain.model.dto.MonthlyTotalsResponse;
+import com.Corhuila.ms_expense.domain.model.dto.PageResponse;
+import com.Corhuila.ms_expense.domain.ports.ExpenseImportServicePort;
 import com.Corhuila.ms_expense.domain.ports.ExpenseServicePort;
 import com.Corhuila.ms_expense.infrastructure.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/expenses")
@@ -25,13 +39,23 @@ import java.util.List;
 public class ExpenseController {
 
     private static final Logger logger = LoggerFactory.getLogger(ExpenseController.class);
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final String ADMIN_ROLE = "ADMIN";
     private final ExpenseServicePort expenseServicePort;
+    private final ExpenseImportServicePort expenseImportServicePort;
     private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final int importMaxRecordLength;
 
     @Autowired
-    public ExpenseController(ExpenseServicePort expenseServicePort, JwtUtil jwtUtil) {
+    public ExpenseController(ExpenseServicePort expenseServicePort, ExpenseImportServicePort expenseImportServicePort,
+                             JwtUtil jwtUtil, ObjectMapper objectMapper,
+                             @Value("${expenses.import.max-record-length:8192}") int importMaxRecordLength) {
         this.expenseServicePort = expenseServicePort;
+        this.expenseImportServicePort = expenseImportServicePort;
         this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.importMaxRecordLength = importMaxRecordLength;
     }
 
     /**
@@ -55,6 +79,14 @@ public class ExpenseController {
         throw new IllegalArgumentException("Invalid or missing Authorization header");
     }
 
+    /**
+     * Check that the JWT token belongs to an administrator
+     */
+    private boolean isAdmin(String authHeader) {
+        String token = extractToken(authHeader);
+        return token != null && ADMIN_ROLE.equals(jwtUtil.extractRole(token));
+    }
+
     @PostMapping
     public ResponseEntity<ExpenseResponse> createExpense(
             @RequestHeader("Authorization") String authHeader,
@@ -73,6 +105,29 @@ public class ExpenseController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Crea varios gastos en una sola solicitud (sincronización de registros offline).
+     * Cada elemento se valida por separado y el resultado se reporta por posición.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ExpenseBatchResponse> createExpenses(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestBody List<ExpenseRequest> requests) {
+
+        // Extract userId from JWT token
+        Long userId = extractUserId(authHeader);
+        requests.stream()
+                .filter(Objects::nonNull)
+                .forEach(request -> request.setUserId(userId));
+
+        logger.info("Solicitud recibida para crear {} gastos - Usuario: {}", requests.size(), userId);
+
+        ExpenseBatchResponse response = expenseServicePort.createExpenses(requests);
+
+        logger.info("Creación masiva respondida - Creados: {}, Rechazados: {}", response.getCreated(), response.getRejected());
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ExpenseResponse> updateExpense(
             @RequestHeader("Authorization") String authHeader,
@@ -121,25 +176,29 @@ public class ExpenseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ExpenseResponse>> getAllExpenses(
-            @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<PageResponse<ExpenseResponse>> getAllExpenses(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
 
         // Extract userId from JWT token
         Long userId = extractUserId(authHeader);
 
-        logger.info("Solicitud recibida para obtener todos los gastos del usuario: {}", userId);
+        logger.info("Solicitud recibida para obtener los gastos del usuario: {}", userId);
 
-        List<ExpenseResponse> responses = expenseServicePort.getExpensesByUserId(userId);
+        PageResponse<ExpenseResponse> page = expenseServicePort.getExpensesByUserId(userId, cursor, limit);
 
-        logger.info("Respuesta enviada con {} gastos para usuario: {}", responses.size(), userId);
-        return ResponseEntity.ok(responses);
+        logger.info("Respuesta enviada con {} gastos para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<ExpenseResponse>> getExpensesByDateRange(
+    public ResponseEntity<PageResponse<ExpenseResponse>> getExpensesByDateRange(
             @RequestHeader("Authorization") String authHeader,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
 
         // Extract userId from JWT token
         Long userId = extractUserId(authHeader);
@@ -150,16 +209,18 @@ public class ExpenseController {
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
 
-        List<ExpenseResponse> responses = expenseServicePort.getExpensesByUserIdAndDateRange(userId, startDateTime, endDateTime);
+        PageResponse<ExpenseResponse> page = expenseServicePort.getExpensesByUserIdAndDateRange(userId, startDateTime, endDateTime, cursor, limit);
 
-        logger.info("Respuesta enviada con {} gastos filtrados por fecha para usuario: {}", responses.size(), userId);
-        return ResponseEntity.ok(responses);
+        logger.info("Respuesta enviada con {} gastos filtrados por fecha para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<ExpenseResponse>> getExpensesByCategory(
+    public ResponseEntity<PageResponse<ExpenseResponse>> getExpensesByCategory(
             @RequestHeader("Authorization") String authHeader,
-            @PathVariable Long categoryId) {
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
 
         // Extract userId from JWT token
         Long userId = extractUserId(authHeader);
@@ -167,17 +228,19 @@ public class ExpenseController {
         logger.info("Solicitud recibida para filtrar gastos por categoría - Usuario: {}, Categoría: {}",
                 userId, categoryId);
 
-        List<ExpenseResponse> responses = expenseServicePort.getExpensesByUserIdAndCategory(userId, categoryId);
+        PageResponse<ExpenseResponse> page = expenseServicePort.getExpensesByUserIdAndCategory(userId, categoryId, cursor, limit);
 
-        logger.info("Respuesta enviada con {} gastos filtrados por categoría para usuario: {}", responses.size(), userId);
-        return ResponseEntity.ok(responses);
+        logger.info("Respuesta enviada con {} gastos filtrados por categoría para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/amount-range")
-    public ResponseEntity<List<ExpenseResponse>> getExpensesByAmountRange(
+    public ResponseEntity<PageResponse<ExpenseResponse>> getExpensesByAmountRange(
             @RequestHeader("Authorization") String authHeader,
             @RequestParam BigDecimal minAmount,
-            @RequestParam BigDecimal maxAmount) {
+            @RequestParam BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
 
         // Extract userId from JWT token
         Long userId = extractUserId(authHeader);
@@ -185,9 +248,192 @@ public class ExpenseController {
         logger.info("Solicitud recibida para filtrar gastos por monto - Usuario: {}, Rango: {} a {}",
                 userId, minAmount, maxAmount);
 
-        List<ExpenseResponse> responses = expenseServicePort.getExpensesByUserIdAndAmountRange(userId, minAmount, maxAmount);
+        PageResponse<ExpenseResponse> page = expenseServicePort.getExpensesByUserIdAndAmountRange(userId, minAmount, maxAmount, cursor, limit);
+
+        logger.info("Respuesta enviada con {} gastos filtrados por monto para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Búsqueda con cualquier combinación de rango de fechas, categorías, rango de montos y texto
+     * en la descripción, resuelta en una sola consulta paginada por cursor.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<ExpenseResponse>> searchExpenses(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(required = false) Set<Long> categoryId,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+
+        // Extract userId from JWT token
+        Long userId = extractUserId(authHeader);
+
+        ExpenseSearchCriteria criteria = ExpenseSearchCriteria.builder()
+                .userId(userId)
+                .startDate(startDate != null ? startDate.atStartOfDay() : null)
+                .endDate(endDate != null ? endDate.atTime(23, 59, 59) : null)
+                .categoryIds(categoryId)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .text(q)
+                .build();
+
+        logger.info("Solicitud recibida para buscar gastos - Usuario: {}, Filtros: {}", userId, criteria);
+
+        PageResponse<ExpenseResponse> page = expenseServicePort.searchExpenses(criteria, cursor, limit);
+
+        logger.info("Respuesta enviada con {} gastos encontrados para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Totales de gastos agrupados por categoría, mes o día, calculados en la base de datos.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<ExpenseSummaryResponse> getExpenseSummary(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to,
+            @RequestParam(defaultValue = "category") String groupBy) {
+
+        // Extract userId from JWT token
+        Long userId = extractUserId(authHeader);
+
+        logger.info("Solicitud recibida para resumen de gastos - Usuario: {}, Rango: {} a {}, Agrupación: {}",
+                userId, from, to, groupBy);
+
+        ExpenseSummaryResponse summary = expenseServicePort.getExpenseSummary(
+                userId, from.atStartOfDay(), to.atTime(23, 59, 59), groupBy);
+
+        logger.info("Respuesta enviada con {} grupos de resumen para usuario: {}", summary.getGroups().size(), userId);
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Totales por mes y categoría de los meses que tocan el rango, leídos del acumulado
+     * monthly_balances: el costo depende del número de meses, no del número de gastos.
+     */
+    @GetMapping("/monthly-totals")
+    public ResponseEntity<MonthlyTotalsResponse> getMonthlyTotals(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+
+        // Extract userId from JWT token
+        Long userId = extractUserId(authHeader);
+
+        logger.info("Solicitud recibida para totales mensuales de gastos - Usuario: {}, Rango: {} a {}", userId, from, to);
+
+        MonthlyTotalsResponse totals = expenseServicePort.getMonthlyTotals(userId, from, to);
+
+        logger.info("Respuesta enviada con {} totales mensuales para usuario: {}", totals.getMonths().size(), userId);
+        return ResponseEntity.ok(totals);
+    }
+
+    /**
+     * Exporta todos los gastos del usuario como NDJSON o CSV. Las filas se leen de la base
+     * de datos y se escriben en la respuesta una a una, sin construir la lista en memoria.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        // Extract userId from JWT token
+        Long userId = extractUserId(authHeader);
+        ExpenseExportWriter.Format exportFormat = ExpenseExportWriter.Format.from(format);
+
+        logger.info("Solicitud recibida para exportar gastos - Usuario: {}, Formato: {}", userId, exportFormat);
+
+        StreamingResponseBody body = outputStream -> {
+            ExpenseExportWriter writer = new ExpenseExportWriter(outputStream, exportFormat, objectMapper);
+            writer.writeHeader();
+            expenseServicePort.exportExpensesByUserId(userId, writer::write);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"expenses." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Importa un extracto bancario en CSV enviado como cuerpo de la solicitud (no multipart).
+     * El archivo se procesa mientras se recibe; el avance puede consultarse en GET /import.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "text/plain", "application/octet-stream"})
+    public ResponseEntity<ExpenseImportJobResponse> importExpenses(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = ",") char delimiter,
+            InputStream body) {
+
+        // Extract userId from JWT token
+        Long userId = extractUserId(authHeader);
+
+        logger.info("Solicitud recibida para importar gastos desde CSV - Usuario: {}", userId);
+
+        ExpenseImportJobResponse job = expenseImportServicePort.importExpenses(
+                userId, new ExpenseCsvReader(body, delimiter, categoryId, userId, importMaxRecordLength));
+
+        logger.info("Importación {} respondida - Importados: {}, Rechazados: {}",
+                job.getJobId(), job.getImported(), job.getRejected());
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/import")
+    public ResponseEntity<List<ExpenseImportJobResponse>> getImportJobs(
+            @RequestHeader("Authorization") String authHeader) {
+
+        // Extract userId from JWT token
+        Long userId = extractUserId(authHeader);
+
+        logger.info("Solicitud recibida para listar importaciones del usuario: {}", userId);
+
+        return ResponseEntity.ok(expenseImportServicePort.getImportJobs(userId));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ExpenseImportJobResponse> getImportJob(
+            @RequestHeader("Authorization") String authHeader,
+            @PathVariable String jobId) {
+
+        // Extract userId from JWT token
+        Long userId = extractUserId(authHeader);
+
+        logger.info("Solicitud recibida para consultar importación {} del usuario: {}", jobId, userId);
+
+        return ResponseEntity.ok(expenseImportServicePort.getImportJob(userId, jobId));
+    }
+
+    /**
+     * Gastos de un usuario que ExpenseArchiver ya movió a expenses_archive (eliminados hace más
+     * de expenses.archive.retention). Solo para administradores.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<PageResponse<ExpenseResponse>> getArchivedExpenses(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+
+        Long adminId = extractUserId(authHeader);
+        if (!isAdmin(authHeader)) {
+            logger.warn("Usuario {} sin rol {} intentó consultar gastos archivados del usuario {}", adminId, ADMIN_ROLE, userId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        logger.info("Solicitud recibida para consultar gastos archivados - Usuario: {}, Administrador: {}", userId, adminId);
+
+        PageResponse<ExpenseResponse> page = expenseServicePort.getArchivedExpenses(userId, cursor, limit);
 
-        logger.info("Respuesta enviada con {} gastos filtrados por monto para usuario: {}", responses.size(), userId);
-        return ResponseEntity.ok(responses);
+        logger.info("Respuesta enviada con {} gastos archivados para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
     }
-}
\ No newline at end of file
+}
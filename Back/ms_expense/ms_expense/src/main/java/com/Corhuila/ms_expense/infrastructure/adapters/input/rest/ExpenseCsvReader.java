@@ -0,0 +1,244 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.input.rest;
+
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseImportRow;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lee un extracto bancario en CSV registro por registro directamente del InputStream de la
+ * solicitud; nunca se carga el archivo completo en memoria.
+ * <p>
+ * La primera fila es el encabezado. Columnas reconocidas (sin importar mayúsculas):
+ * date/fecha, amount/monto/valor, categoryId/categoria y description/descripcion.
+ * Si el archivo no trae categoría se usa la categoría por defecto de la solicitud.
+ * Los gastos son los montos negativos (débitos) y se registran en valor absoluto; las filas con
+ * monto positivo (créditos: abonos, devoluciones) se rechazan porque no son gastos.
+ * <p>
+ * El encabezado se lee en el primer hasNext(), no al construir el lector: un archivo vacío o
+ * un encabezado inválido hace fallar la importación ya registrada y no la solicitud.
+ * Ningún registro puede superar maxRecordLength caracteres: una comilla sin cerrar o un cuerpo
+ * sin saltos de línea hacen fallar la importación en lugar de acumular el resto del archivo.
+ */
+public class ExpenseCsvReader implements Iterator<ExpenseImportRow> {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private final Long defaultCategoryId;
+    private final Long userId;
+    private final int maxRecordLength;
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    private long lineNumber = 1;
+    private long recordLine;
+    private List<String> nextRecord;
+    private boolean headerRead;
+    private boolean eof;
+
+    public ExpenseCsvReader(InputStream inputStream, char delimiter, Long defaultCategoryId, Long userId,
+                            int maxRecordLength) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.delimiter = delimiter;
+        this.defaultCategoryId = defaultCategoryId;
+        this.userId = userId;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!headerRead) {
+            headerRead = true;
+            readHeader();
+        }
+        if (nextRecord == null && !eof) {
+            nextRecord = readRecord();
+        }
+        return nextRecord != null;
+    }
+
+    @Override
+    public ExpenseImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<String> record = nextRecord;
+        nextRecord = null;
+        try {
+            return ExpenseImportRow.parsed(recordLine, toRequest(record));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ExpenseImportRow.invalid(recordLine, e.getMessage());
+        }
+    }
+
+    private void readHeader() {
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("El archivo está vacío");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            switch (name) {
+                case "date", "fecha" -> columns.put("date", i);
+                case "amount", "monto", "valor" -> columns.put("amount", i);
+                case "categoryid", "category_id", "categoria" -> columns.put("categoryId", i);
+                case "description", "descripcion" -> columns.put("description", i);
+                default -> { }
+            }
+        }
+        if (!columns.containsKey("date") || !columns.containsKey("amount")) {
+            throw new IllegalArgumentException("El encabezado debe incluir las columnas date y amount");
+        }
+        if (!columns.containsKey("categoryId") && defaultCategoryId == null) {
+            throw new IllegalArgumentException("El archivo no trae categoryId; envíe el parámetro categoryId");
+        }
+    }
+
+    private ExpenseRequest toRequest(List<String> record) {
+        String date = column(record, "date");
+        String amount = column(record, "amount");
+        if (date == null || amount == null) {
+            throw new IllegalArgumentException("Faltan la fecha o el monto");
+        }
+
+        String category = column(record, "categoryId");
+        Long categoryId;
+        try {
+            categoryId = category != null ? Long.valueOf(category) : defaultCategoryId;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Categoría inválida: " + category);
+        }
+
+        BigDecimal parsedAmount;
+        try {
+            parsedAmount = new BigDecimal(amount.replace("$", "").replace(" ", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Monto inválido: " + amount);
+        }
+        if (parsedAmount.signum() > 0) {
+            throw new IllegalArgumentException("El monto " + amount + " es un crédito, no es un gasto");
+        }
+
+        return ExpenseRequest.builder()
+                .amount(parsedAmount.negate())
+                .expenseCategoryId(categoryId)
+                .expenseDate(parseDate(date))
+                .description(column(record, "description"))
+                .userId(userId)
+                .build();
+    }
+
+    private String column(List<String> record, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private LocalDate parseDate(String value) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // se intenta el siguiente formato
+            }
+        }
+        throw new IllegalArgumentException("Fecha inválida: " + value);
+    }
+
+    /**
+     * Lee el siguiente registro (RFC 4180: campos entre comillas pueden contener el
+     * delimitador, comillas dobles escapadas y saltos de línea). Omite las líneas vacías.
+     * La longitud del registro cuenta el contenido de los campos y los delimitadores.
+     */
+    private List<String> readRecord() {
+        try {
+            while (true) {
+                int c = reader.read();
+                if (c == -1) {
+                    eof = true;
+                    return null;
+                }
+                if (c == '\n') {
+                    lineNumber++;
+                    continue;
+                }
+                if (c == '\r') {
+                    continue;
+                }
+
+                recordLine = lineNumber;
+                List<String> fields = new ArrayList<>();
+                StringBuilder field = new StringBuilder();
+                // Caracteres de los campos ya cerrados más sus delimitadores
+                int length = 0;
+                boolean quoted = false;
+                while (true) {
+                    if (quoted) {
+                        if (c == '"') {
+                            reader.mark(1);
+                            int following = reader.read();
+                            if (following == '"') {
+                                field.append('"');
+                            } else {
+                                quoted = false;
+                                reader.reset();
+                            }
+                        } else if (c == -1) {
+                            throw new IllegalArgumentException("Comillas sin cerrar en la línea " + recordLine);
+                        } else {
+                            if (c == '\n') {
+                                lineNumber++;
+                            }
+                            field.append((char) c);
+                        }
+                    } else if (c == '"' && field.isEmpty()) {
+                        quoted = true;
+                    } else if (c == delimiter) {
+                        length += field.length() + 1;
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else if (c == '\n' || c == -1) {
+                        if (c == '\n') {
+                            lineNumber++;
+                        } else {
+                            eof = true;
+                        }
+                        fields.add(field.toString());
+                        return fields;
+                    } else if (c != '\r') {
+                        field.append((char) c);
+                    }
+                    if (length + field.length() > maxRecordLength) {
+                        throw new IllegalArgumentException("El registro de la línea " + recordLine
+                                + " supera el máximo de " + maxRecordLength + " caracteres");
+                    }
+                    c = reader.read();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
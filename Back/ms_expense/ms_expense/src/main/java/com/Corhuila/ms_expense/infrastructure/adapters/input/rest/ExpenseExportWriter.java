@@ -0,0 +1,107 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.input.rest;
+
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializa gastos fila por fila sobre el OutputStream de la respuesta,
+ * haciendo flush después de cada fila para no acumular el documento en memoria.
+ */
+public class ExpenseExportWriter {
+
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Formato de exportación no soportado: " + value);
+        }
+    }
+
+    private static final String CSV_HEADER = "expenseId,expenseDate,amount,expenseCategoryId,categoryName,description";
+
+    private final Writer writer;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+
+    public ExpenseExportWriter(OutputStream outputStream, Format format, ObjectMapper objectMapper) {
+        this.writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    public void writeHeader() throws IOException {
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    /**
+     * Escribe una fila. Lanza UncheckedIOException para poder usarse como Consumer
+     * (por ejemplo, cuando el cliente cierra la conexión a mitad de la exportación).
+     */
+    public void write(ExpenseResponse expense) {
+        try {
+            if (format == Format.CSV) {
+                writer.write(toCsv(expense));
+            } else {
+                writer.write(objectMapper.writeValueAsString(expense));
+            }
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsv(ExpenseResponse expense) {
+        return String.join(",",
+                String.valueOf(expense.getExpenseId()),
+                String.valueOf(expense.getExpenseDate().toLocalDate()),
+                expense.getAmount().toPlainString(),
+                String.valueOf(expense.getExpenseCategoryId()),
+                escapeCsv(expense.getCategory() != null ? expense.getCategory().getName() : null),
+                escapeCsv(expense.getDescription()));
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,100 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.input.scheduling;
+
+import com.Corhuila.ms_expense.domain.ports.ExpenseServicePort;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saca de expenses los gastos eliminados lógicamente hace más de expenses.archive.retention y
+ * los mueve a expenses_archive, para que la tabla caliente (y sus índices) solo crezca con los
+ * gastos activos. Trabaja en lotes de expenses.archive.batch-size filas; cada lote pide ese
+ * número de permisos al rate limiter expenseArchive (filas por segundo), así una ejecución con
+ * mucho atraso no satura la base. Si no obtiene permisos, la ejecución termina y sigue en la
+ * próxima.
+ * <p>
+ * Métricas: expenses.archive.rows (filas movidas) y expenses.archive.lag (segundos entre el
+ * corte de retención y el gasto eliminado más antiguo aún pendiente; 0 si no hay pendientes).
+ */
+@Component
+public class ExpenseArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseArchiver.class);
+
+    private final ExpenseServicePort expenseServicePort;
+    private final RateLimiter rateLimiter;
+    private final Counter archivedRows;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+
+    public ExpenseArchiver(ExpenseServicePort expenseServicePort,
+                           RateLimiterRegistry rateLimiterRegistry,
+                           MeterRegistry meterRegistry,
+                           @Value("${expenses.archive.enabled:true}") boolean enabled,
+                           @Value("${expenses.archive.retention:90d}") Duration retention,
+                           @Value("${expenses.archive.batch-size:500}") int batchSize) {
+        this.expenseServicePort = expenseServicePort;
+        this.rateLimiter = rateLimiterRegistry.rateLimiter("expenseArchive");
+        this.archivedRows = Counter.builder("expenses.archive.rows")
+                .description("Gastos eliminados movidos a expenses_archive")
+                .register(meterRegistry);
+        Gauge.builder("expenses.archive.lag", lagSeconds, AtomicLong::get)
+                .description("Antigüedad del gasto eliminado más antiguo pendiente de archivar, respecto al corte de retención")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${expenses.archive.interval:10m}", initialDelayString = "${expenses.archive.initial-delay:1m}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long total = 0;
+        try {
+            int moved;
+            do {
+                if (!rateLimiter.acquirePermission(batchSize)) {
+                    logger.warn("Límite de archivado alcanzado tras mover {} gastos; se continúa en la próxima ejecución", total);
+                    break;
+                }
+                moved = expenseServicePort.archiveDeletedExpenses(cutoff, batchSize);
+                archivedRows.increment(moved);
+                total += moved;
+            } while (moved == batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Error al archivar gastos eliminados (movidos en esta ejecución: {}): {}", total, e.getMessage(), e);
+        } finally {
+            updateLag(cutoff);
+        }
+        if (total > 0) {
+            logger.info("Archivado completado: {} gastos movidos a expenses_archive", total);
+        }
+    }
+
+    private void updateLag(LocalDateTime cutoff) {
+        try {
+            lagSeconds.set(expenseServicePort.getOldestDeletedExpensePendingArchive(cutoff)
+                    .map(oldest -> Duration.between(oldest, cutoff).toSeconds())
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo calcular el atraso del archivado: {}", e.getMessage());
+        }
+    }
+}
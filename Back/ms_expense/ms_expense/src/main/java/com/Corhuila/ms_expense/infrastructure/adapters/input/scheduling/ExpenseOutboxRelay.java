@@ -0,0 +1,98 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.input.scheduling;
+
+import com.Corhuila.ms_expense.domain.ports.ExpenseOutboxServicePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica los eventos de expense_outbox a los suscriptores registrados. Corre en el hilo del
+ * scheduler, fuera de las solicitudes: las escrituras de gastos solo insertan el evento en su
+ * transacción y no esperan a la publicación. Cada ejecución publica lotes de
+ * expenses.outbox.batch-size eventos hasta vaciar la tabla; si un suscriptor falla, el lote
+ * queda pendiente y se reintenta en la próxima ejecución (expenses.outbox.poll-interval).
+ * <p>
+ * Métricas: expenses.outbox.published (eventos publicados), expenses.outbox.failures (lotes
+ * rechazados), expenses.outbox.pending (eventos por publicar) y expenses.outbox.lag (segundos
+ * desde que se escribió el evento pendiente más antiguo; 0 si no hay pendientes).
+ */
+@Component
+public class ExpenseOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseOutboxRelay.class);
+
+    private final ExpenseOutboxServicePort expenseOutboxServicePort;
+    private final Counter publishedEvents;
+    private final Counter failures;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final boolean enabled;
+    private final int batchSize;
+
+    public ExpenseOutboxRelay(ExpenseOutboxServicePort expenseOutboxServicePort,
+                              MeterRegistry meterRegistry,
+                              @Value("${expenses.outbox.enabled:true}") boolean enabled,
+                              @Value("${expenses.outbox.batch-size:200}") int batchSize) {
+        this.expenseOutboxServicePort = expenseOutboxServicePort;
+        this.publishedEvents = Counter.builder("expenses.outbox.published")
+                .description("Eventos de expense_outbox entregados a todos los suscriptores")
+                .register(meterRegistry);
+        this.failures = Counter.builder("expenses.outbox.failures")
+                .description("Lotes de expense_outbox que quedaron pendientes por un error al publicar")
+                .register(meterRegistry);
+        Gauge.builder("expenses.outbox.pending", pending, AtomicLong::get)
+                .description("Eventos de expense_outbox pendientes de publicar")
+                .register(meterRegistry);
+        Gauge.builder("expenses.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Antigüedad del evento más antiguo pendiente de publicar en expense_outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${expenses.outbox.poll-interval:1s}", initialDelayString = "${expenses.outbox.initial-delay:10s}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        long total = 0;
+        try {
+            int published;
+            do {
+                published = expenseOutboxServicePort.relayOutboxEvents(batchSize);
+                publishedEvents.increment(published);
+                total += published;
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.warn("Publicación de eventos de gastos interrumpida tras {} eventos; se reintenta en la próxima ejecución: {}",
+                    total, e.getMessage());
+        } finally {
+            updateLag();
+        }
+        if (total > 0) {
+            logger.debug("Se publicaron {} eventos de gastos", total);
+        }
+    }
+
+    private void updateLag() {
+        try {
+            pending.set(expenseOutboxServicePort.countPendingOutboxEvents());
+            lagSeconds.set(expenseOutboxServicePort.getOldestPendingOutboxEvent()
+                    .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()))
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo calcular el atraso de expense_outbox: {}", e.getMessage());
+        }
+    }
+}
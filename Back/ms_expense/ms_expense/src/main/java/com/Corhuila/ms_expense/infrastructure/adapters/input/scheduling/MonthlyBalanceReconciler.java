@@ -0,0 +1,41 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.input.scheduling;
+
+import com.Corhuila.ms_expense.domain.ports.ExpenseServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Concilia periódicamente monthly_balances con los gastos activos y corrige las diferencias
+ * (por ejemplo, filas modificadas directamente en la base). La primera ejecución, poco después
+ * del arranque, también llena el acumulado de los gastos que existían antes de la tabla.
+ */
+@Component
+public class MonthlyBalanceReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyBalanceReconciler.class);
+
+    private final ExpenseServicePort expenseServicePort;
+    private final boolean enabled;
+
+    public MonthlyBalanceReconciler(ExpenseServicePort expenseServicePort,
+                                    @Value("${expenses.balances.reconcile.enabled:true}") boolean enabled) {
+        this.expenseServicePort = expenseServicePort;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${expenses.balances.reconcile.interval:24h}",
+               initialDelayString = "${expenses.balances.reconcile.initial-delay:2m}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            expenseServicePort.reconcileMonthlyBalances();
+        } catch (RuntimeException e) {
+            logger.error("Error al conciliar los acumulados mensuales de gastos: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.output.events;
+
+import com.Corhuila.ms_expense.domain.model.ExpenseOutboxEvent;
+import com.Corhuila.ms_expense.domain.ports.ExpenseEventSubscriberPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+/**
+ * Suscriptores HTTP de expense_outbox: cada lote se envía como un arreglo JSON por POST a cada
+ * URL de expenses.outbox.http.urls, en ese orden. Cualquier respuesta que no sea 2xx (o un
+ * timeout del cliente HTTP) hace que el relay reintente el lote. Sin URLs no envía nada.
+ * Si expenses.outbox.http.token tiene valor, cada POST lo lleva en el encabezado X-Service-Token
+ * (la credencial que exige POST /api/v1/reports/events de ms_report).
+ */
+@Component
+public class HttpExpenseEventSubscriber implements ExpenseEventSubscriberPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpExpenseEventSubscriber.class);
+
+    private final RestTemplate restTemplate;
+    private final List<String> urls;
+    private final HttpHeaders headers = new HttpHeaders();
+
+    public HttpExpenseEventSubscriber(RestTemplate restTemplate,
+                                      @Value("${expenses.outbox.http.urls:}") List<String> urls,
+                                      @Value("${expenses.outbox.http.token:}") String token) {
+        this.restTemplate = restTemplate;
+        this.urls = urls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (!token.isBlank()) {
+            headers.set("X-Service-Token", token);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "http" + urls;
+    }
+
+    @Override
+    public void publish(List<ExpenseOutboxEvent> events) {
+        for (String url : urls) {
+            restTemplate.postForEntity(url, new HttpEntity<>(events, headers), Void.class);
+            logger.debug("{} eventos de gastos enviados a {}", events.size(), url);
+        }
+    }
+}
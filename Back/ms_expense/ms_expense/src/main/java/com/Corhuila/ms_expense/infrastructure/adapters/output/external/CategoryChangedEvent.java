@@ -0,0 +1,17 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.output.external;
+
+/**
+ * Cambio de una categoría notificado por ms_categories (payload de NOTIFY). La versión es el
+ * updatedAt de la categoría en milisegundos. Un categoryId null significa que hay que descartar
+ * todas las categorías, porque pudieron perderse notificaciones (reconexión del listener).
+ */
+public record CategoryChangedEvent(Long categoryId, long version) {
+
+    public static CategoryChangedEvent all() {
+        return new CategoryChangedEvent(null, 0);
+    }
+
+    public boolean affectsAll() {
+        return categoryId == null;
+    }
+}
@@ -1,42 +1,124 @@
 package com.Corhuila.ms_expense.infrastructure.adapters.output.external;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Component
 public class CategoryClient {
 
     private static final Logger logger = LoggerFactory.getLogger(CategoryClient.class);
     private final RestTemplate restTemplate;
+    // Las URLs se arman como plantillas ({categoryId}) para que la métrica http.client.requests
+    // se etiquete por ruta y no por cada ID consultado
     private final String categoriesServiceUrl;
 
+    /**
+     * Read-through cache de categorías. Un Optional vacío representa una categoría
+     * inexistente (404) y se guarda con un TTL más corto (negative caching).
+     * Los errores de comunicación nunca se cachean.
+     */
+    private final Cache<Long, Optional<CategoryResponse>> categoryCache;
+
+    /**
+     * Último dato conocido de cada categoría. Si la consulta falla o el circuito está abierto se
+     * sirve desde aquí marcado como stale; como el fallo no se cachea en categoryCache, las
+     * siguientes solicitudes siguen revalidando contra ms_categories (el circuit breaker deja
+     * pasar las llamadas de prueba en half-open).
+     */
+    private final Cache<Long, CategoryResponse> lastKnownCategories;
+
+    private final CircuitBreaker circuitBreaker;
+
     public CategoryClient(
             RestTemplate restTemplate,
-            @Value("${categories.service.url}") String categoriesServiceUrl) {
+            @Value("${categories.service.url}") String categoriesServiceUrl,
+            @Value("${categories.cache.ttl:10m}") Duration cacheTtl,
+            @Value("${categories.cache.negative-ttl:1m}") Duration negativeCacheTtl,
+            @Value("${categories.cache.max-size:1000}") long cacheMaxSize,
+            @Value("${categories.cache.stale-ttl:24h}") Duration staleTtl,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
         this.categoriesServiceUrl = categoriesServiceUrl;
+        this.categoryCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new CategoryExpiry(cacheTtl, negativeCacheTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, categoryCache, "categories");
+        this.lastKnownCategories = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(staleTtl)
+                .build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("categories");
     }
 
     public CategoryResponse getCategoryById(Long categoryId) {
-        try {
-            logger.info("Consultando categoría con ID: {} en {}", categoryId, categoriesServiceUrl);
-            String url = categoriesServiceUrl + "/api/v1/categories/" + categoryId;
-            CategoryResponse response = restTemplate.getForObject(url, CategoryResponse.class);
-            logger.info("Categoría obtenida: {}", response != null ? response.getName() : "null");
-            return response;
-        } catch (HttpClientErrorException.NotFound e) {
-            logger.warn("Categoría con ID {} no encontrada", categoryId);
-            return null;
-        } catch (Exception e) {
-            logger.error("Error al consultar categoría con ID {}: {}", categoryId, e.getMessage());
-            // En caso de error de comunicación, retornar null y permitir que continúe
-            // (modo degradado - tolerancia a fallos)
-            return null;
+        Optional<CategoryResponse> category = categoryCache.get(categoryId, this::fetchCategory);
+        return category != null ? category.orElse(null) : getStaleCategory(categoryId);
+    }
+
+    /**
+     * Resolve several categories, hitting ms_categories once for all the ids that are not cached.
+     * Categories that do not exist (or are inactive) are simply absent from the returned map.
+     */
+    public Map<Long, CategoryResponse> getCategoriesByIds(Collection<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, CategoryResponse> categories = new HashMap<>();
+        Map<Long, Optional<CategoryResponse>> cached = categoryCache.getAll(categoryIds, this::fetchCategories);
+        for (Long categoryId : categoryIds) {
+            Optional<CategoryResponse> category = cached.get(categoryId);
+            // Ausente del resultado = la consulta falló; se usa el último dato conocido
+            CategoryResponse resolved = category != null ? category.orElse(null) : getStaleCategory(categoryId);
+            if (resolved != null) {
+                categories.put(categoryId, resolved);
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Snapshot de los IDs de categorías EXPENSE activas, para validar muchos gastos con una sola
+     * consulta. A diferencia de getCategoryById, un error de comunicación se propaga.
+     */
+    public Set<Long> getActiveExpenseCategoryIds() {
+        logger.info("Consultando categorías activas de tipo EXPENSE en {}", categoriesServiceUrl);
+        String url = categoriesServiceUrl + "/api/v1/categories/type/{type}";
+        CategoryResponse[] response = circuitBreaker.executeSupplier(
+                () -> restTemplate.getForObject(url, CategoryResponse[].class, CategoryResponse.CategoryType.EXPENSE));
+        if (response == null) {
+            return Set.of();
         }
+        Set<Long> categoryIds = Arrays.stream(response)
+                .filter(category -> Boolean.TRUE.equals(category.getActive()))
+                .map(CategoryResponse::getCategoryId)
+                .collect(Collectors.toSet());
+        logger.info("Se obtuvieron {} categorías activas de tipo EXPENSE", categoryIds.size());
+        return categoryIds;
     }
 
     public boolean validateExpenseCategoryExists(Long categoryId) {
@@ -60,4 +142,125 @@ public class CategoryClient {
         logger.info("Categoría con ID {} validada correctamente", categoryId);
         return true;
     }
+
+    /**
+     * Descarta la categoría modificada, también del último dato conocido para no servir como
+     * stale una categoría que ya fue desactivada. La siguiente lectura la vuelve a consultar.
+     */
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.affectsAll()) {
+            // El último dato conocido se conserva: solo se sirve (marcado stale) si ms_categories falla
+            logger.info("Descartando todas las categorías cacheadas");
+            categoryCache.invalidateAll();
+            return;
+        }
+        logger.info("Categoría {} modificada (versión {}), se descarta de la caché", event.categoryId(), event.version());
+        categoryCache.invalidate(event.categoryId());
+        lastKnownCategories.invalidate(event.categoryId());
+    }
+
+    /**
+     * Loader de la caché. Retorna null ante errores de comunicación para que no se cachee el fallo.
+     */
+    private Optional<CategoryResponse> fetchCategory(Long categoryId) {
+        try {
+            logger.info("Consultando categoría con ID: {} en {}", categoryId, categoriesServiceUrl);
+            String url = categoriesServiceUrl + "/api/v1/categories/{categoryId}";
+            CategoryResponse response = circuitBreaker.executeSupplier(
+                    () -> restTemplate.getForObject(url, CategoryResponse.class, categoryId));
+            logger.info("Categoría obtenida: {}", response != null ? response.getName() : "null");
+            rememberCategory(categoryId, response);
+            return Optional.ofNullable(response);
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.warn("Categoría con ID {} no encontrada", categoryId);
+            lastKnownCategories.invalidate(categoryId);
+            return Optional.empty();
+        } catch (CallNotPermittedException e) {
+            logger.warn("Circuito hacia ms_categories abierto, no se consulta la categoría {}", categoryId);
+            return null;
+        } catch (Exception e) {
+            logger.error("Error al consultar categoría con ID {}: {}", categoryId, e.getMessage());
+            // En caso de error de comunicación, retornar null y permitir que continúe
+            // (modo degradado - tolerancia a fallos)
+            return null;
+        }
+    }
+
+    /**
+     * Loader masivo de la caché. Los IDs que ms_categories no retorna se cachean como inexistentes;
+     * ante un error de comunicación no se cachea nada.
+     */
+    private Map<Long, Optional<CategoryResponse>> fetchCategories(Set<? extends Long> categoryIds) {
+        try {
+            logger.info("Consultando {} categorías en {}", categoryIds.size(), categoriesServiceUrl);
+            String ids = categoryIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+            String url = categoriesServiceUrl + "/api/v1/categories?ids={ids}";
+            CategoryResponse[] response = circuitBreaker.executeSupplier(
+                    () -> restTemplate.getForObject(url, CategoryResponse[].class, ids));
+            if (response == null) {
+                return Map.of();
+            }
+            logger.info("Se obtuvieron {} de {} categorías solicitadas", response.length, categoryIds.size());
+
+            Map<Long, Optional<CategoryResponse>> result = new HashMap<>();
+            categoryIds.forEach(id -> result.put(id, Optional.empty()));
+            Arrays.stream(response).forEach(c -> result.put(c.getCategoryId(), Optional.of(c)));
+            result.forEach((id, category) -> rememberCategory(id, category.orElse(null)));
+            return result;
+        } catch (CallNotPermittedException e) {
+            logger.warn("Circuito hacia ms_categories abierto, no se consultan las categorías {}", categoryIds);
+            return Map.of();
+        } catch (Exception e) {
+            logger.error("Error al consultar categorías {}: {}", categoryIds, e.getMessage());
+            // Mismo modo degradado que getCategoryById: los gastos se retornan sin categoría
+            return Map.of();
+        }
+    }
+
+    /**
+     * Último dato conocido de la categoría marcado como stale, o null si nunca se obtuvo
+     */
+    private CategoryResponse getStaleCategory(Long categoryId) {
+        CategoryResponse lastKnown = lastKnownCategories.getIfPresent(categoryId);
+        if (lastKnown == null) {
+            return null;
+        }
+        logger.debug("Sirviendo el último dato conocido de la categoría {}", categoryId);
+        return lastKnown.toBuilder().stale(true).build();
+    }
+
+    private void rememberCategory(Long categoryId, CategoryResponse category) {
+        if (category != null) {
+            lastKnownCategories.put(categoryId, category);
+        } else {
+            lastKnownCategories.invalidate(categoryId);
+        }
+    }
+
+    private static class CategoryExpiry implements Expiry<Long, Optional<CategoryResponse>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        CategoryExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<CategoryResponse> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<CategoryResponse> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<CategoryResponse> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
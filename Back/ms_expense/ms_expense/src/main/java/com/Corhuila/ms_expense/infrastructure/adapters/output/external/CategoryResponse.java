@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class CategoryResponse {
@@ -20,6 +20,11 @@ public class CategoryResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * true cuando ms_categories no respondió y se sirve el último dato conocido
+     */
+    private boolean stale;
+
     public enum CategoryType {
         INCOME,
         EXPENSE
@@ -0,0 +1,51 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.output.memory;
+
+import com.Corhuila.ms_expense.domain.model.ExpenseImportJob;
+import com.Corhuila.ms_expense.domain.ports.ExpenseImportJobRepositoryPort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Registro en memoria de las importaciones. Los trabajos se descartan tras el tiempo de
+ * retención sin consultas; no sobreviven a un reinicio del servicio.
+ */
+@Component
+public class ExpenseImportJobRepositoryAdapter implements ExpenseImportJobRepositoryPort {
+
+    private final Cache<String, ExpenseImportJob> jobs;
+
+    public ExpenseImportJobRepositoryAdapter(
+            @Value("${expenses.import.job-retention:1h}") Duration retention,
+            @Value("${expenses.import.max-jobs:1000}") long maxJobs) {
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterAccess(retention)
+                .maximumSize(maxJobs)
+                .build();
+    }
+
+    @Override
+    public ExpenseImportJob save(ExpenseImportJob job) {
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    @Override
+    public Optional<ExpenseImportJob> findById(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    @Override
+    public List<ExpenseImportJob> findByUserId(Long userId) {
+        return jobs.asMap().values().stream()
+                .filter(job -> job.getUserId().equals(userId))
+                .sorted(Comparator.comparing(ExpenseImportJob::getStartedAt).reversed())
+                .toList();
+    }
+}
@@ -0,0 +1,27 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.output.persistence;
+
+import com.Corhuila.ms_expense.domain.model.ExpenseArchive;
+import com.Corhuila.ms_expense.domain.model.ExpenseView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExpenseArchiveRepository extends JpaRepository<ExpenseArchive, Long> {
+
+    @Query("SELECT new com.Corhuila.ms_expense.domain.model.ExpenseView(a.expenseId, a.amount, a.expenseCategoryId,"
+            + " a.expenseDate, a.description, a.userId, a.active, a.createdAt, a.updatedAt)"
+            + " FROM ExpenseArchive a WHERE a.userId = :userId"
+            + " AND (a.expenseDate < :cursorDate OR (a.expenseDate = :cursorDate AND a.expenseId < :cursorId))"
+            + " ORDER BY a.expenseDate DESC, a.expenseId DESC")
+    List<ExpenseView> findPageByUserId(
+            @Param("userId") Long userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+}
@@ -1,8 +1,15 @@
 package com.Corhuila.ms_expense.infrastructure.adapters.output.persistence;
 
 import com.Corhuila.ms_expense.domain.model.Expense;
+import com.Corhuila.ms_expense.domain.model.ExpenseTotal;
+import com.Corhuila.ms_expense.domain.model.ExpenseView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -10,27 +17,138 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Las consultas de listado usan paginación por keyset sobre (expense_date DESC, expense_id DESC):
+ * cada página arranca estrictamente después del cursor recibido, de modo que el costo
+ * no depende de qué tan profundo pagine el cliente.
+ * Los listados seleccionan solo las columnas de ExpenseView (constructor expression) en lugar de
+ * hidratar entidades Expense administradas.
+ */
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
+    String AFTER_CURSOR = " AND (e.expenseDate < :cursorDate OR (e.expenseDate = :cursorDate AND e.expenseId < :cursorId))";
+    String KEYSET_ORDER = " ORDER BY e.expenseDate DESC, e.expenseId DESC";
+    String SELECT_VIEW = "SELECT new com.Corhuila.ms_expense.domain.model.ExpenseView(e.expenseId, e.amount,"
+            + " e.expenseCategoryId, e.expenseDate, e.description, e.userId, e.active, e.createdAt, e.updatedAt)";
+
     Optional<Expense> findByExpenseIdAndActiveTrue(Long expenseId);
 
-    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND e.active = true")
-    List<Expense> findByUserIdAndActiveTrue(@Param("userId") Long userId);
+    // Para cambios y bajas: SELECT ... FOR UPDATE, la fila queda bloqueada hasta el fin de la
+    // transacción y una escritura concurrente sobre el mismo gasto espera y relee su estado
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Expense e WHERE e.expenseId = :expenseId AND e.active = true")
+    Optional<Expense> findActiveByIdForUpdate(@Param("expenseId") Long expenseId);
 
-    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND e.expenseCategoryId = :categoryId AND e.active = true")
-    List<Expense> findByUserIdAndExpenseCategoryIdAndActiveTrue(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+    @Query(SELECT_VIEW + " FROM Expense e WHERE e.userId = :userId AND e.active = true" + AFTER_CURSOR + KEYSET_ORDER)
+    List<ExpenseView> findPageByUserIdAndActiveTrue(
+            @Param("userId") Long userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
 
-    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND e.expenseDate BETWEEN :startDate AND :endDate AND e.active = true")
-    List<Expense> findByUserIdAndExpenseDateBetweenAndActiveTrue(
+    @Query(SELECT_VIEW + " FROM Expense e WHERE e.userId = :userId AND e.expenseCategoryId = :categoryId AND e.active = true"
+            + AFTER_CURSOR + KEYSET_ORDER)
+    List<ExpenseView> findPageByUserIdAndExpenseCategoryIdAndActiveTrue(
+            @Param("userId") Long userId,
+            @Param("categoryId") Long categoryId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+
+    @Query(SELECT_VIEW + " FROM Expense e WHERE e.userId = :userId AND e.expenseDate BETWEEN :startDate AND :endDate AND e.active = true"
+            + AFTER_CURSOR + KEYSET_ORDER)
+    List<ExpenseView> findPageByUserIdAndExpenseDateBetweenAndActiveTrue(
             @Param("userId") Long userId,
             @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate);
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
 
-    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND e.amount BETWEEN :minAmount AND :maxAmount AND e.active = true")
-    List<Expense> findByUserIdAndAmountBetweenAndActiveTrue(
+    @Query(SELECT_VIEW + " FROM Expense e WHERE e.userId = :userId AND e.amount BETWEEN :minAmount AND :maxAmount AND e.active = true"
+            + AFTER_CURSOR + KEYSET_ORDER)
+    List<ExpenseView> findPageByUserIdAndAmountBetweenAndActiveTrue(
             @Param("userId") Long userId,
             @Param("minAmount") BigDecimal minAmount,
-            @Param("maxAmount") BigDecimal maxAmount);
-}
\ No newline at end of file
+            @Param("maxAmount") BigDecimal maxAmount,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+
+    /**
+     * Listado administrativo: los gastos inactivos se descartan en la base de datos y las filas
+     * se leen por cursor JDBC.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_VIEW + " FROM Expense e WHERE e.active = true" + AFTER_CURSOR + KEYSET_ORDER)
+    Stream<ExpenseView> streamActive(
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+
+    /**
+     * Gastos eliminados lógicamente antes de deletedBefore, en el orden en que los mueve el
+     * archivador (los más antiguos primero). En PostgreSQL usa idx_expenses_inactive_updated.
+     */
+    @Query("SELECT e.expenseId FROM Expense e WHERE e.active = false AND e.updatedAt < :deletedBefore ORDER BY e.updatedAt")
+    List<Long> findInactiveIds(@Param("deletedBefore") LocalDateTime deletedBefore, Limit limit);
+
+    @Query("SELECT MIN(e.updatedAt) FROM Expense e WHERE e.active = false AND e.updatedAt < :deletedBefore")
+    Optional<LocalDateTime> findOldestInactiveUpdatedAt(@Param("deletedBefore") LocalDateTime deletedBefore);
+
+    /**
+     * Recorre todos los gastos activos del usuario sin materializar la lista completa.
+     * Debe consumirse dentro de una transacción (el cursor JDBC vive mientras el Stream esté abierto).
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_VIEW + " FROM Expense e WHERE e.userId = :userId AND e.active = true" + KEYSET_ORDER)
+    Stream<ExpenseView> streamByUserIdAndActiveTrue(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT e.expenseCategoryId FROM Expense e WHERE e.userId = :userId AND e.active = true")
+    Set<Long> findCategoryIdsByUserIdAndActiveTrue(@Param("userId") Long userId);
+
+    /*
+     * Resumen agregado: la base de datos calcula SUM/COUNT por grupo y solo viajan las filas agregadas.
+     */
+
+    String SUMMARY_FILTER = " FROM Expense e WHERE e.userId = :userId AND e.expenseDate BETWEEN :startDate AND :endDate AND e.active = true";
+
+    @Query("SELECT new com.Corhuila.ms_expense.domain.model.ExpenseTotal(e.expenseCategoryId, SUM(e.amount), COUNT(e))"
+            + SUMMARY_FILTER
+            + " GROUP BY e.expenseCategoryId ORDER BY SUM(e.amount) DESC")
+    List<ExpenseTotal> sumByCategory(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT new com.Corhuila.ms_expense.domain.model.ExpenseTotal(YEAR(e.expenseDate), MONTH(e.expenseDate), SUM(e.amount), COUNT(e))"
+            + SUMMARY_FILTER
+            + " GROUP BY YEAR(e.expenseDate), MONTH(e.expenseDate)"
+            + " ORDER BY YEAR(e.expenseDate), MONTH(e.expenseDate)")
+    List<ExpenseTotal> sumByMonth(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT new com.Corhuila.ms_expense.domain.model.ExpenseTotal(YEAR(e.expenseDate), MONTH(e.expenseDate), DAY(e.expenseDate), SUM(e.amount), COUNT(e))"
+            + SUMMARY_FILTER
+            + " GROUP BY YEAR(e.expenseDate), MONTH(e.expenseDate), DAY(e.expenseDate)"
+            + " ORDER BY YEAR(e.expenseDate), MONTH(e.expenseDate), DAY(e.expenseDate)")
+    List<ExpenseTotal> sumByDay(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+}
@@ -1,23 +1,81 @@
 package com.Corhuila.ms_expense.infrastructure.adapters.output.persistence;
 
 import com.Corhuila.ms_expense.domain.model.Expense;
+import com.Corhuila.ms_expense.domain.model.ExpenseCursor;
+import com.Corhuila.ms_expense.domain.model.ExpenseSearchCriteria;
+import com.Corhuila.ms_expense.domain.model.ExpenseSummaryGroupBy;
+import com.Corhuila.ms_expense.domain.model.ExpenseTotal;
+import com.Corhuila.ms_expense.domain.model.ExpenseView;
 import com.Corhuila.ms_expense.domain.ports.ExpenseRepositoryPort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.postgresql.PGConnection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 public class ExpenseRepositoryAdapter implements ExpenseRepositoryPort {
 
+    private static final String COPY_EXPENSES = "COPY expenses (expense_id, amount, expense_category_id, expense_date,"
+            + " description, user_id, active, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String EXPENSE_COLUMNS = "expense_id, amount, expense_category_id, expense_date, description,"
+            + " user_id, active, created_at, updated_at";
+    // Un solo statement: borra el lote de la tabla caliente y lo inserta en el archivo con las
+    // filas que devuelve el DELETE. SKIP LOCKED evita esperar por filas tomadas por otra réplica
+    private static final String ARCHIVE_INACTIVE_POSTGRES = "WITH moved AS (DELETE FROM expenses"
+            + " WHERE (expense_id, expense_date) IN (SELECT expense_id, expense_date FROM expenses"
+            + " WHERE active = false AND updated_at < ? ORDER BY updated_at LIMIT ? FOR UPDATE SKIP LOCKED)"
+            + " RETURNING " + EXPENSE_COLUMNS + ")"
+            + " INSERT INTO expenses_archive (" + EXPENSE_COLUMNS + ", archived_at)"
+            + " SELECT " + EXPENSE_COLUMNS + ", ? FROM moved";
+
     private final ExpenseRepository expenseRepository;
+    private final ExpenseArchiveRepository expenseArchiveRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
 
     @Autowired
-    public ExpenseRepositoryAdapter(ExpenseRepository expenseRepository) {
+    public ExpenseRepositoryAdapter(ExpenseRepository expenseRepository,
+                                    ExpenseArchiveRepository expenseArchiveRepository,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    DataSource dataSource,
+                                    JdbcTemplate jdbcTemplate) {
         this.expenseRepository = expenseRepository;
+        this.expenseArchiveRepository = expenseArchiveRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -25,35 +83,207 @@ public class ExpenseRepositoryAdapter implements ExpenseRepositoryPort {
         return expenseRepository.save(expense);
     }
 
+    @Override
+    public List<Expense> saveAll(List<Expense> expenses) {
+        return expenseRepository.saveAll(expenses);
+    }
+
+    /**
+     * Inserción masiva sin pasar por el contexto de persistencia. En PostgreSQL usa COPY
+     * (una sola ida y vuelta por lote); en otras bases cae en saveAll con batching JDBC.
+     */
+    @Override
+    public void insertBatch(List<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        if (!isPostgres()) {
+            expenseRepository.saveAll(expenses);
+            return;
+        }
+        assignIds(expenses);
+
+        StringBuilder rows = new StringBuilder();
+        for (Expense expense : expenses) {
+            rows.append(expense.getExpenseId()).append(',')
+                    .append(expense.getAmount().toPlainString()).append(',')
+                    .append(expense.getExpenseCategoryId()).append(',')
+                    .append(expense.getExpenseDate()).append(',')
+                    .append(csv(expense.getDescription())).append(',')
+                    .append(expense.getUserId()).append(',')
+                    .append(expense.getActive()).append(',')
+                    .append(expense.getCreatedAt()).append(',')
+                    .append(expense.getUpdatedAt()).append('\n');
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_EXPENSES, new StringReader(rows.toString()));
+        } catch (SQLException | IOException e) {
+            throw new DataAccessResourceFailureException("Error al insertar gastos con COPY", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
     @Override
     public Optional<Expense> findByIdAndActiveTrue(Long id) {
         return expenseRepository.findByExpenseIdAndActiveTrue(id);
     }
 
     @Override
-    public List<Expense> findAllActive() {
-        return expenseRepository.findAll().stream()
-                .filter(Expense::getActive)
-                .toList();
+    public Optional<Expense> findByIdAndActiveTrueForUpdate(Long id) {
+        return expenseRepository.findActiveByIdForUpdate(id);
+    }
+
+    @Override
+    public void forEachActive(ExpenseCursor after, int limit, Consumer<ExpenseView> action) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ExpenseView> expenses = expenseRepository.streamActive(
+                    after.getExpenseDate(), after.getExpenseId(), Limit.of(limit))) {
+                expenses.forEach(action);
+            }
+        });
+    }
+
+    @Override
+    public List<ExpenseView> findPageByUserIdAndActiveTrue(Long userId, ExpenseCursor after, int limit) {
+        return expenseRepository.findPageByUserIdAndActiveTrue(
+                userId, after.getExpenseDate(), after.getExpenseId(), Limit.of(limit));
     }
 
     @Override
-    public List<Expense> findByUserIdAndActiveTrue(Long userId) {
-        return expenseRepository.findByUserIdAndActiveTrue(userId);
+    public List<ExpenseView> findPageByUserIdAndExpenseCategoryIdAndActiveTrue(Long userId, Long categoryId, ExpenseCursor after, int limit) {
+        return expenseRepository.findPageByUserIdAndExpenseCategoryIdAndActiveTrue(
+                userId, categoryId, after.getExpenseDate(), after.getExpenseId(), Limit.of(limit));
     }
 
     @Override
-    public List<Expense> findByUserIdAndExpenseCategoryIdAndActiveTrue(Long userId, Long categoryId) {
-        return expenseRepository.findByUserIdAndExpenseCategoryIdAndActiveTrue(userId, categoryId);
+    public List<ExpenseView> findPageByUserIdAndExpenseDateBetweenAndActiveTrue(Long userId, LocalDateTime startDate, LocalDateTime endDate, ExpenseCursor after, int limit) {
+        return expenseRepository.findPageByUserIdAndExpenseDateBetweenAndActiveTrue(
+                userId, startDate, endDate, after.getExpenseDate(), after.getExpenseId(), Limit.of(limit));
     }
 
     @Override
-    public List<Expense> findByUserIdAndExpenseDateBetweenAndActiveTrue(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        return expenseRepository.findByUserIdAndExpenseDateBetweenAndActiveTrue(userId, startDate, endDate);
+    public List<ExpenseView> findPageByUserIdAndAmountBetweenAndActiveTrue(Long userId, BigDecimal minAmount, BigDecimal maxAmount, ExpenseCursor after, int limit) {
+        return expenseRepository.findPageByUserIdAndAmountBetweenAndActiveTrue(
+                userId, minAmount, maxAmount, after.getExpenseDate(), after.getExpenseId(), Limit.of(limit));
     }
 
+    /**
+     * Misma Specification que antes, pero con la proyección a ExpenseView armada en Criteria
+     * (cb.construct), ya que findBy(Specification, ...) siempre hidrata entidades.
+     */
     @Override
-    public List<Expense> findByUserIdAndAmountBetweenAndActiveTrue(Long userId, BigDecimal minAmount, BigDecimal maxAmount) {
-        return expenseRepository.findByUserIdAndAmountBetweenAndActiveTrue(userId, minAmount, maxAmount);
+    public List<ExpenseView> search(ExpenseSearchCriteria criteria, ExpenseCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExpenseView> query = cb.createQuery(ExpenseView.class);
+        Root<Expense> root = query.from(Expense.class);
+        query.select(ExpenseSpecifications.view(root, cb))
+                .where(ExpenseSpecifications.matching(criteria, after).toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("expenseDate")), cb.desc(root.get("expenseId")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Set<Long> findCategoryIdsByUserIdAndActiveTrue(Long userId) {
+        return expenseRepository.findCategoryIdsByUserIdAndActiveTrue(userId);
+    }
+
+    /**
+     * Abre su propia transacción de solo lectura para mantener vivo el cursor JDBC. Las filas son
+     * ExpenseView, no entidades, así que el contexto de persistencia no crece con el número de filas.
+     */
+    @Override
+    public void forEachByUserIdAndActiveTrue(Long userId, Consumer<ExpenseView> action) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ExpenseView> expenses = expenseRepository.streamByUserIdAndActiveTrue(userId)) {
+                expenses.forEach(action);
+            }
+        });
+    }
+
+    @Override
+    public List<ExpenseTotal> sumByUserIdAndExpenseDateBetween(Long userId, LocalDateTime startDate, LocalDateTime endDate, ExpenseSummaryGroupBy groupBy) {
+        return switch (groupBy) {
+            case CATEGORY -> expenseRepository.sumByCategory(userId, startDate, endDate);
+            case MONTH -> expenseRepository.sumByMonth(userId, startDate, endDate);
+            case DAY -> expenseRepository.sumByDay(userId, startDate, endDate);
+        };
+    }
+
+    /**
+     * Mueve a expenses_archive hasta limit gastos eliminados lógicamente antes de deletedBefore
+     * y devuelve cuántos movió. En PostgreSQL es un único DELETE ... RETURNING encadenado con el
+     * INSERT; en otras bases se hace INSERT ... SELECT y DELETE por IDs en una transacción.
+     */
+    @Override
+    public int archiveInactive(LocalDateTime deletedBefore, int limit) {
+        LocalDateTime archivedAt = LocalDateTime.now();
+        if (isPostgres()) {
+            return jdbcTemplate.update(ARCHIVE_INACTIVE_POSTGRES, deletedBefore, limit, archivedAt);
+        }
+        Integer moved = transaction.execute(status -> {
+            List<Long> ids = expenseRepository.findInactiveIds(deletedBefore, Limit.of(limit));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            String in = " WHERE expense_id IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+            List<Object> args = new ArrayList<>(ids.size() + 1);
+            args.add(archivedAt);
+            args.addAll(ids);
+            jdbcTemplate.update("INSERT INTO expenses_archive (" + EXPENSE_COLUMNS + ", archived_at)"
+                    + " SELECT " + EXPENSE_COLUMNS + ", ? FROM expenses" + in, args.toArray());
+            return jdbcTemplate.update("DELETE FROM expenses" + in, ids.toArray());
+        });
+        return moved != null ? moved : 0;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestInactiveUpdatedAt(LocalDateTime deletedBefore) {
+        return expenseRepository.findOldestInactiveUpdatedAt(deletedBefore);
+    }
+
+    @Override
+    public List<ExpenseView> findArchivedPageByUserId(Long userId, ExpenseCursor after, int limit) {
+        return expenseArchiveRepository.findPageByUserId(
+                userId, after.getExpenseDate(), after.getExpenseId(), Limit.of(limit));
+    }
+
+    /**
+     * Reserva IDs de expenses_seq con la misma semántica del optimizador pooled de Hibernate:
+     * cada nextval v entrega el bloque (v - ID_ALLOCATION_SIZE, v], así que no se solapan con
+     * los IDs que Hibernate asigna por su cuenta.
+     */
+    private void assignIds(List<Expense> expenses) {
+        List<Long> ids = new ArrayList<>(expenses.size());
+        // El primer nextval de una secuencia nueva (1) entrega un bloque de un solo ID
+        while (ids.size() < expenses.size()) {
+            int missing = expenses.size() - ids.size();
+            int blocks = (missing + Expense.ID_ALLOCATION_SIZE - 1) / Expense.ID_ALLOCATION_SIZE;
+            for (Long hi : jdbcTemplate.queryForList(
+                    "SELECT nextval('expenses_seq') FROM generate_series(1, ?)", Long.class, blocks)) {
+                for (long id = Math.max(1, hi - Expense.ID_ALLOCATION_SIZE + 1); id <= hi; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        for (int i = 0; i < expenses.size(); i++) {
+            expenses.get(i).setExpenseId(ids.get(i));
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((Connection connection) ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    private static String csv(String value) {
+        return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
     }
-}
\ No newline at end of file
+}
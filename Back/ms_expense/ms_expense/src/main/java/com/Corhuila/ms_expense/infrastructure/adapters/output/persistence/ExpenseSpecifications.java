@@ -0,0 +1,80 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.output.persistence;
+
+import com.Corhuila.ms_expense.domain.model.Expense;
+import com.Corhuila.ms_expense.domain.model.ExpenseCursor;
+import com.Corhuila.ms_expense.domain.model.ExpenseSearchCriteria;
+import com.Corhuila.ms_expense.domain.model.ExpenseView;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Construye una única consulta a partir de los filtros presentes en ExpenseSearchCriteria.
+ * Cada combinación queda cubierta por uno de los índices declarados en Expense:
+ * (user_id, expense_date, expense_id), (user_id, expense_category_id, expense_date, expense_id)
+ * o (user_id, amount); el texto se evalúa sobre las filas ya acotadas por el índice.
+ */
+final class ExpenseSpecifications {
+
+    private ExpenseSpecifications() {
+    }
+
+    static Specification<Expense> matching(ExpenseSearchCriteria criteria, ExpenseCursor after) {
+        List<Specification<Expense>> specifications = new ArrayList<>();
+        specifications.add((root, query, cb) -> cb.equal(root.get("userId"), criteria.getUserId()));
+        specifications.add((root, query, cb) -> cb.isTrue(root.get("active")));
+
+        if (criteria.getStartDate() != null) {
+            specifications.add((root, query, cb) ->
+                    cb.greaterThanOrEqualTo(root.get("expenseDate"), criteria.getStartDate()));
+        }
+        if (criteria.getEndDate() != null) {
+            specifications.add((root, query, cb) ->
+                    cb.lessThanOrEqualTo(root.get("expenseDate"), criteria.getEndDate()));
+        }
+        if (criteria.getCategoryIds() != null && !criteria.getCategoryIds().isEmpty()) {
+            specifications.add((root, query, cb) ->
+                    root.get("expenseCategoryId").in(criteria.getCategoryIds()));
+        }
+        if (criteria.getMinAmount() != null) {
+            specifications.add((root, query, cb) ->
+                    cb.greaterThanOrEqualTo(root.get("amount"), criteria.getMinAmount()));
+        }
+        if (criteria.getMaxAmount() != null) {
+            specifications.add((root, query, cb) ->
+                    cb.lessThanOrEqualTo(root.get("amount"), criteria.getMaxAmount()));
+        }
+        if (criteria.getText() != null && !criteria.getText().isBlank()) {
+            String pattern = "%" + escapeLike(criteria.getText().trim().toLowerCase(Locale.ROOT)) + "%";
+            specifications.add((root, query, cb) ->
+                    cb.like(cb.lower(root.get("description")), pattern, '\\'));
+        }
+
+        // Misma condición de keyset que ExpenseRepository.AFTER_CURSOR
+        specifications.add((root, query, cb) -> cb.or(
+                cb.lessThan(root.get("expenseDate"), after.getExpenseDate()),
+                cb.and(
+                        cb.equal(root.get("expenseDate"), after.getExpenseDate()),
+                        cb.lessThan(root.get("expenseId"), after.getExpenseId()))));
+
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * Equivalente en Criteria de ExpenseRepository.SELECT_VIEW.
+     */
+    static CompoundSelection<ExpenseView> view(Root<Expense> root, CriteriaBuilder cb) {
+        return cb.construct(ExpenseView.class,
+                root.get("expenseId"), root.get("amount"), root.get("expenseCategoryId"), root.get("expenseDate"),
+                root.get("description"), root.get("userId"), root.get("active"), root.get("createdAt"), root.get("updatedAt"));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,182 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.output.persistence;
+
+import com.Corhuila.ms_expense.domain.model.MonthlyBalanceKey;
+import com.Corhuila.ms_expense.domain.model.MonthlyTotal;
+import com.Corhuila.ms_expense.domain.ports.MonthlyBalanceRepositoryPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Mantiene la columna total_expense de monthly_balances. Las escrituras suman deltas con un
+ * upsert (ON CONFLICT en PostgreSQL, MERGE estándar en otras bases) dentro de la transacción
+ * del gasto; la conciliación recalcula desde expenses los usuarios cuyo acumulado no cuadra.
+ * <p>
+ * Solo se concilian los meses que siguen adjuntos a expenses: con
+ * expenses.partitions.retention-months > 0, ExpensePartitionMaintenance desvincula las
+ * particiones de los meses más antiguos y sus gastos dejan de verse, así que recalcular esos
+ * meses pondría sus celdas en 0. Esas celdas conservan el último acumulado.
+ */
+@Component
+public class MonthlyBalanceRepositoryAdapter implements MonthlyBalanceRepositoryPort {
+
+    private static final String MONTH_OF_EXPENSE = "CAST(DATE_TRUNC('MONTH', expense_date) AS DATE)";
+
+    private static final String ADD_POSTGRES = "INSERT INTO monthly_balances"
+            + " (user_id, month_start, category_id, total_income, total_expense) VALUES (?, ?, ?, 0, ?)"
+            + " ON CONFLICT (user_id, month_start, category_id)"
+            + " DO UPDATE SET total_expense = monthly_balances.total_expense + EXCLUDED.total_expense";
+    private static final String MERGE_SOURCE = "MERGE INTO monthly_balances b USING (VALUES (CAST(? AS BIGINT),"
+            + " CAST(? AS DATE), CAST(? AS BIGINT), CAST(? AS DECIMAL(19, 2))))"
+            + " AS d (user_id, month_start, category_id, amount)"
+            + " ON b.user_id = d.user_id AND b.month_start = d.month_start AND b.category_id = d.category_id";
+    private static final String INSERT_FROM_SOURCE = " WHEN NOT MATCHED THEN INSERT"
+            + " (user_id, month_start, category_id, total_income, total_expense)"
+            + " VALUES (d.user_id, d.month_start, d.category_id, 0, d.amount)";
+    private static final String ADD_MERGE = MERGE_SOURCE
+            + " WHEN MATCHED THEN UPDATE SET total_expense = b.total_expense + d.amount" + INSERT_FROM_SOURCE;
+    private static final String INSERT_IF_ABSENT_POSTGRES = "INSERT INTO monthly_balances"
+            + " (user_id, month_start, category_id, total_income, total_expense) VALUES (?, ?, ?, 0, ?)"
+            + " ON CONFLICT (user_id, month_start, category_id) DO NOTHING";
+    private static final String INSERT_IF_ABSENT_MERGE = MERGE_SOURCE + INSERT_FROM_SOURCE;
+
+    // Celdas (usuario, mes, categoría) donde la suma de gastos activos no coincide con total_expense
+    private static final String USERS_WITH_DRIFT = "SELECT DISTINCT user_id FROM ("
+            + " SELECT user_id FROM ("
+            + " SELECT user_id, " + MONTH_OF_EXPENSE + " AS month_start, expense_category_id AS category_id, amount AS total"
+            + " FROM expenses WHERE active = true AND expense_date >= ?"
+            + " UNION ALL"
+            + " SELECT user_id, month_start, category_id, -total_expense FROM monthly_balances WHERE month_start >= ?"
+            + " ) cells GROUP BY user_id, month_start, category_id HAVING SUM(total) <> 0"
+            + " ) drift";
+
+    private final MonthlyBalanceRepository monthlyBalanceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final int retentionMonths;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public MonthlyBalanceRepositoryAdapter(MonthlyBalanceRepository monthlyBalanceRepository,
+                                           JdbcTemplate jdbcTemplate,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${expenses.partitions.retention-months:0}") int retentionMonths) {
+        this.monthlyBalanceRepository = monthlyBalanceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Suma cada delta a su celda, creándola si no existe. Debe llamarse dentro de la transacción
+     * que escribe los gastos; las celdas se actualizan en el orden de la clave.
+     */
+    @Override
+    public void addToExpenseTotals(SortedMap<MonthlyBalanceKey, BigDecimal> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, amount) -> {
+            if (amount.signum() != 0) {
+                rows.add(row(key, amount));
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(isPostgres() ? ADD_POSTGRES : ADD_MERGE, rows);
+        }
+    }
+
+    @Override
+    public List<MonthlyTotal> findExpenseTotals(Long userId, LocalDate fromMonth, LocalDate toMonth) {
+        return monthlyBalanceRepository.findExpenseTotals(userId, fromMonth, toMonth);
+    }
+
+    @Override
+    public List<Long> findUserIdsWithDrift() {
+        LocalDate fromMonth = oldestReconciledMonth();
+        return jdbcTemplate.queryForList(USERS_WITH_DRIFT, Long.class, fromMonth.atStartOfDay(), fromMonth);
+    }
+
+    /**
+     * Recalcula las celdas del usuario desde expenses y corrige las que no coinciden; devuelve
+     * cuántas corrigió. Primero bloquea las celdas existentes: una escritura concurrente que ya
+     * las tocó termina antes (y su gasto entra en el recálculo) y una posterior espera y suma su
+     * delta sobre el valor corregido. Las celdas nuevas se insertan solo si siguen sin existir.
+     */
+    @Override
+    public int reconcile(Long userId) {
+        LocalDate fromMonth = oldestReconciledMonth();
+        Integer repaired = transaction.execute(status -> {
+            Map<MonthlyBalanceKey, BigDecimal> stored = new HashMap<>();
+            jdbcTemplate.query("SELECT month_start, category_id, total_expense FROM monthly_balances WHERE user_id = ?"
+                            + " AND month_start >= ? ORDER BY month_start, category_id FOR UPDATE",
+                    rs -> {
+                        stored.put(new MonthlyBalanceKey(userId, rs.getDate(1).toLocalDate(), rs.getLong(2)), rs.getBigDecimal(3));
+                    }, userId, fromMonth);
+
+            SortedMap<MonthlyBalanceKey, BigDecimal> actual = new TreeMap<>();
+            jdbcTemplate.query("SELECT " + MONTH_OF_EXPENSE + ", expense_category_id, SUM(amount) FROM expenses"
+                            + " WHERE user_id = ? AND active = true AND expense_date >= ?"
+                            + " GROUP BY " + MONTH_OF_EXPENSE + ", expense_category_id",
+                    rs -> {
+                        actual.put(new MonthlyBalanceKey(userId, rs.getDate(1).toLocalDate(), rs.getLong(2)), rs.getBigDecimal(3));
+                    }, userId, fromMonth.atStartOfDay());
+
+            List<Object[]> updates = new ArrayList<>();
+            stored.forEach((key, total) -> {
+                BigDecimal expected = actual.getOrDefault(key, BigDecimal.ZERO);
+                if (total.compareTo(expected) != 0) {
+                    updates.add(new Object[]{expected, key.getUserId(), Date.valueOf(key.getMonthStart()), key.getCategoryId()});
+                }
+            });
+            List<Object[]> inserts = new ArrayList<>();
+            actual.forEach((key, total) -> {
+                if (!stored.containsKey(key) && total.signum() != 0) {
+                    inserts.add(row(key, total));
+                }
+            });
+
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE monthly_balances SET total_expense = ?"
+                        + " WHERE user_id = ? AND month_start = ? AND category_id = ?", updates);
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(isPostgres() ? INSERT_IF_ABSENT_POSTGRES : INSERT_IF_ABSENT_MERGE, inserts);
+            }
+            return updates.size() + inserts.size();
+        });
+        return repaired != null ? repaired : 0;
+    }
+
+    /**
+     * Primer mes que sigue adjunto a expenses; mismo cálculo que ExpensePartitionMaintenance
+     */
+    private LocalDate oldestReconciledMonth() {
+        return retentionMonths > 0 ? YearMonth.now().minusMonths(retentionMonths).atDay(1) : LocalDate.of(1, 1, 1);
+    }
+
+    private static Object[] row(MonthlyBalanceKey key, BigDecimal amount) {
+        return new Object[]{key.getUserId(), Date.valueOf(key.getMonthStart()), key.getCategoryId(), amount};
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((Connection connection) ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
@@ -1,23 +1,52 @@
 package com.Corhuila.ms_expense.infrastructure.configuration;
 
+import com.Corhuila.ms_expense.application.usecases.ExpenseImportUseCase;
+import com.Corhuila.ms_expense.application.usecases.ExpenseOutboxUseCase;
+import com.Corhuila.ms_expense.domain.ports.ExpenseEventSubscriberPort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseImportJobRepositoryPort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseImportServicePort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseOutboxRepositoryPort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseOutboxServicePort;
 import com.Corhuila.ms_expense.domain.ports.ExpenseRepositoryPort;
 import com.Corhuila.ms_expense.domain.ports.ExpenseServicePort;
+import com.Corhuila.ms_expense.domain.ports.MonthlyBalanceRepositoryPort;
 import com.Corhuila.ms_expense.application.usecases.ExpenseUseCase;
 import com.Corhuila.ms_expense.infrastructure.adapters.output.external.CategoryClient;
+import jakarta.validation.Validator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
 
 @Configuration
 public class BeanConfiguration {
 
     @Bean
-    public ExpenseServicePort expenseServicePort(ExpenseRepositoryPort expenseRepositoryPort, CategoryClient categoryClient) {
-        return new ExpenseUseCase(expenseRepositoryPort, categoryClient);
+    public ExpenseServicePort expenseServicePort(ExpenseRepositoryPort expenseRepositoryPort,
+                                                 MonthlyBalanceRepositoryPort monthlyBalanceRepositoryPort,
+                                                 ExpenseOutboxRepositoryPort outboxRepositoryPort,
+                                                 CategoryClient categoryClient,
+                                                 Validator validator, PlatformTransactionManager transactionManager) {
+        return new ExpenseUseCase(expenseRepositoryPort, monthlyBalanceRepositoryPort, outboxRepositoryPort, categoryClient,
+                validator, transactionManager);
+    }
+
+    @Bean
+    public ExpenseImportServicePort expenseImportServicePort(ExpenseRepositoryPort expenseRepositoryPort,
+                                                             MonthlyBalanceRepositoryPort monthlyBalanceRepositoryPort,
+                                                             ExpenseOutboxRepositoryPort outboxRepositoryPort,
+                                                             ExpenseImportJobRepositoryPort importJobRepositoryPort,
+                                                             CategoryClient categoryClient,
+                                                             Validator validator,
+                                                             PlatformTransactionManager transactionManager) {
+        return new ExpenseImportUseCase(expenseRepositoryPort, monthlyBalanceRepositoryPort, outboxRepositoryPort,
+                importJobRepositoryPort, categoryClient, validator, transactionManager);
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public ExpenseOutboxServicePort expenseOutboxServicePort(ExpenseOutboxRepositoryPort outboxRepositoryPort,
+                                                             List<ExpenseEventSubscriberPort> subscribers) {
+        return new ExpenseOutboxUseCase(outboxRepositoryPort, subscribers);
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.Corhuila.ms_expense.infrastructure.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * La tabla expenses se generaba con IDENTITY; en bases existentes la nueva secuencia
+ * expenses_seq arranca en 1 y chocaría con los IDs ya asignados. Al iniciar se adelanta
+ * la secuencia por encima del máximo expense_id (nunca se retrocede).
+ * <p>
+ * Corre al crear el bean, después del EntityManagerFactory (Hibernate ya creó la secuencia
+ * con ddl-auto=update) y antes de que arranque el servidor web, así ninguna solicitud toma
+ * IDs de la secuencia sin alinear. El advisory lock serializa la alineación entre réplicas
+ * que arrancan a la vez.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ExpenseSequenceInitializer implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseSequenceInitializer.class);
+
+    // Clave del advisory lock que serializa la alineación de expenses_seq entre réplicas
+    private static final long LOCK_KEY = 7_310_012_005L;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public ExpenseSequenceInitializer(DataSource dataSource,
+                                      JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+        }
+        Long value = transaction.execute(status -> {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", LOCK_KEY);
+            return jdbcTemplate.queryForObject(
+                    "SELECT setval('expenses_seq', GREATEST("
+                            + "(SELECT COALESCE(MAX(expense_id), 0) + 1 FROM expenses), "
+                            + "(SELECT last_value FROM expenses_seq)))",
+                    Long.class);
+        });
+        logger.info("Secuencia expenses_seq alineada en {}", value);
+    }
+}
@@ -1,33 +1,70 @@
 package com.Corhuila.ms_expense.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 
 /**
  * Utility class to extract information from JWT tokens
  * This service trusts that the token has already been validated by ms_user
+ * <p>
+ * The signing key and parser are built once. Verified claims are cached by SHA-256 digest of
+ * the token until the token expires (capped by jwt.cache.max-ttl), so repeated calls with the
+ * same token skip the HMAC verification. Invalid tokens are never cached.
  */
 @Component
 @Slf4j
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtParser jwtParser;
+    private final Cache<String, TokenClaims> claimsCache;
+
+    public JwtUtil(
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${jwt.cache.max-ttl:1h}") Duration cacheMaxTtl,
+            MeterRegistry meterRegistry) {
+        this.jwtParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(cacheMaxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwtClaims");
+    }
 
     /**
      * Extract user ID from JWT token
      */
     public Long extractUserId(String token) {
         try {
-            Claims claims = extractAllClaims(token);
-            return claims.get("userId", Long.class);
+            return getClaims(token).userId();
         } catch (Exception e) {
             log.error("Error extracting userId from token: {}", e.getMessage());
             return null;
@@ -39,8 +76,7 @@ public class JwtUtil {
      */
     public String extractEmail(String token) {
         try {
-            Claims claims = extractAllClaims(token);
-            return claims.getSubject();
+            return getClaims(token).email();
         } catch (Exception e) {
             log.error("Error extracting email from token: {}", e.getMessage());
             return null;
@@ -48,21 +84,73 @@ public class JwtUtil {
     }
 
     /**
-     * Extract all claims from token
+     * Extract role (USER, ADMIN) from JWT token
+     */
+    public String extractRole(String token) {
+        try {
+            return getClaims(token).role();
+        } catch (Exception e) {
+            log.error("Error extracting role from token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Return the verified claims of the token, from the cache when it has already been verified
+     */
+    private TokenClaims getClaims(String token) {
+        return claimsCache.get(digest(token), key -> {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return new TokenClaims(
+                    claims.get("userId", Long.class),
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        });
+    }
+
+    /**
+     * Cache key: the raw token is not kept in memory
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    private record TokenClaims(Long userId, String email, String role, Instant expiresAt) {
     }
 
     /**
-     * Get signing key for JWT
+     * Entries live until the token expires, never longer than maxTtl
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static class TokenExpiry implements Expiry<String, TokenClaims> {
+
+        private final Duration maxTtl;
+
+        TokenExpiry(Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, TokenClaims value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return maxTtl.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), value.expiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return remaining.compareTo(maxTtl) < 0 ? remaining.toNanos() : maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,21 @@
+-- Todas las consultas de ExpenseRepository filtran active = true: los índices pasan a ser
+-- parciales (WHERE active) y no guardan entradas de los gastos eliminados lógicamente.
+-- Conservan los nombres de los @Index de Expense, así ddl-auto=update los encuentra por
+-- nombre y no vuelve a crear las versiones completas. Sobre la tabla particionada, cada
+-- índice se crea también en todas las particiones.
+
+DROP INDEX IF EXISTS idx_expenses_user_date_id;
+CREATE INDEX idx_expenses_user_date_id
+    ON expenses (user_id, expense_date DESC, expense_id DESC) WHERE active;
+
+DROP INDEX IF EXISTS idx_expenses_user_category_date_id;
+CREATE INDEX idx_expenses_user_category_date_id
+    ON expenses (user_id, expense_category_id, expense_date DESC, expense_id DESC) WHERE active;
+
+DROP INDEX IF EXISTS idx_expenses_user_amount;
+CREATE INDEX idx_expenses_user_amount
+    ON expenses (user_id, amount) WHERE active;
+
+DROP INDEX IF EXISTS idx_expenses_date_id;
+CREATE INDEX idx_expenses_date_id
+    ON expenses (expense_date DESC, expense_id DESC) WHERE active;
@@ -0,0 +1,6 @@
+-- ExpenseArchiver busca gastos eliminados lógicamente por updated_at (fecha de la eliminación)
+-- para moverlos a expenses_archive. Índice parcial: solo contiene filas inactivas, que son
+-- pocas porque el archivador las va sacando de la tabla.
+
+CREATE INDEX IF NOT EXISTS idx_expenses_inactive_updated
+    ON expenses (updated_at) WHERE NOT active;
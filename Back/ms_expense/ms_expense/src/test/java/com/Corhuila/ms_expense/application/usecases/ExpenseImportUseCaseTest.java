@@ -0,0 +1,166 @@
+package com.Corhuila.ms_expense.application.usecases;
+
+import com.Corhuila.ms_expense.domain.model.Expense;
+import com.Corhuila.ms_expense.domain.model.ExpenseImportJob;
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseImportJobResponse;
+import com.Corhuila.ms_expense.domain.ports.ExpenseImportJobRepositoryPort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseOutboxRepositoryPort;
+import com.Corhuila.ms_expense.domain.ports.ExpenseRepositoryPort;
+import com.Corhuila.ms_expense.domain.ports.MonthlyBalanceRepositoryPort;
+import com.Corhuila.ms_expense.infrastructure.adapters.input.rest.ExpenseCsvReader;
+import com.Corhuila.ms_expense.infrastructure.adapters.output.external.CategoryClient;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Importación de un CSV de punta a punta sobre puertos simulados: estado final del trabajo,
+ * filas rechazadas con su línea y escritura por lotes.
+ */
+class ExpenseImportUseCaseTest {
+
+    private static final long USER_ID = 42;
+    private static final long CATEGORY_ID = 3;
+
+    private final ExpenseRepositoryPort expenseRepositoryPort = mock(ExpenseRepositoryPort.class);
+    private final ExpenseImportJobRepositoryPort importJobRepositoryPort = mock(ExpenseImportJobRepositoryPort.class);
+    private final CategoryClient categoryClient = mock(CategoryClient.class);
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    private ExpenseImportUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        when(importJobRepositoryPort.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(categoryClient.getActiveExpenseCategoryIds()).thenReturn(Set.of(CATEGORY_ID));
+        useCase = new ExpenseImportUseCase(expenseRepositoryPort,
+                mock(MonthlyBalanceRepositoryPort.class),
+                mock(ExpenseOutboxRepositoryPort.class),
+                importJobRepositoryPort,
+                categoryClient,
+                validatorFactory.getValidator(),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importsDebitsAndRejectsCreditsWithTheirLine() {
+        ExpenseImportJobResponse job = importCsv("date,amount,description\n"
+                + "2026-03-01,-10.00,mercado\n"
+                + "2026-03-02,250.00,abono de nómina\n"
+                + "2026-03-03,-4.50,\"café, pan\"\n");
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(3, job.getRowsRead());
+        assertEquals(2, job.getImported());
+        assertEquals(1, job.getRejected());
+        assertEquals(3L, job.getRejectedRows().get(0).getLine());
+        assertEquals("El monto 250.00 es un crédito, no es un gasto", job.getRejectedRows().get(0).getError());
+
+        ArgumentCaptor<List<Expense>> batch = ArgumentCaptor.captor();
+        verify(expenseRepositoryPort).insertBatch(batch.capture());
+        assertEquals(List.of(new BigDecimal("10.00"), new BigDecimal("4.50")),
+                batch.getValue().stream().map(Expense::getAmount).toList());
+    }
+
+    @Test
+    void rowsFailingValidationOrCategoryAreRejected() {
+        ExpenseImportJobResponse job = importCsv("date,amount,categoryId\n"
+                + "2026-03-01,0,3\n"
+                + "2026-03-02,-1,99\n");
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(0, job.getImported());
+        assertEquals("Amount must be greater than 0", job.getRejectedRows().get(0).getError());
+        assertEquals("La categoría con ID 99 no existe, no está activa o no es de tipo EXPENSE",
+                job.getRejectedRows().get(1).getError());
+        verify(expenseRepositoryPort, never()).insertBatch(any());
+    }
+
+    @Test
+    void badHeaderFailsTheJob() {
+        ExpenseImportJobResponse job = importCsv("fecha,descripcion\n2026-03-01,mercado\n");
+
+        assertEquals("FAILED", job.getStatus());
+        assertEquals("El encabezado debe incluir las columnas date y amount", job.getError());
+        assertEquals(0, job.getRowsRead());
+    }
+
+    @Test
+    void missingHeaderFailsTheJob() {
+        ExpenseImportJobResponse job = importCsv("");
+
+        assertEquals("FAILED", job.getStatus());
+        assertEquals("El archivo está vacío", job.getError());
+    }
+
+    @Test
+    void oversizeRecordFailsTheJobAndKeepsEarlierBatches() {
+        StringBuilder csv = new StringBuilder("date,amount\n");
+        for (int i = 0; i < 501; i++) {
+            csv.append("2026-03-01,-1\n");
+        }
+        csv.append("2026-03-02,\"").append("9".repeat(500));
+
+        ExpenseImportJobResponse job = importCsv(csv.toString(), 100);
+
+        assertEquals("FAILED", job.getStatus());
+        assertEquals("El registro de la línea 503 supera el máximo de 100 caracteres", job.getError());
+        assertEquals(501, job.getRowsRead());
+        // El lote completo de 500 ya estaba escrito; la fila 501 quedó pendiente cuando falló la lectura
+        assertEquals(500, job.getImported());
+        verify(expenseRepositoryPort, times(1)).insertBatch(any());
+    }
+
+    @Test
+    void reportedRejectionsAreCappedButAllAreCounted() {
+        int rejected = ExpenseImportJob.MAX_REPORTED_REJECTIONS + 5;
+        StringBuilder csv = new StringBuilder("date,amount\n");
+        for (int i = 0; i < rejected; i++) {
+            csv.append("2026-03-01,1\n");
+        }
+        csv.append("2026-03-01,-1\n");
+
+        ExpenseImportJobResponse job = importCsv(csv.toString());
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(rejected, job.getRejected());
+        assertEquals(ExpenseImportJob.MAX_REPORTED_REJECTIONS, job.getRejectedRows().size());
+        assertEquals(ExpenseImportJob.MAX_REPORTED_REJECTIONS + 1L,
+                job.getRejectedRows().get(ExpenseImportJob.MAX_REPORTED_REJECTIONS - 1).getLine());
+        assertEquals(1, job.getImported());
+        assertNull(job.getError());
+    }
+
+    private ExpenseImportJobResponse importCsv(String csv) {
+        return importCsv(csv, 8192);
+    }
+
+    private ExpenseImportJobResponse importCsv(String csv, int maxRecordLength) {
+        return useCase.importExpenses(USER_ID, new ExpenseCsvReader(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ',', CATEGORY_ID, USER_ID, maxRecordLength));
+    }
+}
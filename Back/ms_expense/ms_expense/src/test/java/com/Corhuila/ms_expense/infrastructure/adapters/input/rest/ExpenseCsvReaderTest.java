@@ -0,0 +1,155 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.input.rest;
+
+import com.Corhuila.ms_expense.domain.model.dto.ExpenseImportRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Formato CSV que acepta la importación: comillas, saltos de línea, números de línea de cada
+ * registro y los errores que hacen fallar la importación completa.
+ */
+class ExpenseCsvReaderTest {
+
+    private static final long USER_ID = 42;
+    private static final long DEFAULT_CATEGORY = 3;
+    private static final int MAX_RECORD_LENGTH = 200;
+
+    @Test
+    void quotedFieldsKeepDelimitersAndEscapedQuotes() {
+        List<ExpenseImportRow> rows = read("date,amount,description\n"
+                + "2026-03-05,-12.50,\"Mercado, frutas y \"\"verduras\"\"\"\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("Mercado, frutas y \"verduras\"", rows.get(0).getRequest().getDescription());
+        assertEquals(0, new BigDecimal("12.50").compareTo(rows.get(0).getRequest().getAmount()));
+    }
+
+    @Test
+    void customDelimiterAndHeaderAliases() {
+        List<ExpenseImportRow> rows = read(new ExpenseCsvReader(stream("\uFEFFFecha;Valor;Categoria;Descripcion\n"
+                + "05/03/2026;-$ 8;7;Taxi\n"), ';', null, USER_ID, MAX_RECORD_LENGTH));
+
+        assertEquals(1, rows.size());
+        assertEquals(LocalDate.of(2026, 3, 5), rows.get(0).getRequest().getExpenseDate());
+        assertEquals(7L, rows.get(0).getRequest().getExpenseCategoryId());
+        assertEquals(USER_ID, rows.get(0).getRequest().getUserId());
+    }
+
+    @Test
+    void lineNumbersCountEmbeddedNewlinesCrlfAndBlankLines() {
+        List<ExpenseImportRow> rows = read("date,amount,description\r\n"
+                + "2026-03-01,-1,\"primera\r\nlínea\"\r\n"
+                + "\r\n"
+                + "\n"
+                + "2026-03-02,-2,segunda\r\n"
+                + "2026-03-03,-3,tercera");
+
+        assertEquals(3, rows.size());
+        assertEquals(2, rows.get(0).getLineNumber());
+        assertEquals("primera\r\nlínea", rows.get(0).getRequest().getDescription());
+        assertEquals(6, rows.get(1).getLineNumber());
+        assertEquals("segunda", rows.get(1).getRequest().getDescription());
+        assertEquals(7, rows.get(2).getLineNumber());
+        assertEquals("tercera", rows.get(2).getRequest().getDescription());
+    }
+
+    @Test
+    void invalidRowsAreReportedWithoutStoppingTheFile() {
+        List<ExpenseImportRow> rows = read("date,amount\n"
+                + "2026-03-01,150.00\n"
+                + "2026-13-01,-1\n"
+                + "2026-03-02,abc\n"
+                + "2026-03-03,0\n");
+
+        assertEquals(4, rows.size());
+        assertNull(rows.get(0).getRequest());
+        assertEquals("El monto 150.00 es un crédito, no es un gasto", rows.get(0).getError());
+        assertEquals(2, rows.get(0).getLineNumber());
+        assertEquals("Fecha inválida: 2026-13-01", rows.get(1).getError());
+        assertEquals("Monto inválido: abc", rows.get(2).getError());
+        // Un monto cero no es crédito: lo rechaza la validación del ExpenseRequest
+        assertNull(rows.get(3).getError());
+    }
+
+    @Test
+    void unclosedQuoteFailsWithTheRecordLine() {
+        ExpenseCsvReader reader = reader("date,amount,description\n"
+                + "2026-03-01,-1,ok\n"
+                + "2026-03-02,-2,\"sin cerrar\n"
+                + "2026-03-03,-3,x\n");
+
+        assertTrue(reader.hasNext());
+        reader.next();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::hasNext);
+        assertEquals("Comillas sin cerrar en la línea 3", e.getMessage());
+    }
+
+    @Test
+    void oversizeRecordFailsBeforeBufferingTheRestOfTheFile() {
+        // Una comilla sin cerrar seguida de mucho contenido corta en el máximo, no al final del archivo
+        String body = "date,amount,description\n"
+                + "2026-03-01,-1,\"" + "x".repeat(10_000) + "\n";
+        ExpenseCsvReader reader = reader(body);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::hasNext);
+        assertEquals("El registro de la línea 2 supera el máximo de " + MAX_RECORD_LENGTH + " caracteres", e.getMessage());
+    }
+
+    @Test
+    void recordAtTheMaximumLengthIsAccepted() {
+        String prefix = "2026-03-01,-1,";
+        String record = prefix + "d".repeat(MAX_RECORD_LENGTH - prefix.length());
+        List<ExpenseImportRow> rows = read("date,amount,description\n" + record + "\n");
+
+        assertEquals(1, rows.size());
+        assertNull(rows.get(0).getError());
+    }
+
+    @Test
+    void bodyWithoutNewlinesFailsOnTheHeader() {
+        ExpenseCsvReader reader = reader("date,amount," + "y".repeat(10_000));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::hasNext);
+        assertEquals("El registro de la línea 1 supera el máximo de " + MAX_RECORD_LENGTH + " caracteres", e.getMessage());
+    }
+
+    @Test
+    void emptyFileAndHeaderWithoutRequiredColumnsFail() {
+        assertEquals("El archivo está vacío",
+                assertThrows(IllegalArgumentException.class, reader("\n\r\n")::hasNext).getMessage());
+        assertEquals("El encabezado debe incluir las columnas date y amount",
+                assertThrows(IllegalArgumentException.class, reader("fecha,descripcion\n2026-03-01,x\n")::hasNext).getMessage());
+        assertEquals("El archivo no trae categoryId; envíe el parámetro categoryId",
+                assertThrows(IllegalArgumentException.class,
+                        new ExpenseCsvReader(stream("date,amount\n"), ',', null, USER_ID, MAX_RECORD_LENGTH)::hasNext).getMessage());
+    }
+
+    private static List<ExpenseImportRow> read(String body) {
+        return read(reader(body));
+    }
+
+    private static List<ExpenseImportRow> read(ExpenseCsvReader reader) {
+        List<ExpenseImportRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static ExpenseCsvReader reader(String body) {
+        return new ExpenseCsvReader(stream(body), ',', DEFAULT_CATEGORY, USER_ID, MAX_RECORD_LENGTH);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
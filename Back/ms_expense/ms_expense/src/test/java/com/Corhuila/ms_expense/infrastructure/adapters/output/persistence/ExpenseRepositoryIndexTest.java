@@ -0,0 +1,233 @@
+package com.Corhuila.ms_expense.infrastructure.adapters.output.persistence;
+
+import com.Corhuila.ms_expense.domain.model.ExpenseCursor;
+import com.Corhuila.ms_expense.domain.model.ExpenseSearchCriteria;
+import com.Corhuila.ms_expense.domain.model.ExpenseSummaryGroupBy;
+import com.Corhuila.ms_expense.domain.ports.ExpenseRepositoryPort;
+import com.Corhuila.ms_expense.infrastructure.configuration.ExpensePartitionMaintenance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica con EXPLAIN que cada consulta de ExpenseRepository usa un índice en PostgreSQL.
+ * Cada método del puerto se ejecuta de verdad; se captura el SQL y los parámetros que Hibernate
+ * envía al driver y se repite la sentencia con EXPLAIN y los mismos parámetros.
+ *
+ * Requiere una base PostgreSQL desechable (por ejemplo la de DB/docker-compose-dev.yml):
+ * TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/expense_index_test. Sin esa variable se omite.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${TEST_POSTGRES_URL}",
+        "spring.datasource.username=${TEST_POSTGRES_USERNAME:postgres}",
+        "spring.datasource.password=${TEST_POSTGRES_PASSWORD:}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.flyway.enabled=true",
+        "categories.events.datasource.url="
+})
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class ExpenseRepositoryIndexTest {
+
+    private static final long FIRST_USER = 900_001;
+    private static final int USERS = 200;
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+    private static final List<RecordedQuery> RECORDED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ExpenseRepositoryPort expenseRepositoryPort;
+
+    @Autowired
+    private ExpensePartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() {
+        // Usuarios reservados para la prueba: 150 gastos cada uno, repartidos entre dos meses
+        // atrás y dos adelante, con un 10% inactivos
+        YearMonth from = YearMonth.now().minusMonths(2);
+        jdbcTemplate.update("DELETE FROM expenses WHERE user_id BETWEEN ? AND ?", FIRST_USER, FIRST_USER + USERS - 1);
+        jdbcTemplate.update("INSERT INTO expenses (expense_id, amount, expense_category_id, expense_date, description,"
+                        + " user_id, active, created_at, updated_at)"
+                        + " SELECT 900000000 + g, (g % 500) + 1, (g % 20) + 1,"
+                        + " CAST(? AS timestamp) + (g % 150) * interval '1 day' + (g % 24) * interval '1 hour',"
+                        + " 'gasto ' || g, ? + (g % ?), g % 10 <> 0, now(), now()"
+                        + " FROM generate_series(1, ?) g",
+                from.atDay(1).atStartOfDay(), FIRST_USER, USERS, USERS * 150);
+        // Los meses anteriores al actual caen en la partición default hasta el mantenimiento
+        partitionMaintenance.maintain();
+        jdbcTemplate.execute("ANALYZE expenses");
+    }
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        Long userId = FIRST_USER + 7;
+        LocalDateTime start = YearMonth.now().atDay(1).atStartOfDay();
+        LocalDateTime end = start.plusDays(20);
+        ExpenseCursor first = ExpenseCursor.FIRST;
+
+        assertUsesIndex("findPageByUserIdAndActiveTrue",
+                () -> expenseRepositoryPort.findPageByUserIdAndActiveTrue(userId, first, 20));
+        assertUsesIndex("findPageByUserIdAndExpenseCategoryIdAndActiveTrue",
+                () -> expenseRepositoryPort.findPageByUserIdAndExpenseCategoryIdAndActiveTrue(userId, 8L, first, 20));
+        assertUsesIndex("findPageByUserIdAndExpenseDateBetweenAndActiveTrue",
+                () -> expenseRepositoryPort.findPageByUserIdAndExpenseDateBetweenAndActiveTrue(userId, start, end, first, 20));
+        assertUsesIndex("findPageByUserIdAndAmountBetweenAndActiveTrue",
+                () -> expenseRepositoryPort.findPageByUserIdAndAmountBetweenAndActiveTrue(
+                        userId, new BigDecimal("10"), new BigDecimal("60"), first, 20));
+        assertUsesIndex("search",
+                () -> expenseRepositoryPort.search(ExpenseSearchCriteria.builder()
+                        .userId(userId).startDate(start).endDate(end).categoryIds(Set.of(8L, 9L)).text("gasto").build(), first, 20));
+        assertUsesIndex("findCategoryIdsByUserIdAndActiveTrue",
+                () -> expenseRepositoryPort.findCategoryIdsByUserIdAndActiveTrue(userId));
+        assertUsesIndex("forEachByUserIdAndActiveTrue",
+                () -> expenseRepositoryPort.forEachByUserIdAndActiveTrue(userId, expense -> { }));
+        assertUsesIndex("forEachActive",
+                () -> expenseRepositoryPort.forEachActive(first, 100, expense -> { }));
+        for (ExpenseSummaryGroupBy groupBy : ExpenseSummaryGroupBy.values()) {
+            assertUsesIndex("sumByUserIdAndExpenseDateBetween " + groupBy,
+                    () -> expenseRepositoryPort.sumByUserIdAndExpenseDateBetween(userId, start, end, groupBy));
+        }
+        assertUsesIndex("findByIdAndActiveTrue",
+                () -> expenseRepositoryPort.findByIdAndActiveTrue(900_000_123L));
+    }
+
+    private void assertUsesIndex(String name, Runnable call) {
+        RECORDED.clear();
+        call.run();
+        List<RecordedQuery> queries = RECORDED.stream()
+                .filter(query -> query.sql().contains("expenses"))
+                .toList();
+        assertFalse(queries.isEmpty(), name + ": no consultó la tabla expenses");
+
+        for (RecordedQuery query : queries) {
+            String plan = explain(query);
+            assertTrue(plan.contains("Index"), name + " no usa ningún índice:\n" + plan);
+            // Un recorrido secuencial solo se admite sobre particiones vacías (costo cero para el planner)
+            Matcher seqScan = SEQ_SCAN.matcher(plan);
+            while (seqScan.find()) {
+                String table = seqScan.group(1);
+                assertEquals(0L, jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class),
+                        name + " recorre secuencialmente " + table + ":\n" + plan);
+            }
+        }
+    }
+
+    private String explain(RecordedQuery query) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query.sql())) {
+            for (Binding binding : query.bindings()) {
+                binding.method().invoke(explain, binding.args());
+            }
+            List<String> lines = new ArrayList<>();
+            try (ResultSet resultSet = explain.executeQuery()) {
+                while (resultSet.next()) {
+                    lines.add(resultSet.getString(1));
+                }
+            }
+            return String.join("\n", lines);
+        } catch (SQLException | ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo ejecutar EXPLAIN de: " + query.sql(), e);
+        }
+    }
+
+    private record RecordedQuery(String sql, List<Binding> bindings) {
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    /**
+     * Envuelve el DataSource para registrar cada SELECT preparado junto con las llamadas
+     * set*(índice, valor) que recibió, y poder repetirlas sobre la sentencia EXPLAIN.
+     */
+    @TestConfiguration
+    static class RecordingDataSourceConfiguration {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recording(dataSource) : bean;
+                }
+            };
+        }
+
+        private static DataSource recording(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection connection ? recording(connection) : result);
+        }
+
+        private static Connection recording(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                    method.getName().equals("prepareStatement")
+                            ? recording((PreparedStatement) result, (String) args[0])
+                            : result);
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bindings.add(new Binding(method, args));
+                } else if (method.getName().equals("clearParameters")) {
+                    bindings.clear();
+                } else if (method.getName().equals("executeQuery") && sql.toLowerCase().startsWith("select")) {
+                    RECORDED.add(new RecordedQuery(sql, List.copyOf(bindings)));
+                }
+                return result;
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return afterCall.apply(method, args, result);
+            }));
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object[] args, Object result);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.ms_income.application.usecases;
+
+import com.example.ms_income.domain.ports.IncomeEventSubscriberPort;
+import com.example.ms_income.domain.ports.IncomeOutboxRepositoryPort;
+import com.example.ms_income.domain.ports.IncomeOutboxServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class IncomeOutboxUseCase implements IncomeOutboxServicePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncomeOutboxUseCase.class);
+    private final IncomeOutboxRepositoryPort outboxRepositoryPort;
+    private final List<IncomeEventSubscriberPort> subscribers;
+
+    @Autowired
+    public IncomeOutboxUseCase(IncomeOutboxRepositoryPort outboxRepositoryPort,
+                                List<IncomeEventSubscriberPort> subscribers) {
+        this.outboxRepositoryPort = outboxRepositoryPort;
+        this.subscribers = subscribers;
+        logger.info("Suscriptores de eventos de ingresos registrados: {}",
+                subscribers.stream().map(IncomeEventSubscriberPort::getName).toList());
+    }
+
+    /**
+     * Publica un lote de income_outbox a todos los suscriptores, en orden de outbox_id, y lo
+     * borra solo si todos lo recibieron. Lo invoca IncomeOutboxRelay; devuelve cuántos eventos
+     * publicó (0 si no había pendientes u otra réplica está publicando).
+     */
+    @Override
+    public int relayOutboxEvents(int batchSize) {
+        return outboxRepositoryPort.relay(batchSize, events -> {
+            for (IncomeEventSubscriberPort subscriber : subscribers) {
+                try {
+                    subscriber.publish(events);
+                } catch (RuntimeException e) {
+                    logger.error("El suscriptor {} rechazó {} eventos de ingresos (outbox_id {} a {}): {}",
+                            subscriber.getName(), events.size(), events.get(0).getOutboxId(),
+                            events.get(events.size() - 1).getOutboxId(), e.getMessage());
+                    throw e;
+                }
+            }
+        });
+    }
+
+    @Override
+    public Optional<LocalDateTime> getOldestPendingOutboxEvent() {
+        return outboxRepositoryPort.findOldestCreatedAt();
+    }
+
+    @Override
+    public long countPendingOutboxEvents() {
+        return outboxRepositoryPort.count();
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.ms_income.application.usecases;
 
 import com.example.ms_income.domain.model.Income;
+import com.example.ms_income.domain.model.IncomeCursor;
+import com.example.ms_income.domain.model.IncomeOutboxEvent;
+import com.example.ms_income.domain.model.IncomeView;
+import com.example.ms_income.domain.model.MonthlyBalanceKey;
+import com.example.ms_income.domain.model.MonthlyTotal;
 import com.example.ms_income.domain.model.dto.CategoryInfo;
 import com.example.ms_income.domain.model.dto.IncomeResponse;
 import com.example.ms_income.domain.model.dto.IncomeRequest;
 import com.example.ms_income.domain.model.dto.IncomeUpdateRequest;
+import com.example.ms_income.domain.model.dto.MonthlyTotalItem;
+import com.example.ms_income.domain.model.dto.MonthlyTotalsResponse;
+import com.example.ms_income.domain.model.dto.PageResponse;
+import com.example.ms_income.domain.ports.IncomeOutboxRepositoryPort;
 import com.example.ms_income.domain.ports.IncomeRepositoryPort;
 import com.example.ms_income.domain.ports.IncomeServicePort;
+import com.example.ms_income.domain.ports.MonthlyBalanceRepositoryPort;
 import com.example.ms_income.infrastructure.adapters.output.external.CategoryClient;
 import com.example.ms_income.infrastructure.adapters.output.external.CategoryResponse;
 import lombok.AllArgsConstructor;
@@ -14,23 +24,49 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 public class IncomeUseCase implements IncomeServicePort {
 
     private static final Logger logger = LoggerFactory.getLogger(IncomeUseCase.class);
+    private static final int MAX_PAGE_SIZE = 200;
     private final IncomeRepositoryPort incomeRepositoryPort;
+    private final MonthlyBalanceRepositoryPort monthlyBalanceRepositoryPort;
+    private final IncomeOutboxRepositoryPort outboxRepositoryPort;
     private final CategoryClient categoryClient;
 
+    /*
+     * Límites de transacción explícitos (open-in-view está deshabilitado): el trabajo con la base
+     * de datos se hace dentro de estas transacciones y las llamadas a ms_categories después, con
+     * la conexión ya devuelta al pool.
+     */
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+
     @Autowired
-    public IncomeUseCase(IncomeRepositoryPort incomeRepositoryPort, CategoryClient categoryClient) {
+    public IncomeUseCase(IncomeRepositoryPort incomeRepositoryPort, MonthlyBalanceRepositoryPort monthlyBalanceRepositoryPort,
+                         IncomeOutboxRepositoryPort outboxRepositoryPort, CategoryClient categoryClient,
+                         PlatformTransactionManager transactionManager) {
         this.incomeRepositoryPort = incomeRepositoryPort;
+        this.monthlyBalanceRepositoryPort = monthlyBalanceRepositoryPort;
+        this.outboxRepositoryPort = outboxRepositoryPort;
         this.categoryClient = categoryClient;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
@@ -55,7 +91,13 @@ public class IncomeUseCase implements IncomeServicePort {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        Income savedIncome = incomeRepositoryPort.save(income);
+        // El ingreso, su acumulado mensual y su evento de cambio se escriben en la misma transacción
+        Income savedIncome = transaction.execute(status -> {
+            Income saved = incomeRepositoryPort.save(income);
+            monthlyBalanceRepositoryPort.addToIncomeTotals(MonthlyBalanceKey.totalsOf(List.of(saved)));
+            outboxRepositoryPort.append(List.of(IncomeOutboxEvent.created(saved)));
+            return saved;
+        });
         logger.info("Ingreso creado exitosamente con ID: {} para usuario: {}", savedIncome.getIncomeId(), savedIncome.getUserId());
 
         return mapToResponse(savedIncome);
@@ -65,110 +107,131 @@ public class IncomeUseCase implements IncomeServicePort {
     public IncomeResponse getIncomeById(Long id) {
         logger.info("Obteniendo ingreso con ID: {}", id);
 
-        Income income = incomeRepositoryPort.findByIdAndActiveTrue(id)
-                .orElseThrow(() -> {
-                    logger.error("No se encontró ingreso activo con ID: {}", id);
-                    return new RuntimeException("Ingreso no encontrado con ID: " + id);
-                });
+        Optional<Income> found = readOnlyTransaction.execute(status -> incomeRepositoryPort.findByIdAndActiveTrue(id));
+        Income income = found.orElseThrow(() -> {
+            logger.error("No se encontró ingreso activo con ID: {}", id);
+            return new RuntimeException("Ingreso no encontrado con ID: " + id);
+        });
 
         logger.info("Ingreso encontrado con ID: {} para usuario: {}", id, income.getUserId());
         return mapToResponse(income);
     }
 
     @Override
-    public List<IncomeResponse> getAllIncomes() {
-        logger.info("Obteniendo todos los ingresos activos");
+    public PageResponse<IncomeResponse> getAllIncomes(String cursor, int limit) {
+        logger.info("Obteniendo ingresos activos (limit: {})", limit);
 
-        List<IncomeResponse> incomes = incomeRepositoryPort.findAllActive().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Solo se retiene una página: el filtro de activos y el límite se aplican en la base de datos
+        int pageSize = pageSize(limit);
+        List<IncomeView> rows = new ArrayList<>(pageSize + 1);
+        incomeRepositoryPort.forEachActive(IncomeCursor.decode(cursor), pageSize + 1, rows::add);
+        PageResponse<IncomeResponse> page = toPage(rows, pageSize);
 
-        logger.info("Se encontraron {} ingresos activos", incomes.size());
-        return incomes;
+        logger.info("Se encontraron {} ingresos activos", page.getItems().size());
+        return page;
     }
 
     @Override
-    public List<IncomeResponse> getIncomesByUserId(Long userId) {
-        logger.info("Obteniendo todos los ingresos del usuario: {}", userId);
+    public PageResponse<IncomeResponse> getIncomesByUserId(Long userId, String cursor, int limit) {
+        logger.info("Obteniendo ingresos del usuario: {} (limit: {})", userId, limit);
 
-        List<IncomeResponse> incomes = incomeRepositoryPort.findByUserIdAndActiveTrue(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        List<IncomeView> rows = readOnlyTransaction.execute(status -> incomeRepositoryPort.findPageByUserIdAndActiveTrue(
+                userId, IncomeCursor.decode(cursor), pageSize + 1));
+        PageResponse<IncomeResponse> page = toPage(rows, pageSize);
 
-        logger.info("Se encontraron {} ingresos para el usuario: {}", incomes.size(), userId);
-        return incomes;
+        logger.info("Se encontraron {} ingresos para el usuario: {}", page.getItems().size(), userId);
+        return page;
     }
 
     @Override
-    public List<IncomeResponse> getIncomesByUserIdAndCategory(Long userId, Long categoryId) {
+    public PageResponse<IncomeResponse> getIncomesByUserIdAndCategory(Long userId, Long categoryId, String cursor, int limit) {
         logger.info("Filtrando ingresos por usuario: {} y categoría: {}", userId, categoryId);
 
-        List<IncomeResponse> incomes = incomeRepositoryPort.findByUserIdAndIncomeCategoryIdAndActiveTrue(userId, categoryId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        List<IncomeView> rows = readOnlyTransaction.execute(status -> incomeRepositoryPort.findPageByUserIdAndIncomeCategoryIdAndActiveTrue(
+                userId, categoryId, IncomeCursor.decode(cursor), pageSize + 1));
+        PageResponse<IncomeResponse> page = toPage(rows, pageSize);
 
-        logger.info("Se encontraron {} ingresos para usuario: {} y categoría: {}", incomes.size(), userId, categoryId);
-        return incomes;
+        logger.info("Se encontraron {} ingresos para usuario: {} y categoría: {}", page.getItems().size(), userId, categoryId);
+        return page;
     }
 
     @Override
-    public List<IncomeResponse> getIncomesByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+    public PageResponse<IncomeResponse> getIncomesByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate, String cursor, int limit) {
         logger.info("Filtrando ingresos por usuario: {} en el rango de fechas: {} a {}", userId, startDate.toLocalDate(), endDate.toLocalDate());
 
-        List<IncomeResponse> incomes = incomeRepositoryPort.findByUserIdAndIncomeDateBetweenAndActiveTrue(userId, startDate, endDate).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        List<IncomeView> rows = readOnlyTransaction.execute(status -> incomeRepositoryPort.findPageByUserIdAndIncomeDateBetweenAndActiveTrue(
+                userId, startDate, endDate, IncomeCursor.decode(cursor), pageSize + 1));
+        PageResponse<IncomeResponse> page = toPage(rows, pageSize);
 
-        logger.info("Se encontraron {} ingresos para usuario: {} en el rango de fechas especificado", incomes.size(), userId);
-        return incomes;
+        logger.info("Se encontraron {} ingresos para usuario: {} en el rango de fechas especificado", page.getItems().size(), userId);
+        return page;
     }
 
     @Override
-    public List<IncomeResponse> getIncomesByUserIdAndAmountRange(Long userId, BigDecimal minAmount, BigDecimal maxAmount) {
+    public PageResponse<IncomeResponse> getIncomesByUserIdAndAmountRange(Long userId, BigDecimal minAmount, BigDecimal maxAmount, String cursor, int limit) {
         logger.info("Filtrando ingresos por usuario: {} en el rango de montos: {} a {}", userId, minAmount, maxAmount);
 
-        List<IncomeResponse> incomes = incomeRepositoryPort.findByUserIdAndAmountBetweenAndActiveTrue(userId, minAmount, maxAmount).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        List<IncomeView> rows = readOnlyTransaction.execute(status -> incomeRepositoryPort.findPageByUserIdAndAmountBetweenAndActiveTrue(
+                userId, minAmount, maxAmount, IncomeCursor.decode(cursor), pageSize + 1));
+        PageResponse<IncomeResponse> page = toPage(rows, pageSize);
 
-        logger.info("Se encontraron {} ingresos para usuario: {} en el rango de montos especificado", incomes.size(), userId);
-        return incomes;
+        logger.info("Se encontraron {} ingresos para usuario: {} en el rango de montos especificado", page.getItems().size(), userId);
+        return page;
     }
 
     @Override
     public IncomeResponse updateIncome(Long id, IncomeUpdateRequest request) {
         logger.info("Iniciando actualización de ingreso con ID: {}", id);
 
-        Income income = incomeRepositoryPort.findByIdAndActiveTrue(id)
-                .orElseThrow(() -> {
-                    logger.error("No se encontró ingreso activo con ID: {}", id);
-                    return new RuntimeException("Ingreso no encontrado con ID: " + id);
-                });
-
-        if (request.getIncomeDate() != null) {
-            logger.info("Actualizando fecha de {} a {}", income.getIncomeDate().toLocalDate(), request.getIncomeDate());
-            income.setIncomeDate(request.getIncomeDate().atStartOfDay());
-        }
-        if (request.getAmount() != null) {
-            logger.info("Actualizando monto de {} a {}", income.getAmount(), request.getAmount());
-            income.setAmount(request.getAmount());
+        // Validar que la nueva categoría existe y es de tipo INCOME antes de abrir la transacción
+        if (request.getIncomeCategoryId() != null
+                && !categoryClient.validateExpenseCategoryExists(request.getIncomeCategoryId())) {
+            logger.error("Categoría inválida con ID: {}", request.getIncomeCategoryId());
+            throw new RuntimeException("La categoría con ID " + request.getIncomeCategoryId() +
+                    " no existe, no está activa o no es de tipo EXPENSE");
         }
-        if (request.getIncomeCategoryId() != null) {
-            if (!categoryClient.validateExpenseCategoryExists(request.getIncomeCategoryId())) {
-                logger.error("Categoría inválida con ID: {}", request.getIncomeCategoryId());
-                throw new RuntimeException("La categoría con ID " + request.getIncomeCategoryId() +
-                        " no existe, no está activa o no es de tipo EXPENSE");
+
+        Income updatedIncome = transaction.execute(status -> {
+            Income income = incomeRepositoryPort.findByIdAndActiveTrueForUpdate(id)
+                    .orElseThrow(() -> {
+                        logger.error("No se encontró ingreso activo con ID: {}", id);
+                        return new RuntimeException("Ingreso no encontrado con ID: " + id);
+                    });
+            MonthlyBalanceKey previousKey = MonthlyBalanceKey.of(income);
+            Long previousCategoryId = income.getIncomeCategoryId();
+            LocalDateTime previousDate = income.getIncomeDate();
+            BigDecimal previousAmount = income.getAmount();
+
+            if (request.getIncomeDate() != null) {
+                logger.info("Actualizando fecha de {} a {}", income.getIncomeDate().toLocalDate(), request.getIncomeDate());
+                income.setIncomeDate(request.getIncomeDate().atStartOfDay());
             }
-            logger.info("Actualizando categoría de {} a {}", income.getIncomeCategoryId(), request.getIncomeCategoryId());
-            income.setIncomeCategoryId(request.getIncomeCategoryId());
-        }
-        if (request.getDescription() != null) {
-            logger.info("Actualizando descripción del ingreso");
-            income.setDescription(request.getDescription());
-        }
-        income.setUpdatedAt(LocalDateTime.now());
+            if (request.getAmount() != null) {
+                logger.info("Actualizando monto de {} a {}", income.getAmount(), request.getAmount());
+                income.setAmount(request.getAmount());
+            }
+            if (request.getIncomeCategoryId() != null) {
+                logger.info("Actualizando categoría de {} a {}", income.getIncomeCategoryId(), request.getIncomeCategoryId());
+                income.setIncomeCategoryId(request.getIncomeCategoryId());
+            }
+            if (request.getDescription() != null) {
+                logger.info("Actualizando descripción del ingreso");
+                income.setDescription(request.getDescription());
+            }
+            income.setUpdatedAt(LocalDateTime.now());
+
+            // Se descuenta el monto anterior de su celda y se suma el nuevo (pueden ser la misma)
+            SortedMap<MonthlyBalanceKey, BigDecimal> deltas = MonthlyBalanceKey.totalsOf(List.of(income));
+            deltas.merge(previousKey, previousAmount.negate(), BigDecimal::add);
+            monthlyBalanceRepositoryPort.addToIncomeTotals(deltas);
+            outboxRepositoryPort.append(IncomeOutboxEvent.updated(income, previousCategoryId, previousDate, previousAmount));
 
-        Income updatedIncome = incomeRepositoryPort.save(income);
+            return incomeRepositoryPort.save(income);
+        });
         logger.info("Ingreso actualizado exitosamente con ID: {}", updatedIncome.getIncomeId());
 
         return mapToResponse(updatedIncome);
@@ -178,20 +241,130 @@ public class IncomeUseCase implements IncomeServicePort {
     public void deleteIncome(Long id) {
         logger.info("Iniciando eliminación lógica de ingreso con ID: {}", id);
 
-        Income income = incomeRepositoryPort.findByIdAndActiveTrue(id)
-                .orElseThrow(() -> {
-                    logger.error("No se encontró ingreso activo con ID: {} para eliminar", id);
-                    return new RuntimeException("Ingreso no encontrado con ID: " + id);
-                });
-
-        income.setActive(false);
-        income.setUpdatedAt(LocalDateTime.now());
-        incomeRepositoryPort.save(income);
+        transaction.executeWithoutResult(status -> {
+            Income income = incomeRepositoryPort.findByIdAndActiveTrueForUpdate(id)
+                    .orElseThrow(() -> {
+                        logger.error("No se encontró ingreso activo con ID: {} para eliminar", id);
+                        return new RuntimeException("Ingreso no encontrado con ID: " + id);
+                    });
+
+            income.setActive(false);
+            income.setUpdatedAt(LocalDateTime.now());
+            incomeRepositoryPort.save(income);
+            monthlyBalanceRepositoryPort.addToIncomeTotals(
+                    new TreeMap<>(Map.of(MonthlyBalanceKey.of(income), income.getAmount().negate())));
+            outboxRepositoryPort.append(List.of(IncomeOutboxEvent.deleted(income)));
+        });
 
         logger.info("Ingreso eliminado lógicamente exitosamente con ID: {}", id);
     }
 
+    /**
+     * Totales mensuales por categoría leídos de monthly_balances (una fila por mes y categoría),
+     * para los meses que tocan el rango [from, to].
+     */
+    @Override
+    public MonthlyTotalsResponse getMonthlyTotals(Long userId, LocalDate from, LocalDate to) {
+        logger.info("Obteniendo totales mensuales de ingresos del usuario: {} entre {} y {}", userId, from, to);
+
+        LocalDate fromMonth = from.withDayOfMonth(1);
+        LocalDate toMonth = to.withDayOfMonth(1);
+        List<MonthlyTotal> totals = readOnlyTransaction.execute(status ->
+                monthlyBalanceRepositoryPort.findIncomeTotals(userId, fromMonth, toMonth));
+
+        MonthlyTotalsResponse response = MonthlyTotalsResponse.builder()
+                .from(fromMonth)
+                .to(toMonth)
+                .total(totals.stream().map(MonthlyTotal::getTotal).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .months(totals.stream()
+                        .map(total -> MonthlyTotalItem.builder()
+                                .month(total.getMonthStart())
+                                .incomeCategoryId(total.getCategoryId())
+                                .total(total.getTotal())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+
+        logger.info("Se encontraron {} totales mensuales para el usuario: {}", response.getMonths().size(), userId);
+        return response;
+    }
+
+    /**
+     * Verifica monthly_balances contra los ingresos activos y recalcula los usuarios con
+     * diferencias. Devuelve el número de celdas corregidas.
+     */
+    @Override
+    public int reconcileMonthlyBalances() {
+        List<Long> userIds = monthlyBalanceRepositoryPort.findUserIdsWithDrift();
+        int repaired = 0;
+        for (Long userId : userIds) {
+            int cells = monthlyBalanceRepositoryPort.reconcile(userId);
+            if (cells > 0) {
+                logger.warn("Acumulado mensual del usuario {} corregido en {} celdas", userId, cells);
+            }
+            repaired += cells;
+        }
+        logger.info("Conciliación de acumulados mensuales finalizada: {} usuarios revisados, {} celdas corregidas",
+                userIds.size(), repaired);
+        return repaired;
+    }
+
+    /**
+     * Mueve un lote de ingresos eliminados lógicamente antes de deletedBefore a incomes_archive.
+     * Lo invoca IncomeArchiver en lotes acotados; devuelve cuántos ingresos movió.
+     */
+    @Override
+    public int archiveDeletedIncomes(LocalDateTime deletedBefore, int batchSize) {
+        int moved = incomeRepositoryPort.archiveInactive(deletedBefore, batchSize);
+        if (moved > 0) {
+            logger.info("Se archivaron {} ingresos eliminados antes de {}", moved, deletedBefore);
+        }
+        return moved;
+    }
+
+    @Override
+    public Optional<LocalDateTime> getOldestDeletedIncomePendingArchive(LocalDateTime deletedBefore) {
+        return readOnlyTransaction.execute(status -> incomeRepositoryPort.findOldestInactiveUpdatedAt(deletedBefore));
+    }
+
+    @Override
+    public PageResponse<IncomeResponse> getArchivedIncomes(Long userId, String cursor, int limit) {
+        logger.info("Obteniendo ingresos archivados del usuario: {} (limit: {})", userId, limit);
+
+        int pageSize = pageSize(limit);
+        List<IncomeView> rows = readOnlyTransaction.execute(status -> incomeRepositoryPort.findArchivedPageByUserId(
+                userId, IncomeCursor.decode(cursor), pageSize + 1));
+        PageResponse<IncomeResponse> page = toPage(rows, pageSize);
+
+        logger.info("Se encontraron {} ingresos archivados para el usuario: {}", page.getItems().size(), userId);
+        return page;
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Construye la página a partir de una consulta que pidió pageSize + 1 filas:
+     * la fila extra solo indica que existe una página siguiente.
+     */
+    private PageResponse<IncomeResponse> toPage(List<IncomeView> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<IncomeView> incomes = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? IncomeCursor.after(incomes.get(incomes.size() - 1)).encode() : null;
+
+        return PageResponse.<IncomeResponse>builder()
+                .items(incomes.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .limit(pageSize)
+                .build();
+    }
+
     private IncomeResponse mapToResponse(Income income) {
+        return mapToResponse(IncomeView.from(income));
+    }
+
+    private IncomeResponse mapToResponse(IncomeView income) {
         // Obtener información de la categoría
         CategoryInfo categoryInfo = null;
         try {
@@ -201,6 +374,7 @@ public class IncomeUseCase implements IncomeServicePort {
                         .name(categoryResponse.getName())
                         .description(categoryResponse.getDescription())
                         .type(categoryResponse.getType() != null ? categoryResponse.getType().toString() : null)
+                        .stale(categoryResponse.isStale())
                         .build();
                 logger.debug("Información de categoría obtenida para el gasto ID: {}", income.getIncomeId());
             } else {
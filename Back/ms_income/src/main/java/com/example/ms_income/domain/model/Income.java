@@ -14,7 +14,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "incomes")
+@Table(name = "incomes",
+       indexes = {
+           @Index(name = "idx_incomes_user_date_id", columnList = "user_id, income_date DESC, income_id DESC"),
+           @Index(name = "idx_incomes_user_category_date_id", columnList = "user_id, income_category_id, income_date DESC, income_id DESC"),
+           @Index(name = "idx_incomes_user_amount", columnList = "user_id, amount"),
+           @Index(name = "idx_incomes_date_id", columnList = "income_date DESC, income_id DESC")
+       })
 public class Income {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
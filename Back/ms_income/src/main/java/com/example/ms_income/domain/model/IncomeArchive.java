@@ -0,0 +1,56 @@
+package com.example.ms_income.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ingreso eliminado lógicamente que el archivador sacó de incomes. Mismas columnas que Income
+ * más archived_at; income_id conserva el valor original. Solo se escribe en bloque desde
+ * IncomeRepositoryAdapter.archiveInactive y se lee desde el endpoint administrativo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "incomes_archive",
+       indexes = {
+           @Index(name = "idx_incomes_archive_user_date_id", columnList = "user_id, income_date DESC, income_id DESC")
+       })
+public class IncomeArchive {
+
+    @Id
+    @Column(name = "income_id")
+    private Long incomeId;
+
+    @Column(name = "income_date", nullable = false)
+    private LocalDateTime incomeDate;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "income_category_id", nullable = false)
+    private Long incomeCategoryId;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "active", nullable = false)
+    private Boolean active;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,47 @@
+package com.example.ms_income.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posición de paginación sobre el orden (income_date DESC, income_id DESC).
+ * Se expone al cliente como un string opaco (Base64 URL-safe).
+ */
+@Data
+@AllArgsConstructor
+public class IncomeCursor {
+
+    /**
+     * Cursor de la primera página: cualquier ingreso real queda "antes" de esta posición.
+     */
+    public static final IncomeCursor FIRST = new IncomeCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private LocalDateTime incomeDate;
+    private Long incomeId;
+
+    public static IncomeCursor after(IncomeView income) {
+        return new IncomeCursor(income.getIncomeDate(), income.getIncomeId());
+    }
+
+    public String encode() {
+        String raw = incomeDate + "|" + incomeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static IncomeCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new IncomeCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ms_income.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cambio de un ingreso registrado en income_outbox dentro de la misma transacción que lo escribe.
+ * Es compacto: operación, ingreso, usuario, categoría, delta del monto y fecha; sumar amountDelta
+ * por (usuario, categoría, fecha) reproduce los totales de los ingresos activos. outbox_id lo
+ * asigna la base al insertar y es el orden de publicación de IncomeOutboxRelay.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "income_outbox")
+public class IncomeOutboxEvent {
+
+    public enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 10)
+    private Operation operation;
+
+    @Column(name = "income_id", nullable = false)
+    private Long incomeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "income_category_id", nullable = false)
+    private Long incomeCategoryId;
+
+    @Column(name = "amount_delta", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amountDelta;
+
+    @Column(name = "income_date", nullable = false)
+    private LocalDate incomeDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Hasta cuándo lo tiene reservado el relay que lo está publicando; null si nadie lo publica
+    @JsonIgnore
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    public static IncomeOutboxEvent created(Income income) {
+        return of(Operation.CREATED, income, income.getIncomeCategoryId(), income.getIncomeDate(), income.getAmount());
+    }
+
+    public static IncomeOutboxEvent deleted(Income income) {
+        return of(Operation.DELETED, income, income.getIncomeCategoryId(), income.getIncomeDate(), income.getAmount().negate());
+    }
+
+    /**
+     * Eventos de una actualización: uno con la diferencia de monto si no cambió la categoría ni
+     * la fecha; si cambió alguna, uno que descuenta el monto anterior de su categoría y fecha y
+     * otro que suma el nuevo.
+     */
+    public static List<IncomeOutboxEvent> updated(Income income, Long previousCategoryId,
+                                                   LocalDateTime previousDate, BigDecimal previousAmount) {
+        if (Objects.equals(previousCategoryId, income.getIncomeCategoryId())
+                && previousDate.toLocalDate().equals(income.getIncomeDate().toLocalDate())) {
+            return List.of(of(Operation.UPDATED, income, previousCategoryId, previousDate,
+                    income.getAmount().subtract(previousAmount)));
+        }
+        return List.of(
+                of(Operation.UPDATED, income, previousCategoryId, previousDate, previousAmount.negate()),
+                of(Operation.UPDATED, income, income.getIncomeCategoryId(), income.getIncomeDate(), income.getAmount()));
+    }
+
+    private static IncomeOutboxEvent of(Operation operation, Income income, Long categoryId,
+                                         LocalDateTime date, BigDecimal amountDelta) {
+        return IncomeOutboxEvent.builder()
+                .operation(operation)
+                .incomeId(income.getIncomeId())
+                .userId(income.getUserId())
+                .incomeCategoryId(categoryId)
+                .amountDelta(amountDelta)
+                .incomeDate(date.toLocalDate())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.ms_income.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de ingreso para los listados, construida directamente por la consulta (SELECT new ...).
+ * No es una entidad: Hibernate no la registra en el contexto de persistencia, no guarda su
+ * snapshot ni la revisa en el flush.
+ */
+@Data
+@AllArgsConstructor
+public class IncomeView {
+
+    private Long incomeId;
+    private LocalDateTime incomeDate;
+    private BigDecimal amount;
+    private Long incomeCategoryId;
+    private String description;
+    private Long userId;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static IncomeView from(Income income) {
+        return new IncomeView(income.getIncomeId(), income.getIncomeDate(), income.getAmount(),
+                income.getIncomeCategoryId(), income.getDescription(), income.getUserId(), income.getActive(),
+                income.getCreatedAt(), income.getUpdatedAt());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ms_income.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Acumulado mensual por usuario y categoría, mantenido de forma incremental en la misma
+ * transacción que cada alta, cambio o baja de ingreso. ms_income solo escribe total_income;
+ * total_expense lo mantiene ms_expense sobre la misma estructura en su base, y las dos columnas
+ * coinciden en una sola fila si ambos servicios comparten base de datos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "monthly_balances")
+@IdClass(MonthlyBalanceKey.class)
+public class MonthlyBalance {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "total_income", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalIncome;
+
+    @Column(name = "total_expense", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalExpense;
+}
@@ -0,0 +1,57 @@
+package com.example.ms_income.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Clave de monthly_balances: usuario, primer día del mes y categoría. El orden natural es el
+ * orden en que se bloquean las filas, igual para escrituras y conciliación (evita deadlocks).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyBalanceKey implements Serializable, Comparable<MonthlyBalanceKey> {
+
+    private static final Comparator<MonthlyBalanceKey> ORDER = Comparator
+            .comparing(MonthlyBalanceKey::getUserId)
+            .thenComparing(MonthlyBalanceKey::getMonthStart)
+            .thenComparing(MonthlyBalanceKey::getCategoryId);
+
+    private Long userId;
+    private LocalDate monthStart;
+    private Long categoryId;
+
+    public static MonthlyBalanceKey of(Income income) {
+        return of(income.getUserId(), income.getIncomeDate(), income.getIncomeCategoryId());
+    }
+
+    public static MonthlyBalanceKey of(Long userId, LocalDateTime date, Long categoryId) {
+        return new MonthlyBalanceKey(userId, date.toLocalDate().withDayOfMonth(1), categoryId);
+    }
+
+    /**
+     * Suma de montos por celda, en el orden de la clave
+     */
+    public static SortedMap<MonthlyBalanceKey, BigDecimal> totalsOf(Collection<Income> incomes) {
+        SortedMap<MonthlyBalanceKey, BigDecimal> totals = new TreeMap<>();
+        for (Income income : incomes) {
+            totals.merge(of(income), income.getAmount(), BigDecimal::add);
+        }
+        return totals;
+    }
+
+    @Override
+    public int compareTo(MonthlyBalanceKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ms_income.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Total de ingresos de un mes y una categoría, leído de monthly_balances.
+ */
+@Data
+@AllArgsConstructor
+public class MonthlyTotal {
+
+    private LocalDate monthStart;
+    private Long categoryId;
+    private BigDecimal total;
+}
@@ -0,0 +1,19 @@
+package com.example.ms_income.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyTotalItem {
+    private LocalDate month;
+    private Long incomeCategoryId;
+    private BigDecimal total;
+}
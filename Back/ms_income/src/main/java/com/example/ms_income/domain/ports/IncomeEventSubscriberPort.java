@@ -0,0 +1,16 @@
+package com.example.ms_income.domain.ports;
+
+import com.example.ms_income.domain.model.IncomeOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destino de los eventos de income_outbox. Todo bean que implemente esta interfaz queda
+ * registrado en IncomeOutboxUseCase y recibe cada lote en orden de outbox_id. La entrega es
+ * al menos una vez: si un suscriptor lanza una excepción, el lote completo se reintenta (también
+ * para los que ya lo recibieron), así que deben descartar duplicados por outboxId.
+ */
+public interface IncomeEventSubscriberPort {
+    String getName();
+    void publish(List<IncomeOutboxEvent> events);
+}
@@ -0,0 +1,15 @@
+package com.example.ms_income.domain.ports;
+
+import com.example.ms_income.domain.model.IncomeOutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface IncomeOutboxRepositoryPort {
+    void append(List<IncomeOutboxEvent> events);
+    int relay(int batchSize, Consumer<List<IncomeOutboxEvent>> publisher);
+    Optional<LocalDateTime> findOldestCreatedAt();
+    long count();
+}
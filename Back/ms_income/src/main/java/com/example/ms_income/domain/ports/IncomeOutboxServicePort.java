@@ -0,0 +1,10 @@
+package com.example.ms_income.domain.ports;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IncomeOutboxServicePort {
+    int relayOutboxEvents(int batchSize);
+    Optional<LocalDateTime> getOldestPendingOutboxEvent();
+    long countPendingOutboxEvents();
+}
@@ -1,18 +1,25 @@
 package com.example.ms_income.domain.ports;
 
 import com.example.ms_income.domain.model.Income;
+import com.example.ms_income.domain.model.IncomeCursor;
+import com.example.ms_income.domain.model.IncomeView;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IncomeRepositoryPort {
     Income save(Income income);
     Optional<Income> findByIdAndActiveTrue(Long id);
-    List<Income> findAllActive();
-    List<Income> findByUserIdAndActiveTrue(Long userId);
-    List<Income> findByUserIdAndIncomeCategoryIdAndActiveTrue(Long userId, Long categoryId);
-    List<Income> findByUserIdAndIncomeDateBetweenAndActiveTrue(Long userId, LocalDateTime startDate, LocalDateTime endDate);
-    List<Income> findByUserIdAndAmountBetweenAndActiveTrue(Long userId, BigDecimal minAmount, BigDecimal maxAmount);
+    Optional<Income> findByIdAndActiveTrueForUpdate(Long id);
+    void forEachActive(IncomeCursor after, int limit, Consumer<IncomeView> action);
+    List<IncomeView> findPageByUserIdAndActiveTrue(Long userId, IncomeCursor after, int limit);
+    List<IncomeView> findPageByUserIdAndIncomeCategoryIdAndActiveTrue(Long userId, Long categoryId, IncomeCursor after, int limit);
+    List<IncomeView> findPageByUserIdAndIncomeDateBetweenAndActiveTrue(Long userId, LocalDateTime startDate, LocalDateTime endDate, IncomeCursor after, int limit);
+    List<IncomeView> findPageByUserIdAndAmountBetweenAndActiveTrue(Long userId, BigDecimal minAmount, BigDecimal maxAmount, IncomeCursor after, int limit);
+    int archiveInactive(LocalDateTime deletedBefore, int limit);
+    Optional<LocalDateTime> findOldestInactiveUpdatedAt(LocalDateTime deletedBefore);
+    List<IncomeView> findArchivedPageByUserId(Long userId, IncomeCursor after, int limit);
 }
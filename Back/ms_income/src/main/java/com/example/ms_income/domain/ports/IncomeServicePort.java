@@ -3,19 +3,28 @@ package com.example.ms_income.domain.ports;
 import com.example.ms_income.domain.model.dto.IncomeRequest;
 import com.example.ms_income.domain.model.dto.IncomeResponse;
 import com.example.ms_income.domain.model.dto.IncomeUpdateRequest;
+import com.example.ms_income.domain.model.dto.MonthlyTotalsResponse;
+import com.example.ms_income.domain.model.dto.PageResponse;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface IncomeServicePort {
     IncomeResponse createIncome(IncomeRequest request);
     IncomeResponse getIncomeById(Long id);
-    List<IncomeResponse> getAllIncomes();
-    List<IncomeResponse> getIncomesByUserId(Long userId);
-    List<IncomeResponse> getIncomesByUserIdAndCategory(Long userId, Long categoryId);
-    List<IncomeResponse> getIncomesByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate);
-    List<IncomeResponse> getIncomesByUserIdAndAmountRange(Long userId, BigDecimal minAmount, BigDecimal maxAmount);
+    PageResponse<IncomeResponse> getAllIncomes(String cursor, int limit);
+    PageResponse<IncomeResponse> getIncomesByUserId(Long userId, String cursor, int limit);
+    PageResponse<IncomeResponse> getIncomesByUserIdAndCategory(Long userId, Long categoryId, String cursor, int limit);
+    PageResponse<IncomeResponse> getIncomesByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate, String cursor, int limit);
+    PageResponse<IncomeResponse> getIncomesByUserIdAndAmountRange(Long userId, BigDecimal minAmount, BigDecimal maxAmount, String cursor, int limit);
     IncomeResponse updateIncome(Long id, IncomeUpdateRequest request);
     void deleteIncome(Long id);
+    MonthlyTotalsResponse getMonthlyTotals(Long userId, LocalDate from, LocalDate to);
+    int reconcileMonthlyBalances();
+    int archiveDeletedIncomes(LocalDateTime deletedBefore, int batchSize);
+    Optional<LocalDateTime> getOldestDeletedIncomePendingArchive(LocalDateTime deletedBefore);
+    PageResponse<IncomeResponse> getArchivedIncomes(Long userId, String cursor, int limit);
 }
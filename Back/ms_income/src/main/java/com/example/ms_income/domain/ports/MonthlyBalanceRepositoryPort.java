@@ -0,0 +1,16 @@
+package com.example.ms_income.domain.ports;
+
+import com.example.ms_income.domain.model.MonthlyBalanceKey;
+import com.example.ms_income.domain.model.MonthlyTotal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SortedMap;
+
+public interface MonthlyBalanceRepositoryPort {
+    void addToIncomeTotals(SortedMap<MonthlyBalanceKey, BigDecimal> deltas);
+    List<MonthlyTotal> findIncomeTotals(Long userId, LocalDate fromMonth, LocalDate toMonth);
+    List<Long> findUserIdsWithDrift();
+    int reconcile(Long userId);
+}
@@ -3,6 +3,8 @@ package com.example.ms_income.infrastructure.adapters.input.rest;
 import com.example.ms_income.domain.model.dto.IncomeRequest;
 import com.example.ms_income.domain.model.dto.IncomeResponse;
 import com.example.ms_income.domain.model.dto.IncomeUpdateRequest;
+import com.example.ms_income.domain.model.dto.MonthlyTotalsResponse;
+import com.example.ms_income.domain.model.dto.PageResponse;
 import com.example.ms_income.domain.ports.IncomeServicePort;
 import com.example.ms_income.infrastructure.security.JwtUtil;
 import org.slf4j.Logger;
@@ -17,7 +19,6 @@ import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/incomes")
@@ -25,6 +26,8 @@ import java.util.List;
 public class IncomeController {
 
     private static final Logger logger = LoggerFactory.getLogger(IncomeController.class);
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final String ADMIN_ROLE = "ADMIN";
     private final IncomeServicePort incomeServicePort;
     private final JwtUtil jwtUtil;
 
@@ -55,6 +58,14 @@ public class IncomeController {
         throw new IllegalArgumentException("Invalid or missing Authorization header");
     }
 
+    /**
+     * Check that the JWT token belongs to an administrator
+     */
+    private boolean isAdmin(String authHeader) {
+        String token = extractToken(authHeader);
+        return token != null && ADMIN_ROLE.equals(jwtUtil.extractRole(token));
+    }
+
     @PostMapping
     public ResponseEntity<IncomeResponse> createIncome(
             @RequestHeader("Authorization") String authHeader,
@@ -121,25 +132,29 @@ public class IncomeController {
     }
 
     @GetMapping
-    public ResponseEntity<List<IncomeResponse>> getAllIncomes(
-            @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<PageResponse<IncomeResponse>> getAllIncomes(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
 
         // Extract userId from JWT token
         Long userId = extractUserId(authHeader);
 
-        logger.info("Solicitud recibida para obtener todos los ingresos del usuario: {}", userId);
+        logger.info("Solicitud recibida para obtener los ingresos del usuario: {}", userId);
 
-        List<IncomeResponse> responses = incomeServicePort.getIncomesByUserId(userId);
+        PageResponse<IncomeResponse> page = incomeServicePort.getIncomesByUserId(userId, cursor, limit);
 
-        logger.info("Respuesta enviada con {} ingresos para usuario: {}", responses.size(), userId);
-        return ResponseEntity.ok(responses);
+        logger.info("Respuesta enviada con {} ingresos para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<IncomeResponse>> getIncomesByDateRange(
+    public ResponseEntity<PageResponse<IncomeResponse>> getIncomesByDateRange(
             @RequestHeader("Authorization") String authHeader,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
 
         // Extract userId from JWT token
         Long userId = extractUserId(authHeader);
@@ -150,16 +165,18 @@ public class IncomeController {
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
 
-        List<IncomeResponse> responses = incomeServicePort.getIncomesByUserIdAndDateRange(userId, startDateTime, endDateTime);
+        PageResponse<IncomeResponse> page = incomeServicePort.getIncomesByUserIdAndDateRange(userId, startDateTime, endDateTime, cursor, limit);
 
-        logger.info("Respuesta enviada con {} ingresos filtrados por fecha para usuario: {}", responses.size(), userId);
-        return ResponseEntity.ok(responses);
+        logger.info("Respuesta enviada con {} ingresos filtrados por fecha para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<IncomeResponse>> getIncomesByCategory(
+    public ResponseEntity<PageResponse<IncomeResponse>> getIncomesByCategory(
             @RequestHeader("Authorization") String authHeader,
-            @PathVariable Long categoryId) {
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
 
         // Extract userId from JWT token
         Long userId = extractUserId(authHeader);
@@ -167,17 +184,19 @@ public class IncomeController {
         logger.info("Solicitud recibida para filtrar ingresos por categoría - Usuario: {}, Categoría: {}",
                 userId, categoryId);
 
-        List<IncomeResponse> responses = incomeServicePort.getIncomesByUserIdAndCategory(userId, categoryId);
+        PageResponse<IncomeResponse> page = incomeServicePort.getIncomesByUserIdAndCategory(userId, categoryId, cursor, limit);
 
-        logger.info("Respuesta enviada con {} ingresos filtrados por categoría para usuario: {}", responses.size(), userId);
-        return ResponseEntity.ok(responses);
+        logger.info("Respuesta enviada con {} ingresos filtrados por categoría para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/amount-range")
-    public ResponseEntity<List<IncomeResponse>> getIncomesByAmountRange(
+    public ResponseEntity<PageResponse<IncomeResponse>> getIncomesByAmountRange(
             @RequestHeader("Authorization") String authHeader,
             @RequestParam BigDecimal minAmount,
-            @RequestParam BigDecimal maxAmount) {
+            @RequestParam BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
 
         // Extract userId from JWT token
         Long userId = extractUserId(authHeader);
@@ -185,9 +204,55 @@ public class IncomeController {
         logger.info("Solicitud recibida para filtrar ingresos por monto - Usuario: {}, Rango: {} a {}",
                 userId, minAmount, maxAmount);
 
-        List<IncomeResponse> responses = incomeServicePort.getIncomesByUserIdAndAmountRange(userId, minAmount, maxAmount);
+        PageResponse<IncomeResponse> page = incomeServicePort.getIncomesByUserIdAndAmountRange(userId, minAmount, maxAmount, cursor, limit);
+
+        logger.info("Respuesta enviada con {} ingresos filtrados por monto para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Totales por mes y categoría de los meses que tocan el rango, leídos del acumulado
+     * monthly_balances: el costo depende del número de meses, no del número de ingresos.
+     */
+    @GetMapping("/monthly-totals")
+    public ResponseEntity<MonthlyTotalsResponse> getMonthlyTotals(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+
+        // Extract userId from JWT token
+        Long userId = extractUserId(authHeader);
+
+        logger.info("Solicitud recibida para totales mensuales de ingresos - Usuario: {}, Rango: {} a {}", userId, from, to);
+
+        MonthlyTotalsResponse totals = incomeServicePort.getMonthlyTotals(userId, from, to);
+
+        logger.info("Respuesta enviada con {} totales mensuales para usuario: {}", totals.getMonths().size(), userId);
+        return ResponseEntity.ok(totals);
+    }
+
+    /**
+     * Ingresos de un usuario que IncomeArchiver ya movió a incomes_archive (eliminados hace más
+     * de incomes.archive.retention). Solo para administradores.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<PageResponse<IncomeResponse>> getArchivedIncomes(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+
+        Long adminId = extractUserId(authHeader);
+        if (!isAdmin(authHeader)) {
+            logger.warn("Usuario {} sin rol {} intentó consultar ingresos archivados del usuario {}", adminId, ADMIN_ROLE, userId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        logger.info("Solicitud recibida para consultar ingresos archivados - Usuario: {}, Administrador: {}", userId, adminId);
+
+        PageResponse<IncomeResponse> page = incomeServicePort.getArchivedIncomes(userId, cursor, limit);
 
-        logger.info("Respuesta enviada con {} ingresos filtrados por monto para usuario: {}", responses.size(), userId);
-        return ResponseEntity.ok(responses);
+        logger.info("Respuesta enviada con {} ingresos archivados para usuario: {}", page.getItems().size(), userId);
+        return ResponseEntity.ok(page);
     }
 }
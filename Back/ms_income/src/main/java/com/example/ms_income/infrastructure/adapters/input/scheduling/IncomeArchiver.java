@@ -0,0 +1,100 @@
+package com.example.ms_income.infrastructure.adapters.input.scheduling;
+
+import com.example.ms_income.domain.ports.IncomeServicePort;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saca de incomes los ingresos eliminados lógicamente hace más de incomes.archive.retention y
+ * los mueve a incomes_archive, para que la tabla caliente (y sus índices) solo crezca con los
+ * ingresos activos. Trabaja en lotes de incomes.archive.batch-size filas; cada lote pide ese
+ * número de permisos al rate limiter incomeArchive (filas por segundo), así una ejecución con
+ * mucho atraso no satura la base. Si no obtiene permisos, la ejecución termina y sigue en la
+ * próxima.
+ * <p>
+ * Métricas: incomes.archive.rows (filas movidas) y incomes.archive.lag (segundos entre el
+ * corte de retención y el ingreso eliminado más antiguo aún pendiente; 0 si no hay pendientes).
+ */
+@Component
+public class IncomeArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncomeArchiver.class);
+
+    private final IncomeServicePort incomeServicePort;
+    private final RateLimiter rateLimiter;
+    private final Counter archivedRows;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+
+    public IncomeArchiver(IncomeServicePort incomeServicePort,
+                           RateLimiterRegistry rateLimiterRegistry,
+                           MeterRegistry meterRegistry,
+                           @Value("${incomes.archive.enabled:true}") boolean enabled,
+                           @Value("${incomes.archive.retention:90d}") Duration retention,
+                           @Value("${incomes.archive.batch-size:500}") int batchSize) {
+        this.incomeServicePort = incomeServicePort;
+        this.rateLimiter = rateLimiterRegistry.rateLimiter("incomeArchive");
+        this.archivedRows = Counter.builder("incomes.archive.rows")
+                .description("Ingresos eliminados movidos a incomes_archive")
+                .register(meterRegistry);
+        Gauge.builder("incomes.archive.lag", lagSeconds, AtomicLong::get)
+                .description("Antigüedad del ingreso eliminado más antiguo pendiente de archivar, respecto al corte de retención")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${incomes.archive.interval:10m}", initialDelayString = "${incomes.archive.initial-delay:1m}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long total = 0;
+        try {
+            int moved;
+            do {
+                if (!rateLimiter.acquirePermission(batchSize)) {
+                    logger.warn("Límite de archivado alcanzado tras mover {} ingresos; se continúa en la próxima ejecución", total);
+                    break;
+                }
+                moved = incomeServicePort.archiveDeletedIncomes(cutoff, batchSize);
+                archivedRows.increment(moved);
+                total += moved;
+            } while (moved == batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Error al archivar ingresos eliminados (movidos en esta ejecución: {}): {}", total, e.getMessage(), e);
+        } finally {
+            updateLag(cutoff);
+        }
+        if (total > 0) {
+            logger.info("Archivado completado: {} ingresos movidos a incomes_archive", total);
+        }
+    }
+
+    private void updateLag(LocalDateTime cutoff) {
+        try {
+            lagSeconds.set(incomeServicePort.getOldestDeletedIncomePendingArchive(cutoff)
+                    .map(oldest -> Duration.between(oldest, cutoff).toSeconds())
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo calcular el atraso del archivado: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ms_income.infrastructure.adapters.input.scheduling;
+
+import com.example.ms_income.domain.ports.IncomeOutboxServicePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica los eventos de income_outbox a los suscriptores registrados. Corre en el hilo del
+ * scheduler, fuera de las solicitudes: las escrituras de ingresos solo insertan el evento en su
+ * transacción y no esperan a la publicación. Cada ejecución publica lotes de
+ * incomes.outbox.batch-size eventos hasta vaciar la tabla; si un suscriptor falla, el lote
+ * queda pendiente y se reintenta en la próxima ejecución (incomes.outbox.poll-interval).
+ * <p>
+ * Métricas: incomes.outbox.published (eventos publicados), incomes.outbox.failures (lotes
+ * rechazados), incomes.outbox.pending (eventos por publicar) y incomes.outbox.lag (segundos
+ * desde que se escribió el evento pendiente más antiguo; 0 si no hay pendientes).
+ */
+@Component
+public class IncomeOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncomeOutboxRelay.class);
+
+    private final IncomeOutboxServicePort incomeOutboxServicePort;
+    private final Counter publishedEvents;
+    private final Counter failures;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final boolean enabled;
+    private final int batchSize;
+
+    public IncomeOutboxRelay(IncomeOutboxServicePort incomeOutboxServicePort,
+                              MeterRegistry meterRegistry,
+                              @Value("${incomes.outbox.enabled:true}") boolean enabled,
+                              @Value("${incomes.outbox.batch-size:200}") int batchSize) {
+        this.incomeOutboxServicePort = incomeOutboxServicePort;
+        this.publishedEvents = Counter.builder("incomes.outbox.published")
+                .description("Eventos de income_outbox entregados a todos los suscriptores")
+                .register(meterRegistry);
+        this.failures = Counter.builder("incomes.outbox.failures")
+                .description("Lotes de income_outbox que quedaron pendientes por un error al publicar")
+                .register(meterRegistry);
+        Gauge.builder("incomes.outbox.pending", pending, AtomicLong::get)
+                .description("Eventos de income_outbox pendientes de publicar")
+                .register(meterRegistry);
+        Gauge.builder("incomes.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Antigüedad del evento más antiguo pendiente de publicar en income_outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${incomes.outbox.poll-interval:1s}", initialDelayString = "${incomes.outbox.initial-delay:10s}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        long total = 0;
+        try {
+            int published;
+            do {
+                published = incomeOutboxServicePort.relayOutboxEvents(batchSize);
+                publishedEvents.increment(published);
+                total += published;
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.warn("Publicación de eventos de ingresos interrumpida tras {} eventos; se reintenta en la próxima ejecución: {}",
+                    total, e.getMessage());
+        } finally {
+            updateLag();
+        }
+        if (total > 0) {
+            logger.debug("Se publicaron {} eventos de ingresos", total);
+        }
+    }
+
+    private void updateLag() {
+        try {
+            pending.set(incomeOutboxServicePort.countPendingOutboxEvents());
+            lagSeconds.set(incomeOutboxServicePort.getOldestPendingOutboxEvent()
+                    .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()))
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo calcular el atraso de income_outbox: {}", e.getMessage());
+        }
+    }
+}
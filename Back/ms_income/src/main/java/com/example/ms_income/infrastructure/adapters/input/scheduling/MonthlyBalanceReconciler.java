@@ -0,0 +1,41 @@
+package com.example.ms_income.infrastructure.adapters.input.scheduling;
+
+import com.example.ms_income.domain.ports.IncomeServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Concilia periódicamente monthly_balances con los ingresos activos y corrige las diferencias
+ * (por ejemplo, filas modificadas directamente en la base). La primera ejecución, poco después
+ * del arranque, también llena el acumulado de los ingresos que existían antes de la tabla.
+ */
+@Component
+public class MonthlyBalanceReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyBalanceReconciler.class);
+
+    private final IncomeServicePort incomeServicePort;
+    private final boolean enabled;
+
+    public MonthlyBalanceReconciler(IncomeServicePort incomeServicePort,
+                                    @Value("${incomes.balances.reconcile.enabled:true}") boolean enabled) {
+        this.incomeServicePort = incomeServicePort;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${incomes.balances.reconcile.interval:24h}",
+               initialDelayString = "${incomes.balances.reconcile.initial-delay:2m}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            incomeServicePort.reconcileMonthlyBalances();
+        } catch (RuntimeException e) {
+            logger.error("Error al conciliar los acumulados mensuales de ingresos: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ms_income.infrastructure.adapters.output.events;
+
+import com.example.ms_income.domain.model.IncomeOutboxEvent;
+import com.example.ms_income.domain.ports.IncomeEventSubscriberPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+/**
+ * Suscriptores HTTP de income_outbox: cada lote se envía como un arreglo JSON por POST a cada
+ * URL de incomes.outbox.http.urls, en ese orden. Cualquier respuesta que no sea 2xx (o un
+ * timeout del cliente HTTP) hace que el relay reintente el lote. Sin URLs no envía nada.
+ * Si incomes.outbox.http.token tiene valor, cada POST lo lleva en el encabezado X-Service-Token
+ * (la credencial que exige POST /api/v1/reports/events de ms_report).
+ */
+@Component
+public class HttpIncomeEventSubscriber implements IncomeEventSubscriberPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpIncomeEventSubscriber.class);
+
+    private final RestTemplate restTemplate;
+    private final List<String> urls;
+    private final HttpHeaders headers = new HttpHeaders();
+
+    public HttpIncomeEventSubscriber(RestTemplate restTemplate,
+                                      @Value("${incomes.outbox.http.urls:}") List<String> urls,
+                                      @Value("${incomes.outbox.http.token:}") String token) {
+        this.restTemplate = restTemplate;
+        this.urls = urls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (!token.isBlank()) {
+            headers.set("X-Service-Token", token);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "http" + urls;
+    }
+
+    @Override
+    public void publish(List<IncomeOutboxEvent> events) {
+        for (String url : urls) {
+            restTemplate.postForEntity(url, new HttpEntity<>(events, headers), Void.class);
+            logger.debug("{} eventos de ingresos enviados a {}", events.size(), url);
+        }
+    }
+}
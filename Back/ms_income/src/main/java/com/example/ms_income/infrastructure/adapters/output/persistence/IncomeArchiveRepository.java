@@ -0,0 +1,27 @@
+package com.example.ms_income.infrastructure.adapters.output.persistence;
+
+import com.example.ms_income.domain.model.IncomeArchive;
+import com.example.ms_income.domain.model.IncomeView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IncomeArchiveRepository extends JpaRepository<IncomeArchive, Long> {
+
+    @Query("SELECT new com.example.ms_income.domain.model.IncomeView(a.incomeId, a.incomeDate, a.amount,"
+            + " a.incomeCategoryId, a.description, a.userId, a.active, a.createdAt, a.updatedAt)"
+            + " FROM IncomeArchive a WHERE a.userId = :userId"
+            + " AND (a.incomeDate < :cursorDate OR (a.incomeDate = :cursorDate AND a.incomeId < :cursorId))"
+            + " ORDER BY a.incomeDate DESC, a.incomeId DESC")
+    List<IncomeView> findPageByUserId(
+            @Param("userId") Long userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+}
@@ -0,0 +1,170 @@
+package com.example.ms_income.infrastructure.adapters.output.persistence;
+
+import com.example.ms_income.domain.model.IncomeOutboxEvent;
+import com.example.ms_income.domain.ports.IncomeOutboxRepositoryPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * income_outbox con JDBC: las altas van en un solo batch dentro de la transacción del ingreso
+ * (outbox_id lo asigna la base, sin ida y vuelta por ID). El relay reserva cada lote en una
+ * transacción corta, lo publica sin transacción ni conexión tomada y lo borra en otra
+ * transacción corta.
+ */
+@Component
+public class IncomeOutboxRepositoryAdapter implements IncomeOutboxRepositoryPort {
+
+    private static final String INSERT = "INSERT INTO income_outbox"
+            + " (operation, income_id, user_id, income_category_id, amount_delta, income_date, created_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_BATCH = "SELECT outbox_id, operation, income_id, user_id, income_category_id,"
+            + " amount_delta, income_date, created_at FROM income_outbox ORDER BY outbox_id LIMIT ?";
+    private static final String CLAIM = "UPDATE income_outbox SET claimed_until = ? WHERE outbox_id = ?";
+    private static final String RELEASE = "UPDATE income_outbox SET claimed_until = NULL WHERE outbox_id = ?";
+    // Clave del advisory lock que serializa las reservas de lotes entre réplicas
+    private static final long LOCK_KEY = 7_310_012_004L;
+
+    private static final RowMapper<IncomeOutboxEvent> ROW_MAPPER = (rs, rowNum) -> IncomeOutboxEvent.builder()
+            .outboxId(rs.getLong("outbox_id"))
+            .operation(IncomeOutboxEvent.Operation.valueOf(rs.getString("operation")))
+            .incomeId(rs.getLong("income_id"))
+            .userId(rs.getLong("user_id"))
+            .incomeCategoryId(rs.getLong("income_category_id"))
+            .amountDelta(rs.getBigDecimal("amount_delta"))
+            .incomeDate(rs.getDate("income_date").toLocalDate())
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final Duration claimTimeout;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public IncomeOutboxRepositoryAdapter(JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${incomes.outbox.claim-timeout:1m}") Duration claimTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.claimTimeout = claimTimeout;
+    }
+
+    /**
+     * Debe llamarse dentro de la transacción que escribe los ingresos: los eventos se confirman o
+     * se descartan junto con ellos.
+     */
+    @Override
+    public void append(List<IncomeOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, events.stream()
+                .map(event -> new Object[]{event.getOperation().name(), event.getIncomeId(), event.getUserId(),
+                        event.getIncomeCategoryId(), event.getAmountDelta(), Date.valueOf(event.getIncomeDate()),
+                        Timestamp.valueOf(event.getCreatedAt())})
+                .toList());
+    }
+
+    /**
+     * Entrega al publisher los batchSize eventos más antiguos y los borra si no lanzó excepción;
+     * si lanza, libera la reserva y los eventos quedan para el próximo intento. Se borra por
+     * outbox_id, no por rango: un evento con ID menor que se confirma tarde no se pierde.
+     * <p>
+     * La publicación (llamadas HTTP incluidas) corre fuera de toda transacción: la reserva y el
+     * borrado son transacciones cortas y entre ellas no se retiene una conexión del pool. Un solo
+     * relay publica a la vez: mientras haya un lote reservado y vigente (claimed_until en el
+     * futuro) no se reserva otro, así se respeta el orden de outbox_id. Si la réplica muere a
+     * mitad de la publicación, su lote se vuelve a publicar cuando vence
+     * incomes.outbox.claim-timeout; devuelve 0 si otra réplica está publicando.
+     */
+    @Override
+    public int relay(int batchSize, Consumer<List<IncomeOutboxEvent>> publisher) {
+        List<IncomeOutboxEvent> events = transaction.execute(status -> claim(batchSize));
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        try {
+            publisher.accept(events);
+        } catch (RuntimeException e) {
+            try {
+                transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(RELEASE, ids(events)));
+            } catch (RuntimeException releaseError) {
+                // La reserva vence sola después de claim-timeout
+                e.addSuppressed(releaseError);
+            }
+            throw e;
+        }
+        transaction.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate("DELETE FROM income_outbox WHERE outbox_id = ?", ids(events)));
+        return events.size();
+    }
+
+    /**
+     * Reserva el siguiente lote hasta ahora + claim-timeout. En PostgreSQL el advisory lock
+     * serializa la reserva entre réplicas: si otra la está haciendo, no reserva nada.
+     */
+    private List<IncomeOutboxEvent> claim(int batchSize) {
+        if (isPostgres()) {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                return List.of();
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM income_outbox WHERE claimed_until > ?", Integer.class, Timestamp.valueOf(now));
+        if (claimed != null && claimed > 0) {
+            return List.of();
+        }
+        List<IncomeOutboxEvent> events = jdbcTemplate.query(SELECT_BATCH, ROW_MAPPER, batchSize);
+        if (!events.isEmpty()) {
+            Timestamp claimedUntil = Timestamp.valueOf(now.plus(claimTimeout));
+            jdbcTemplate.batchUpdate(CLAIM, events.stream()
+                    .map(event -> new Object[]{claimedUntil, event.getOutboxId()})
+                    .toList());
+        }
+        return events;
+    }
+
+    private static List<Object[]> ids(List<IncomeOutboxEvent> events) {
+        return events.stream()
+                .map(event -> new Object[]{event.getOutboxId()})
+                .toList();
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestCreatedAt() {
+        return jdbcTemplate.query("SELECT created_at FROM income_outbox ORDER BY outbox_id LIMIT 1",
+                        (rs, rowNum) -> rs.getTimestamp(1).toLocalDateTime())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM income_outbox", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((Connection connection) ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.ms_income.infrastructure.adapters.output.persistence;
 
 import com.example.ms_income.domain.model.Income;
+import com.example.ms_income.domain.model.IncomeView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -10,27 +16,91 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Las consultas de listado usan paginación por keyset sobre (income_date DESC, income_id DESC):
+ * cada página arranca estrictamente después del cursor recibido, de modo que el costo
+ * no depende de qué tan profundo pagine el cliente.
+ * Los listados seleccionan solo las columnas de IncomeView (constructor expression) en lugar de
+ * hidratar entidades Income administradas.
+ */
 @Repository
 public interface IncomeRepository extends JpaRepository<Income, Long> {
 
+    String AFTER_CURSOR = " AND (i.incomeDate < :cursorDate OR (i.incomeDate = :cursorDate AND i.incomeId < :cursorId))";
+    String KEYSET_ORDER = " ORDER BY i.incomeDate DESC, i.incomeId DESC";
+    String SELECT_VIEW = "SELECT new com.example.ms_income.domain.model.IncomeView(i.incomeId, i.incomeDate,"
+            + " i.amount, i.incomeCategoryId, i.description, i.userId, i.active, i.createdAt, i.updatedAt)";
+
     Optional<Income> findByIncomeIdAndActiveTrue(Long incomeId);
 
-    @Query("SELECT i FROM Income i WHERE i.userId = :userId AND i.active = true")
-    List<Income> findByUserIdAndActiveTrue(@Param("userId") Long userId);
+    // Para cambios y bajas: SELECT ... FOR UPDATE, la fila queda bloqueada hasta el fin de la
+    // transacción y una escritura concurrente sobre el mismo ingreso espera y relee su estado
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Income e WHERE e.incomeId = :incomeId AND e.active = true")
+    Optional<Income> findActiveByIdForUpdate(@Param("incomeId") Long incomeId);
+
+    @Query(SELECT_VIEW + " FROM Income i WHERE i.userId = :userId AND i.active = true" + AFTER_CURSOR + KEYSET_ORDER)
+    List<IncomeView> findPageByUserIdAndActiveTrue(
+            @Param("userId") Long userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
 
-    @Query("SELECT i FROM Income i WHERE i.userId = :userId AND i.incomeCategoryId = :categoryId AND i.active = true")
-    List<Income> findByUserIdAndIncomeCategoryIdAndActiveTrue(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+    @Query(SELECT_VIEW + " FROM Income i WHERE i.userId = :userId AND i.incomeCategoryId = :categoryId AND i.active = true"
+            + AFTER_CURSOR + KEYSET_ORDER)
+    List<IncomeView> findPageByUserIdAndIncomeCategoryIdAndActiveTrue(
+            @Param("userId") Long userId,
+            @Param("categoryId") Long categoryId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
 
-    @Query("SELECT i FROM Income i WHERE i.userId = :userId AND i.incomeDate BETWEEN :startDate AND :endDate AND i.active = true")
-    List<Income> findByUserIdAndIncomeDateBetweenAndActiveTrue(
+    @Query(SELECT_VIEW + " FROM Income i WHERE i.userId = :userId AND i.incomeDate BETWEEN :startDate AND :endDate AND i.active = true"
+            + AFTER_CURSOR + KEYSET_ORDER)
+    List<IncomeView> findPageByUserIdAndIncomeDateBetweenAndActiveTrue(
             @Param("userId") Long userId,
             @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate);
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
 
-    @Query("SELECT i FROM Income i WHERE i.userId = :userId AND i.amount BETWEEN :minAmount AND :maxAmount AND i.active = true")
-    List<Income> findByUserIdAndAmountBetweenAndActiveTrue(
+    @Query(SELECT_VIEW + " FROM Income i WHERE i.userId = :userId AND i.amount BETWEEN :minAmount AND :maxAmount AND i.active = true"
+            + AFTER_CURSOR + KEYSET_ORDER)
+    List<IncomeView> findPageByUserIdAndAmountBetweenAndActiveTrue(
             @Param("userId") Long userId,
             @Param("minAmount") BigDecimal minAmount,
-            @Param("maxAmount") BigDecimal maxAmount);
+            @Param("maxAmount") BigDecimal maxAmount,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+
+    /**
+     * Listado administrativo: los ingresos inactivos se descartan en la base de datos y las filas
+     * se leen por cursor JDBC.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_VIEW + " FROM Income i WHERE i.active = true" + AFTER_CURSOR + KEYSET_ORDER)
+    Stream<IncomeView> streamActive(
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+
+    /**
+     * Ingresos eliminados lógicamente antes de deletedBefore, en el orden en que los mueve el
+     * archivador (los más antiguos primero). En PostgreSQL usa idx_incomes_inactive_updated.
+     */
+    @Query("SELECT i.incomeId FROM Income i WHERE i.active = false AND i.updatedAt < :deletedBefore ORDER BY i.updatedAt")
+    List<Long> findInactiveIds(@Param("deletedBefore") LocalDateTime deletedBefore, Limit limit);
+
+    @Query("SELECT MIN(i.updatedAt) FROM Income i WHERE i.active = false AND i.updatedAt < :deletedBefore")
+    Optional<LocalDateTime> findOldestInactiveUpdatedAt(@Param("deletedBefore") LocalDateTime deletedBefore);
 }
@@ -1,23 +1,58 @@
 package com.example.ms_income.infrastructure.adapters.output.persistence;
 
 import com.example.ms_income.domain.model.Income;
+import com.example.ms_income.domain.model.IncomeCursor;
+import com.example.ms_income.domain.model.IncomeView;
 import com.example.ms_income.domain.ports.IncomeRepositoryPort;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 public class IncomeRepositoryAdapter implements IncomeRepositoryPort {
 
+    private static final String INCOME_COLUMNS = "income_id, income_date, amount, income_category_id, description,"
+            + " user_id, active, created_at, updated_at";
+    // Un solo statement: borra el lote de la tabla caliente y lo inserta en el archivo con las
+    // filas que devuelve el DELETE. SKIP LOCKED evita esperar por filas tomadas por otra réplica
+    private static final String ARCHIVE_INACTIVE_POSTGRES = "WITH moved AS (DELETE FROM incomes"
+            + " WHERE (income_id, income_date) IN (SELECT income_id, income_date FROM incomes"
+            + " WHERE active = false AND updated_at < ? ORDER BY updated_at LIMIT ? FOR UPDATE SKIP LOCKED)"
+            + " RETURNING " + INCOME_COLUMNS + ")"
+            + " INSERT INTO incomes_archive (" + INCOME_COLUMNS + ", archived_at)"
+            + " SELECT " + INCOME_COLUMNS + ", ? FROM moved";
+
     private final IncomeRepository incomeRepository;
+    private final IncomeArchiveRepository incomeArchiveRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
 
     @Autowired
-    public IncomeRepositoryAdapter(IncomeRepository incomeRepository) {
+    public IncomeRepositoryAdapter(IncomeRepository incomeRepository,
+                                   IncomeArchiveRepository incomeArchiveRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   JdbcTemplate jdbcTemplate) {
         this.incomeRepository = incomeRepository;
+        this.incomeArchiveRepository = incomeArchiveRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -31,29 +66,91 @@ public class IncomeRepositoryAdapter implements IncomeRepositoryPort {
     }
 
     @Override
-    public List<Income> findAllActive() {
-        return incomeRepository.findAll().stream()
-                .filter(Income::getActive)
-                .toList();
+    public Optional<Income> findByIdAndActiveTrueForUpdate(Long id) {
+        return incomeRepository.findActiveByIdForUpdate(id);
+    }
+
+    /**
+     * Abre su propia transacción de solo lectura para mantener vivo el cursor JDBC. Las filas son
+     * IncomeView, no entidades, así que el contexto de persistencia no crece con el número de filas.
+     */
+    @Override
+    public void forEachActive(IncomeCursor after, int limit, Consumer<IncomeView> action) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<IncomeView> incomes = incomeRepository.streamActive(
+                    after.getIncomeDate(), after.getIncomeId(), Limit.of(limit))) {
+                incomes.forEach(action);
+            }
+        });
     }
 
     @Override
-    public List<Income> findByUserIdAndActiveTrue(Long userId) {
-        return incomeRepository.findByUserIdAndActiveTrue(userId);
+    public List<IncomeView> findPageByUserIdAndActiveTrue(Long userId, IncomeCursor after, int limit) {
+        return incomeRepository.findPageByUserIdAndActiveTrue(
+                userId, after.getIncomeDate(), after.getIncomeId(), Limit.of(limit));
     }
 
     @Override
-    public List<Income> findByUserIdAndIncomeCategoryIdAndActiveTrue(Long userId, Long categoryId) {
-        return incomeRepository.findByUserIdAndIncomeCategoryIdAndActiveTrue(userId, categoryId);
+    public List<IncomeView> findPageByUserIdAndIncomeCategoryIdAndActiveTrue(Long userId, Long categoryId, IncomeCursor after, int limit) {
+        return incomeRepository.findPageByUserIdAndIncomeCategoryIdAndActiveTrue(
+                userId, categoryId, after.getIncomeDate(), after.getIncomeId(), Limit.of(limit));
     }
 
     @Override
-    public List<Income> findByUserIdAndIncomeDateBetweenAndActiveTrue(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        return incomeRepository.findByUserIdAndIncomeDateBetweenAndActiveTrue(userId, startDate, endDate);
+    public List<IncomeView> findPageByUserIdAndIncomeDateBetweenAndActiveTrue(Long userId, LocalDateTime startDate, LocalDateTime endDate, IncomeCursor after, int limit) {
+        return incomeRepository.findPageByUserIdAndIncomeDateBetweenAndActiveTrue(
+                userId, startDate, endDate, after.getIncomeDate(), after.getIncomeId(), Limit.of(limit));
     }
 
     @Override
-    public List<Income> findByUserIdAndAmountBetweenAndActiveTrue(Long userId, BigDecimal minAmount, BigDecimal maxAmount) {
-        return incomeRepository.findByUserIdAndAmountBetweenAndActiveTrue(userId, minAmount, maxAmount);
+    public List<IncomeView> findPageByUserIdAndAmountBetweenAndActiveTrue(Long userId, BigDecimal minAmount, BigDecimal maxAmount, IncomeCursor after, int limit) {
+        return incomeRepository.findPageByUserIdAndAmountBetweenAndActiveTrue(
+                userId, minAmount, maxAmount, after.getIncomeDate(), after.getIncomeId(), Limit.of(limit));
+    }
+
+    /**
+     * Mueve a incomes_archive hasta limit ingresos eliminados lógicamente antes de deletedBefore
+     * y devuelve cuántos movió. En PostgreSQL es un único DELETE ... RETURNING encadenado con el
+     * INSERT; en otras bases se hace INSERT ... SELECT y DELETE por IDs en una transacción.
+     */
+    @Override
+    public int archiveInactive(LocalDateTime deletedBefore, int limit) {
+        LocalDateTime archivedAt = LocalDateTime.now();
+        if (isPostgres()) {
+            return jdbcTemplate.update(ARCHIVE_INACTIVE_POSTGRES, deletedBefore, limit, archivedAt);
+        }
+        Integer moved = transaction.execute(status -> {
+            List<Long> ids = incomeRepository.findInactiveIds(deletedBefore, Limit.of(limit));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            String in = " WHERE income_id IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+            List<Object> args = new ArrayList<>(ids.size() + 1);
+            args.add(archivedAt);
+            args.addAll(ids);
+            jdbcTemplate.update("INSERT INTO incomes_archive (" + INCOME_COLUMNS + ", archived_at)"
+                    + " SELECT " + INCOME_COLUMNS + ", ? FROM incomes" + in, args.toArray());
+            return jdbcTemplate.update("DELETE FROM incomes" + in, ids.toArray());
+        });
+        return moved != null ? moved : 0;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestInactiveUpdatedAt(LocalDateTime deletedBefore) {
+        return incomeRepository.findOldestInactiveUpdatedAt(deletedBefore);
+    }
+
+    @Override
+    public List<IncomeView> findArchivedPageByUserId(Long userId, IncomeCursor after, int limit) {
+        return incomeArchiveRepository.findPageByUserId(
+                userId, after.getIncomeDate(), after.getIncomeId(), Limit.of(limit));
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((Connection connection) ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
     }
 }
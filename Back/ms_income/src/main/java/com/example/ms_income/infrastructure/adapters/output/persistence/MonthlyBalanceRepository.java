@@ -0,0 +1,28 @@
+package com.example.ms_income.infrastructure.adapters.output.persistence;
+
+import com.example.ms_income.domain.model.MonthlyBalance;
+import com.example.ms_income.domain.model.MonthlyBalanceKey;
+import com.example.ms_income.domain.model.MonthlyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlyBalanceRepository extends JpaRepository<MonthlyBalance, MonthlyBalanceKey> {
+
+    /**
+     * Una fila por mes y categoría con movimientos, sobre el prefijo (user_id, month_start) de la
+     * clave primaria: el costo depende del número de meses, no del número de ingresos.
+     */
+    @Query("SELECT new com.example.ms_income.domain.model.MonthlyTotal(b.monthStart, b.categoryId, b.totalIncome)"
+            + " FROM MonthlyBalance b WHERE b.userId = :userId AND b.monthStart BETWEEN :fromMonth AND :toMonth"
+            + " AND b.totalIncome <> 0 ORDER BY b.monthStart, b.categoryId")
+    List<MonthlyTotal> findIncomeTotals(
+            @Param("userId") Long userId,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth);
+}
@@ -0,0 +1,182 @@
+package com.example.ms_income.infrastructure.adapters.output.persistence;
+
+import com.example.ms_income.domain.model.MonthlyBalanceKey;
+import com.example.ms_income.domain.model.MonthlyTotal;
+import com.example.ms_income.domain.ports.MonthlyBalanceRepositoryPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Mantiene la columna total_income de monthly_balances. Las escrituras suman deltas con un
+ * upsert (ON CONFLICT en PostgreSQL, MERGE estándar en otras bases) dentro de la transacción
+ * del ingreso; la conciliación recalcula desde incomes los usuarios cuyo acumulado no cuadra.
+ * <p>
+ * Solo se concilian los meses que siguen adjuntos a incomes: con
+ * incomes.partitions.retention-months > 0, IncomePartitionMaintenance desvincula las particiones
+ * de los meses más antiguos y sus ingresos dejan de verse, así que recalcular esos meses pondría
+ * sus celdas en 0. Esas celdas conservan el último acumulado.
+ */
+@Component
+public class MonthlyBalanceRepositoryAdapter implements MonthlyBalanceRepositoryPort {
+
+    private static final String MONTH_OF_INCOME = "CAST(DATE_TRUNC('MONTH', income_date) AS DATE)";
+
+    private static final String ADD_POSTGRES = "INSERT INTO monthly_balances"
+            + " (user_id, month_start, category_id, total_expense, total_income) VALUES (?, ?, ?, 0, ?)"
+            + " ON CONFLICT (user_id, month_start, category_id)"
+            + " DO UPDATE SET total_income = monthly_balances.total_income + EXCLUDED.total_income";
+    private static final String MERGE_SOURCE = "MERGE INTO monthly_balances b USING (VALUES (CAST(? AS BIGINT),"
+            + " CAST(? AS DATE), CAST(? AS BIGINT), CAST(? AS DECIMAL(19, 2))))"
+            + " AS d (user_id, month_start, category_id, amount)"
+            + " ON b.user_id = d.user_id AND b.month_start = d.month_start AND b.category_id = d.category_id";
+    private static final String INSERT_FROM_SOURCE = " WHEN NOT MATCHED THEN INSERT"
+            + " (user_id, month_start, category_id, total_expense, total_income)"
+            + " VALUES (d.user_id, d.month_start, d.category_id, 0, d.amount)";
+    private static final String ADD_MERGE = MERGE_SOURCE
+            + " WHEN MATCHED THEN UPDATE SET total_income = b.total_income + d.amount" + INSERT_FROM_SOURCE;
+    private static final String INSERT_IF_ABSENT_POSTGRES = "INSERT INTO monthly_balances"
+            + " (user_id, month_start, category_id, total_expense, total_income) VALUES (?, ?, ?, 0, ?)"
+            + " ON CONFLICT (user_id, month_start, category_id) DO NOTHING";
+    private static final String INSERT_IF_ABSENT_MERGE = MERGE_SOURCE + INSERT_FROM_SOURCE;
+
+    // Celdas (usuario, mes, categoría) donde la suma de ingresos activos no coincide con total_income
+    private static final String USERS_WITH_DRIFT = "SELECT DISTINCT user_id FROM ("
+            + " SELECT user_id FROM ("
+            + " SELECT user_id, " + MONTH_OF_INCOME + " AS month_start, income_category_id AS category_id, amount AS total"
+            + " FROM incomes WHERE active = true AND income_date >= ?"
+            + " UNION ALL"
+            + " SELECT user_id, month_start, category_id, -total_income FROM monthly_balances WHERE month_start >= ?"
+            + " ) cells GROUP BY user_id, month_start, category_id HAVING SUM(total) <> 0"
+            + " ) drift";
+
+    private final MonthlyBalanceRepository monthlyBalanceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final int retentionMonths;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public MonthlyBalanceRepositoryAdapter(MonthlyBalanceRepository monthlyBalanceRepository,
+                                           JdbcTemplate jdbcTemplate,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${incomes.partitions.retention-months:0}") int retentionMonths) {
+        this.monthlyBalanceRepository = monthlyBalanceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Suma cada delta a su celda, creándola si no existe. Debe llamarse dentro de la transacción
+     * que escribe los ingresos; las celdas se actualizan en el orden de la clave.
+     */
+    @Override
+    public void addToIncomeTotals(SortedMap<MonthlyBalanceKey, BigDecimal> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, amount) -> {
+            if (amount.signum() != 0) {
+                rows.add(row(key, amount));
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(isPostgres() ? ADD_POSTGRES : ADD_MERGE, rows);
+        }
+    }
+
+    @Override
+    public List<MonthlyTotal> findIncomeTotals(Long userId, LocalDate fromMonth, LocalDate toMonth) {
+        return monthlyBalanceRepository.findIncomeTotals(userId, fromMonth, toMonth);
+    }
+
+    @Override
+    public List<Long> findUserIdsWithDrift() {
+        LocalDate fromMonth = oldestReconciledMonth();
+        return jdbcTemplate.queryForList(USERS_WITH_DRIFT, Long.class, fromMonth.atStartOfDay(), fromMonth);
+    }
+
+    /**
+     * Recalcula las celdas del usuario desde incomes y corrige las que no coinciden; devuelve
+     * cuántas corrigió. Primero bloquea las celdas existentes: una escritura concurrente que ya
+     * las tocó termina antes (y su ingreso entra en el recálculo) y una posterior espera y suma su
+     * delta sobre el valor corregido. Las celdas nuevas se insertan solo si siguen sin existir.
+     */
+    @Override
+    public int reconcile(Long userId) {
+        LocalDate fromMonth = oldestReconciledMonth();
+        Integer repaired = transaction.execute(status -> {
+            Map<MonthlyBalanceKey, BigDecimal> stored = new HashMap<>();
+            jdbcTemplate.query("SELECT month_start, category_id, total_income FROM monthly_balances WHERE user_id = ?"
+                            + " AND month_start >= ? ORDER BY month_start, category_id FOR UPDATE",
+                    rs -> {
+                        stored.put(new MonthlyBalanceKey(userId, rs.getDate(1).toLocalDate(), rs.getLong(2)), rs.getBigDecimal(3));
+                    }, userId, fromMonth);
+
+            SortedMap<MonthlyBalanceKey, BigDecimal> actual = new TreeMap<>();
+            jdbcTemplate.query("SELECT " + MONTH_OF_INCOME + ", income_category_id, SUM(amount) FROM incomes"
+                            + " WHERE user_id = ? AND active = true AND income_date >= ?"
+                            + " GROUP BY " + MONTH_OF_INCOME + ", income_category_id",
+                    rs -> {
+                        actual.put(new MonthlyBalanceKey(userId, rs.getDate(1).toLocalDate(), rs.getLong(2)), rs.getBigDecimal(3));
+                    }, userId, fromMonth.atStartOfDay());
+
+            List<Object[]> updates = new ArrayList<>();
+            stored.forEach((key, total) -> {
+                BigDecimal expected = actual.getOrDefault(key, BigDecimal.ZERO);
+                if (total.compareTo(expected) != 0) {
+                    updates.add(new Object[]{expected, key.getUserId(), Date.valueOf(key.getMonthStart()), key.getCategoryId()});
+                }
+            });
+            List<Object[]> inserts = new ArrayList<>();
+            actual.forEach((key, total) -> {
+                if (!stored.containsKey(key) && total.signum() != 0) {
+                    inserts.add(row(key, total));
+                }
+            });
+
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE monthly_balances SET total_income = ?"
+                        + " WHERE user_id = ? AND month_start = ? AND category_id = ?", updates);
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(isPostgres() ? INSERT_IF_ABSENT_POSTGRES : INSERT_IF_ABSENT_MERGE, inserts);
+            }
+            return updates.size() + inserts.size();
+        });
+        return repaired != null ? repaired : 0;
+    }
+
+    /**
+     * Primer mes que sigue adjunto a incomes; mismo cálculo que IncomePartitionMaintenance
+     */
+    private LocalDate oldestReconciledMonth() {
+        return retentionMonths > 0 ? YearMonth.now().minusMonths(retentionMonths).atDay(1) : LocalDate.of(1, 1, 1);
+    }
+
+    private static Object[] row(MonthlyBalanceKey key, BigDecimal amount) {
+        return new Object[]{key.getUserId(), Date.valueOf(key.getMonthStart()), key.getCategoryId(), amount};
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((Connection connection) ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
@@ -1,23 +1,35 @@
 package com.example.ms_income.infrastructure.configuration;
 
+import com.example.ms_income.domain.ports.IncomeEventSubscriberPort;
+import com.example.ms_income.domain.ports.IncomeOutboxRepositoryPort;
+import com.example.ms_income.domain.ports.IncomeOutboxServicePort;
 import com.example.ms_income.domain.ports.IncomeRepositoryPort;
 import com.example.ms_income.domain.ports.IncomeServicePort;
+import com.example.ms_income.domain.ports.MonthlyBalanceRepositoryPort;
+import com.example.ms_income.application.usecases.IncomeOutboxUseCase;
 import com.example.ms_income.application.usecases.IncomeUseCase;
 import com.example.ms_income.infrastructure.adapters.output.external.CategoryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
 
 @Configuration
 public class BeanConfiguration {
 
     @Bean
-    public IncomeServicePort incomeServicePort(IncomeRepositoryPort incomeRepositoryPort, CategoryClient categoryClient) {
-        return new IncomeUseCase(incomeRepositoryPort, categoryClient);
+    public IncomeServicePort incomeServicePort(IncomeRepositoryPort incomeRepositoryPort,
+                                               MonthlyBalanceRepositoryPort monthlyBalanceRepositoryPort,
+                                               IncomeOutboxRepositoryPort outboxRepositoryPort,
+                                               CategoryClient categoryClient, PlatformTransactionManager transactionManager) {
+        return new IncomeUseCase(incomeRepositoryPort, monthlyBalanceRepositoryPort, outboxRepositoryPort, categoryClient,
+                transactionManager);
     }
 
     @Bean
-    public RestTemplate restTemplate(){
-        return new RestTemplate();
+    public IncomeOutboxServicePort incomeOutboxServicePort(IncomeOutboxRepositoryPort outboxRepositoryPort,
+                                                           List<IncomeEventSubscriberPort> subscribers) {
+        return new IncomeOutboxUseCase(outboxRepositoryPort, subscribers);
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.ms_income.infrastructure.configuration;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Las tablas las crea y actualiza Hibernate (ddl-auto=update); las migraciones de Flyway
+ * (db/migration) solo agregan lo que JPA no puede declarar, como los índices parciales.
+ * Por eso no corren antes de inicializar JPA, como hace Spring Boot por defecto: las ejecuta
+ * IncomePartitionMaintenance después de particionar incomes, antes de que arranque el servidor
+ * web. En el perfil local (H2) Flyway está deshabilitado.
+ */
+@Configuration
+public class FlywayConfiguration {
+
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return flyway -> {
+        };
+    }
+}
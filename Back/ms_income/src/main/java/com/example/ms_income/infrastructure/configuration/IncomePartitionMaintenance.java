@@ -0,0 +1,239 @@
+package com.example.ms_income.infrastructure.configuration;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Mantiene incomes particionada por rango mensual de income_date (solo PostgreSQL), para que
+ * las consultas por rango de fechas lean una o dos particiones en lugar de toda la tabla.
+ * Al iniciar convierte la tabla que crea Hibernate (ddl-auto=update) en una tabla particionada;
+ * después crea por adelantado las particiones de los próximos meses y desvincula (DETACH, sin
+ * borrar la tabla) las que salen de la ventana de retención. Las filas fuera del rango de
+ * particiones caen en incomes_default. En H2 la tabla queda tal como la genera Hibernate.
+ * <p>
+ * La conversión y el primer mantenimiento corren al crear el bean, después del
+ * EntityManagerFactory y antes de que arranque el servidor web: ninguna solicitud queda en
+ * espera detrás del bloqueo de la conversión y el health check no reporta UP hasta que el
+ * esquema es el definitivo. Las migraciones de Flyway (FlywayConfiguration) corren aquí mismo,
+ * justo después de la conversión, para que sus índices se creen sobre la tabla particionada.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IncomePartitionMaintenance implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncomePartitionMaintenance.class);
+
+    private static final String TABLE = "incomes";
+    private static final String PARTITION_KEY = "income_date";
+    private static final String ID_SEQUENCE = TABLE + "_income_id_seq";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // Clave del advisory lock que serializa conversión y mantenimiento entre réplicas
+    private static final long LOCK_KEY = 7_310_012_002L;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ObjectProvider<Flyway> flyway;
+    private final int premakeMonths;
+    private final int retentionMonths;
+
+    private volatile boolean partitioned;
+
+    public IncomePartitionMaintenance(DataSource dataSource,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       ObjectProvider<Flyway> flyway,
+                                       @Value("${incomes.partitions.premake-months:3}") int premakeMonths,
+                                       @Value("${incomes.partitions.retention-months:0}") int retentionMonths) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.flyway = flyway;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        boolean postgres;
+        try (Connection connection = dataSource.getConnection()) {
+            postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+        if (postgres) {
+            transaction.executeWithoutResult(status -> {
+                jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", LOCK_KEY);
+                if ("r".equals(relationKind())) {
+                    convert();
+                }
+            });
+            partitioned = true;
+        }
+        // Si una migración falla, la instancia no llega a atender solicitudes
+        flyway.ifAvailable(Flyway::migrate);
+        maintain();
+    }
+
+    /**
+     * Crea las particiones que falten y desvincula las vencidas. Si otra réplica ya está
+     * haciendo el mantenimiento, esta lo omite.
+     */
+    @Scheduled(cron = "${incomes.partitions.maintenance-cron:0 30 3 * * *}")
+    public void maintain() {
+        if (!partitioned) {
+            return;
+        }
+        transaction.executeWithoutResult(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked) || !"p".equals(relationKind())) {
+                return;
+            }
+            Set<String> partitions = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                            + "WHERE i.inhparent = to_regclass(?)", String.class, TABLE));
+
+            // Meses próximos y meses que ya tienen filas en la default (por ejemplo, ingresos con fecha atrasada)
+            Set<YearMonth> months = upcomingMonths();
+            months.addAll(monthsWithRows(DEFAULT_PARTITION));
+            for (YearMonth month : months) {
+                if (!partitions.contains(partitionName(month))) {
+                    createPartition(month);
+                }
+            }
+
+            if (retentionMonths > 0) {
+                YearMonth oldestKept = oldestKept();
+                for (String partition : partitions) {
+                    YearMonth month = monthOf(partition);
+                    if (month != null && month.isBefore(oldestKept)) {
+                        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                        logger.info("Partición {} desvinculada de {} (retención de {} meses); la tabla se conserva",
+                                partition, TABLE, retentionMonths);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Reemplaza la tabla normal por una particionada con las mismas columnas, copia las filas
+     * y recrea la clave primaria (que debe incluir income_date), la secuencia de income_id y los
+     * índices existentes.
+     * Corre en una sola transacción: si algo falla la tabla original queda intacta.
+     */
+    private void convert() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT pg_get_indexdef(indexrelid) FROM pg_index "
+                        + "WHERE indrelid = to_regclass(?) AND NOT indisprimary AND NOT indisunique",
+                String.class, TABLE);
+        // Solo reciben partición propia los meses con datos; los anteriores a la retención quedan en la default
+        Set<YearMonth> months = upcomingMonths();
+        months.addAll(monthsWithRows(TABLE));
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_unpartitioned");
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + TABLE + "_unpartitioned "
+                + "INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (" + PARTITION_KEY + ")");
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+        months.forEach(this::createPartition);
+
+        int copied = jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + TABLE + "_unpartitioned");
+        jdbcTemplate.execute("DROP TABLE " + TABLE + "_unpartitioned");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (income_id, " + PARTITION_KEY + ")");
+
+        // PostgreSQL 15 no admite columnas IDENTITY en tablas particionadas: income_id pasa a tomar
+        // su valor de una secuencia propia, que continúa después del último ID copiado
+        jdbcTemplate.execute("CREATE SEQUENCE " + ID_SEQUENCE + " OWNED BY " + TABLE + ".income_id");
+        jdbcTemplate.queryForList("SELECT setval('" + ID_SEQUENCE + "', COALESCE(MAX(income_id), 0) + 1, false) FROM " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN income_id SET DEFAULT nextval('" + ID_SEQUENCE + "')");
+        indexes.forEach(jdbcTemplate::execute);
+        logger.info("Tabla {} convertida a particionada por mes de {}: {} filas copiadas", TABLE, PARTITION_KEY, copied);
+    }
+
+    /**
+     * Crea la partición fuera de la tabla, le mueve las filas de ese mes que hubieran caído en
+     * la partición default y la adjunta; ATTACH falla si la default conserva filas del rango.
+     */
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        String from = month.atDay(1).atStartOfDay().format(BOUND);
+        String to = month.plusMonths(1).atDay(1).atStartOfDay().format(BOUND);
+
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE " + PARTITION_KEY + " >= CAST(? AS timestamp) AND " + PARTITION_KEY + " < CAST(? AS timestamp)"
+                + " RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        logger.info("Partición {} creada ({} filas movidas desde {})", partition, moved, DEFAULT_PARTITION);
+    }
+
+    private Set<YearMonth> upcomingMonths() {
+        Set<YearMonth> months = new TreeSet<>();
+        YearMonth current = YearMonth.now();
+        for (YearMonth month = current; !month.isAfter(current.plusMonths(premakeMonths)); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * Meses con filas en la tabla indicada, sin contar los que ya están fuera de la retención.
+     */
+    private Set<YearMonth> monthsWithRows(String table) {
+        List<LocalDateTime> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', " + PARTITION_KEY + ") FROM " + table
+                        + " WHERE " + PARTITION_KEY + " >= CAST(? AS timestamp)",
+                LocalDateTime.class, oldestKept().atDay(1).atStartOfDay().format(BOUND));
+        Set<YearMonth> result = new TreeSet<>();
+        months.forEach(month -> result.add(YearMonth.from(month)));
+        return result;
+    }
+
+    private YearMonth oldestKept() {
+        return retentionMonths > 0 ? YearMonth.now().minusMonths(retentionMonths) : YearMonth.of(1, 1);
+    }
+
+    private String relationKind() {
+        return jdbcTemplate.queryForObject(
+                "SELECT (SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?))", String.class, TABLE);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
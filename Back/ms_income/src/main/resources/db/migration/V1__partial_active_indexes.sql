@@ -0,0 +1,21 @@
+-- Todas las consultas de IncomeRepository filtran active = true: los índices pasan a ser
+-- parciales (WHERE active) y no guardan entradas de los ingresos eliminados lógicamente.
+-- Conservan los nombres de los @Index de Income, así ddl-auto=update los encuentra por
+-- nombre y no vuelve a crear las versiones completas. Sobre la tabla particionada, cada
+-- índice se crea también en todas las particiones.
+
+DROP INDEX IF EXISTS idx_incomes_user_date_id;
+CREATE INDEX idx_incomes_user_date_id
+    ON incomes (user_id, income_date DESC, income_id DESC) WHERE active;
+
+DROP INDEX IF EXISTS idx_incomes_user_category_date_id;
+CREATE INDEX idx_incomes_user_category_date_id
+    ON incomes (user_id, income_category_id, income_date DESC, income_id DESC) WHERE active;
+
+DROP INDEX IF EXISTS idx_incomes_user_amount;
+CREATE INDEX idx_incomes_user_amount
+    ON incomes (user_id, amount) WHERE active;
+
+DROP INDEX IF EXISTS idx_incomes_date_id;
+CREATE INDEX idx_incomes_date_id
+    ON incomes (income_date DESC, income_id DESC) WHERE active;
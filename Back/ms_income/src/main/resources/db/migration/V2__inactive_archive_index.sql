@@ -0,0 +1,6 @@
+-- IncomeArchiver busca ingresos eliminados lógicamente por updated_at (fecha de la eliminación)
+-- para moverlos a incomes_archive. Índice parcial: solo contiene filas inactivas, que son
+-- pocas porque el archivador las va sacando de la tabla.
+
+CREATE INDEX IF NOT EXISTS idx_incomes_inactive_updated
+    ON incomes (updated_at) WHERE NOT active;
@@ -0,0 +1,143 @@
+package com.example.ms_income.application.usecases;
+
+import com.example.ms_income.domain.model.MonthlyTotal;
+import com.example.ms_income.domain.model.dto.IncomeRequest;
+import com.example.ms_income.domain.model.dto.IncomeUpdateRequest;
+import com.example.ms_income.domain.ports.IncomeServicePort;
+import com.example.ms_income.domain.ports.MonthlyBalanceRepositoryPort;
+import com.example.ms_income.infrastructure.adapters.output.external.CategoryClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cambios y bajas simultáneos del mismo ingreso: cada uno debe aplicar su delta sobre el estado
+ * que dejó el anterior, así el acumulado mensual y la suma de los deltas de income_outbox
+ * terminan iguales al monto vigente del ingreso.
+ */
+@SpringBootTest(properties = {
+        "incomes.outbox.enabled=false",
+        "categories.events.datasource.url="
+})
+class IncomeUseCaseConcurrencyTest {
+
+    private static final long USER_ID = 880_002;
+    private static final long CATEGORY_ID = 1;
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 5);
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    @Qualifier("incomeServicePort")
+    private IncomeServicePort incomeServicePort;
+
+    @Autowired
+    private MonthlyBalanceRepositoryPort monthlyBalanceRepositoryPort;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private CategoryClient categoryClient;
+
+    private final ExecutorService clients = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        when(categoryClient.validateExpenseCategoryExists(any())).thenReturn(true);
+    }
+
+    @Test
+    void concurrentDeletesSubtractTheAmountOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            BigDecimal before = cellTotal();
+            Long incomeId = create(new BigDecimal("10.00"));
+
+            List<Boolean> results = runConcurrently(
+                    () -> incomeServicePort.deleteIncome(incomeId),
+                    () -> incomeServicePort.deleteIncome(incomeId));
+
+            assertEquals(1, results.stream().filter(Boolean::booleanValue).count(), "solo una baja debe aplicarse");
+            assertEquals(0, before.compareTo(cellTotal()), "el acumulado debe volver al valor previo al alta");
+            assertEquals(0, BigDecimal.ZERO.compareTo(outboxTotal(incomeId)), "los deltas de income_outbox deben sumar 0");
+        }
+    }
+
+    @Test
+    void concurrentUpdatesApplyEachDeltaOverTheLatestAmount() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            BigDecimal before = cellTotal();
+            Long incomeId = create(new BigDecimal("10.00"));
+
+            runConcurrently(
+                    () -> incomeServicePort.updateIncome(incomeId, IncomeUpdateRequest.builder().amount(new BigDecimal("15.00")).build()),
+                    () -> incomeServicePort.updateIncome(incomeId, IncomeUpdateRequest.builder().amount(new BigDecimal("20.00")).build()));
+
+            BigDecimal amount = jdbcTemplate.queryForObject(
+                    "SELECT amount FROM incomes WHERE income_id = ?", BigDecimal.class, incomeId);
+            assertEquals(0, before.add(amount).compareTo(cellTotal()), "el acumulado debe reflejar el monto final");
+            assertEquals(0, amount.compareTo(outboxTotal(incomeId)), "los deltas de income_outbox deben sumar el monto final");
+        }
+    }
+
+    private Long create(BigDecimal amount) {
+        return incomeServicePort.createIncome(IncomeRequest.builder()
+                .amount(amount)
+                .incomeCategoryId(CATEGORY_ID)
+                .incomeDate(DATE)
+                .description("concurrencia")
+                .userId(USER_ID)
+                .build()).getIncomeId();
+    }
+
+    /**
+     * Lanza las dos operaciones a la vez; devuelve cuáles terminaron sin excepción
+     */
+    private List<Boolean> runConcurrently(Runnable first, Runnable second) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Future<Boolean> a = clients.submit(() -> attempt(start, first));
+        Future<Boolean> b = clients.submit(() -> attempt(start, second));
+        start.countDown();
+        return List.of(a.get(30, TimeUnit.SECONDS), b.get(30, TimeUnit.SECONDS));
+    }
+
+    private static boolean attempt(CountDownLatch start, Runnable operation) throws InterruptedException {
+        start.await();
+        try {
+            operation.run();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private BigDecimal cellTotal() {
+        return monthlyBalanceRepositoryPort.findIncomeTotals(USER_ID, DATE.withDayOfMonth(1), DATE.withDayOfMonth(1)).stream()
+                .filter(total -> total.getCategoryId() == CATEGORY_ID)
+                .map(MonthlyTotal::getTotal)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+    }
+
+    private BigDecimal outboxTotal(Long incomeId) {
+        BigDecimal total = jdbcTemplate.queryForObject(
+                "SELECT SUM(amount_delta) FROM income_outbox WHERE income_id = ?", BigDecimal.class, incomeId);
+        return total != null ? total : BigDecimal.ZERO;
+    }
+}
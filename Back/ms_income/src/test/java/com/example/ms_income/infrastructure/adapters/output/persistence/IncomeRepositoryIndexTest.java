@@ -0,0 +1,219 @@
+package com.example.ms_income.infrastructure.adapters.output.persistence;
+
+import com.example.ms_income.domain.model.IncomeCursor;
+import com.example.ms_income.domain.ports.IncomeRepositoryPort;
+import com.example.ms_income.infrastructure.configuration.IncomePartitionMaintenance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica con EXPLAIN que cada consulta de IncomeRepository usa un índice en PostgreSQL.
+ * Cada método del puerto se ejecuta de verdad; se captura el SQL y los parámetros que Hibernate
+ * envía al driver y se repite la sentencia con EXPLAIN y los mismos parámetros.
+ *
+ * Requiere una base PostgreSQL desechable (por ejemplo la de DB/docker-compose-dev.yml):
+ * TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/income_index_test. Sin esa variable se omite.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${TEST_POSTGRES_URL}",
+        "spring.datasource.username=${TEST_POSTGRES_USERNAME:postgres}",
+        "spring.datasource.password=${TEST_POSTGRES_PASSWORD:}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.flyway.enabled=true",
+        "categories.events.datasource.url="
+})
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class IncomeRepositoryIndexTest {
+
+    private static final long FIRST_USER = 900_001;
+    private static final int USERS = 200;
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+    private static final List<RecordedQuery> RECORDED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private IncomeRepositoryPort incomeRepositoryPort;
+
+    @Autowired
+    private IncomePartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() {
+        // Usuarios reservados para la prueba: 150 ingresos cada uno, repartidos entre dos meses
+        // atrás y dos adelante, con un 10% inactivos
+        YearMonth from = YearMonth.now().minusMonths(2);
+        jdbcTemplate.update("DELETE FROM incomes WHERE user_id BETWEEN ? AND ?", FIRST_USER, FIRST_USER + USERS - 1);
+        jdbcTemplate.update("INSERT INTO incomes (income_id, amount, income_category_id, income_date, description,"
+                        + " user_id, active, created_at, updated_at)"
+                        + " SELECT 900000000 + g, (g % 500) + 1, (g % 20) + 1,"
+                        + " CAST(? AS timestamp) + (g % 150) * interval '1 day' + (g % 24) * interval '1 hour',"
+                        + " 'ingreso ' || g, ? + (g % ?), g % 10 <> 0, now(), now()"
+                        + " FROM generate_series(1, ?) g",
+                from.atDay(1).atStartOfDay(), FIRST_USER, USERS, USERS * 150);
+        // Los meses anteriores al actual caen en la partición default hasta el mantenimiento
+        partitionMaintenance.maintain();
+        jdbcTemplate.execute("ANALYZE incomes");
+    }
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        Long userId = FIRST_USER + 7;
+        LocalDateTime start = YearMonth.now().atDay(1).atStartOfDay();
+        LocalDateTime end = start.plusDays(20);
+        IncomeCursor first = IncomeCursor.FIRST;
+
+        assertUsesIndex("findPageByUserIdAndActiveTrue",
+                () -> incomeRepositoryPort.findPageByUserIdAndActiveTrue(userId, first, 20));
+        assertUsesIndex("findPageByUserIdAndIncomeCategoryIdAndActiveTrue",
+                () -> incomeRepositoryPort.findPageByUserIdAndIncomeCategoryIdAndActiveTrue(userId, 8L, first, 20));
+        assertUsesIndex("findPageByUserIdAndIncomeDateBetweenAndActiveTrue",
+                () -> incomeRepositoryPort.findPageByUserIdAndIncomeDateBetweenAndActiveTrue(userId, start, end, first, 20));
+        assertUsesIndex("findPageByUserIdAndAmountBetweenAndActiveTrue",
+                () -> incomeRepositoryPort.findPageByUserIdAndAmountBetweenAndActiveTrue(
+                        userId, new BigDecimal("10"), new BigDecimal("60"), first, 20));
+        assertUsesIndex("forEachActive",
+                () -> incomeRepositoryPort.forEachActive(first, 100, income -> { }));
+        assertUsesIndex("findByIdAndActiveTrue",
+                () -> incomeRepositoryPort.findByIdAndActiveTrue(900_000_123L));
+    }
+
+    private void assertUsesIndex(String name, Runnable call) {
+        RECORDED.clear();
+        call.run();
+        List<RecordedQuery> queries = RECORDED.stream()
+                .filter(query -> query.sql().contains("incomes"))
+                .toList();
+        assertFalse(queries.isEmpty(), name + ": no consultó la tabla incomes");
+
+        for (RecordedQuery query : queries) {
+            String plan = explain(query);
+            assertTrue(plan.contains("Index"), name + " no usa ningún índice:\n" + plan);
+            // Un recorrido secuencial solo se admite sobre particiones vacías (costo cero para el planner)
+            Matcher seqScan = SEQ_SCAN.matcher(plan);
+            while (seqScan.find()) {
+                String table = seqScan.group(1);
+                assertEquals(0L, jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class),
+                        name + " recorre secuencialmente " + table + ":\n" + plan);
+            }
+        }
+    }
+
+    private String explain(RecordedQuery query) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query.sql())) {
+            for (Binding binding : query.bindings()) {
+                binding.method().invoke(explain, binding.args());
+            }
+            List<String> lines = new ArrayList<>();
+            try (ResultSet resultSet = explain.executeQuery()) {
+                while (resultSet.next()) {
+                    lines.add(resultSet.getString(1));
+                }
+            }
+            return String.join("\n", lines);
+        } catch (SQLException | ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo ejecutar EXPLAIN de: " + query.sql(), e);
+        }
+    }
+
+    private record RecordedQuery(String sql, List<Binding> bindings) {
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    /**
+     * Envuelve el DataSource para registrar cada SELECT preparado junto con las llamadas
+     * set*(índice, valor) que recibió, y poder repetirlas sobre la sentencia EXPLAIN.
+     */
+    @TestConfiguration
+    static class RecordingDataSourceConfiguration {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recording(dataSource) : bean;
+                }
+            };
+        }
+
+        private static DataSource recording(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection connection ? recording(connection) : result);
+        }
+
+        private static Connection recording(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                    method.getName().equals("prepareStatement")
+                            ? recording((PreparedStatement) result, (String) args[0])
+                            : result);
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bindings.add(new Binding(method, args));
+                } else if (method.getName().equals("clearParameters")) {
+                    bindings.clear();
+                } else if (method.getName().equals("executeQuery") && sql.toLowerCase().startsWith("select")) {
+                    RECORDED.add(new RecordedQuery(sql, List.copyOf(bindings)));
+                }
+                return result;
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return afterCall.apply(method, args, result);
+            }));
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object[] args, Object result);
+        }
+    }
+}
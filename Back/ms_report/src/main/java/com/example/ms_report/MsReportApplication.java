@@ -0,0 +1,13 @@
+package com.example.ms_report;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class MsReportApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(MsReportApplication.class, args);
+	}
+
+}
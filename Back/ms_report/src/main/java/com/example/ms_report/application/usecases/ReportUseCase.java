@@ -0,0 +1,264 @@
+package com.example.ms_report.application.usecases;
+
+import com.example.ms_report.domain.exceptions.ReportUnavailableException;
+import com.example.ms_report.domain.model.BalanceChangedEvent;
+import com.example.ms_report.domain.model.MonthlyTotal;
+import com.example.ms_report.domain.model.ReportKey;
+import com.example.ms_report.domain.model.dto.BalanceResponse;
+import com.example.ms_report.domain.model.dto.CategoryTotalItem;
+import com.example.ms_report.domain.model.dto.MonthReportItem;
+import com.example.ms_report.domain.model.dto.PeriodReportResponse;
+import com.example.ms_report.domain.ports.ReportServicePort;
+import com.example.ms_report.infrastructure.adapters.output.external.ExpenseClient;
+import com.example.ms_report.infrastructure.adapters.output.external.IncomeClient;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Service
+public class ReportUseCase implements ReportServicePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportUseCase.class);
+
+    private final ExpenseClient expenseClient;
+    private final IncomeClient incomeClient;
+    private final ExecutorService fanOutExecutor;
+    private final Duration timeout;
+    private final int maxMonths;
+
+    /**
+     * Reportes por (usuario, rango de meses). La caché guarda el future de la consulta: las
+     * solicitudes simultáneas del mismo reporte comparten una sola ida a ms_expense y ms_income,
+     * y un future que falla o vence su plazo se retira solo. Se invalida con los eventos de cambios
+     * que envían ms_expense y ms_income; el TTL acota lo que no llega por evento (por ejemplo, las
+     * correcciones de la conciliación de monthly_balances).
+     */
+    private final AsyncCache<ReportKey, PeriodReportResponse> reportCache;
+
+    public ReportUseCase(ExpenseClient expenseClient,
+                         IncomeClient incomeClient,
+                         @Qualifier("reportFanOutExecutor") ExecutorService fanOutExecutor,
+                         @Value("${reports.fanout.timeout:2s}") Duration timeout,
+                         @Value("${reports.max-months:60}") int maxMonths,
+                         @Value("${reports.cache.ttl:10m}") Duration cacheTtl,
+                         @Value("${reports.cache.max-size:10000}") long cacheMaxSize,
+                         MeterRegistry meterRegistry) {
+        this.expenseClient = expenseClient;
+        this.incomeClient = incomeClient;
+        this.fanOutExecutor = fanOutExecutor;
+        this.timeout = timeout;
+        this.maxMonths = maxMonths;
+        this.reportCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, reportCache, "reports");
+    }
+
+    @Override
+    public BalanceResponse getBalance(Long userId, String authHeader, LocalDate from, LocalDate to) {
+        PeriodReportResponse report = getPeriodReport(userId, authHeader, from, to);
+        return BalanceResponse.builder()
+                .userId(userId)
+                .from(report.getFrom())
+                .to(report.getTo())
+                .totalIncome(report.getTotalIncome())
+                .totalExpense(report.getTotalExpense())
+                .balance(report.getBalance())
+                .build();
+    }
+
+    @Override
+    public PeriodReportResponse getPeriodReport(Long userId, String authHeader, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("La fecha inicial no puede ser posterior a la final");
+        }
+        ReportKey key = ReportKey.of(userId, from, to);
+        if (ChronoUnit.MONTHS.between(key.fromMonth(), key.toMonth()) >= maxMonths) {
+            throw new IllegalArgumentException("El rango del reporte no puede superar " + maxMonths + " meses");
+        }
+        logger.info("Obteniendo reporte del usuario: {} entre {} y {}", userId, key.fromMonth(), key.toMonth());
+
+        try {
+            return reportCache.get(key, (reportKey, executor) -> fetchReport(reportKey, authHeader)).join();
+        } catch (CompletionException e) {
+            throw unavailable(key, e.getCause());
+        }
+    }
+
+    @Override
+    public PeriodReportResponse getMonthlyReport(Long userId, String authHeader, YearMonth month) {
+        return getPeriodReport(userId, authHeader, month.atDay(1), month.atEndOfMonth());
+    }
+
+    @Override
+    public PeriodReportResponse getAnnualReport(Long userId, String authHeader, int year) {
+        return getPeriodReport(userId, authHeader, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    /**
+     * Descarta los reportes de cada usuario cuyo rango incluye el mes modificado, también los
+     * que todavía se están consultando: su resultado ya no se guarda y la siguiente solicitud
+     * consulta de nuevo. Recorre la caché (acotada por reports.cache.max-size) una vez por lote.
+     */
+    @Override
+    public void invalidateReports(List<BalanceChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        boolean removed = reportCache.asMap().keySet().removeIf(key -> events.stream()
+                .anyMatch(event -> key.userId().equals(event.userId()) && key.covers(event.month())));
+        if (removed) {
+            logger.debug("{} cambios de balance recibidos, reportes afectados descartados", events.size());
+        }
+    }
+
+    /**
+     * Consulta ms_expense y ms_income al mismo tiempo en el ejecutor acotado; el reporte falla
+     * si alguno de los dos no responde dentro de reports.fanout.timeout (nunca con datos parciales).
+     * Si el reporte falla (plazo vencido o error de una de las consultas) se cancela la otra: si
+     * sigue en la cola no llega a correr y si está corriendo se interrumpe. Una lectura bloqueada
+     * en el socket no atiende la interrupción; la acota http.client.read-timeout, que es menor
+     * que reports.fanout.timeout.
+     */
+    private CompletableFuture<PeriodReportResponse> fetchReport(ReportKey key, String authHeader) {
+        CompletableFuture<List<MonthlyTotal>> expenses = new CompletableFuture<>();
+        CompletableFuture<List<MonthlyTotal>> incomes = new CompletableFuture<>();
+        List<Future<?>> calls = new ArrayList<>(2);
+        try {
+            calls.add(fanOutExecutor.submit(() -> complete(expenses,
+                    () -> expenseClient.getMonthlyTotals(authHeader, key.fromMonth(), key.toMonth()))));
+            calls.add(fanOutExecutor.submit(() -> complete(incomes,
+                    () -> incomeClient.getMonthlyTotals(authHeader, key.fromMonth(), key.toMonth()))));
+        } catch (RejectedExecutionException e) {
+            calls.forEach(call -> call.cancel(true));
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<PeriodReportResponse> report = incomes
+                .thenCombine(expenses, (incomeTotals, expenseTotals) -> buildReport(key, incomeTotals, expenseTotals))
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        report.whenComplete((result, failure) -> {
+            if (failure != null) {
+                calls.forEach(call -> call.cancel(true));
+            }
+        });
+        return report;
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Supplier<T> call) {
+        try {
+            future.complete(call.get());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private PeriodReportResponse buildReport(ReportKey key, List<MonthlyTotal> incomeTotals, List<MonthlyTotal> expenseTotals) {
+        // Todos los meses del rango, aunque no tengan movimientos
+        SortedMap<LocalDate, BigDecimal> incomeByMonth = new TreeMap<>();
+        SortedMap<LocalDate, BigDecimal> expenseByMonth = new TreeMap<>();
+        for (LocalDate month = key.fromMonth(); !month.isAfter(key.toMonth()); month = month.plusMonths(1)) {
+            incomeByMonth.put(month, BigDecimal.ZERO);
+            expenseByMonth.put(month, BigDecimal.ZERO);
+        }
+        SortedMap<Long, BigDecimal> incomeByCategory = new TreeMap<>();
+        SortedMap<Long, BigDecimal> expenseByCategory = new TreeMap<>();
+        accumulate(incomeTotals, incomeByMonth, incomeByCategory);
+        accumulate(expenseTotals, expenseByMonth, expenseByCategory);
+
+        List<MonthReportItem> months = new ArrayList<>(incomeByMonth.size());
+        incomeByMonth.forEach((month, income) -> {
+            BigDecimal expense = expenseByMonth.get(month);
+            months.add(MonthReportItem.builder()
+                    .month(month)
+                    .income(income)
+                    .expense(expense)
+                    .balance(income.subtract(expense))
+                    .build());
+        });
+        BigDecimal totalIncome = sum(incomeByMonth);
+        BigDecimal totalExpense = sum(expenseByMonth);
+
+        return PeriodReportResponse.builder()
+                .userId(key.userId())
+                .from(key.fromMonth())
+                .to(key.toMonth())
+                .totalIncome(totalIncome)
+                .totalExpense(totalExpense)
+                .balance(totalIncome.subtract(totalExpense))
+                .months(months)
+                .incomeByCategory(toCategoryItems(incomeByCategory))
+                .expenseByCategory(toCategoryItems(expenseByCategory))
+                .build();
+    }
+
+    private static void accumulate(List<MonthlyTotal> totals, Map<LocalDate, BigDecimal> byMonth, Map<Long, BigDecimal> byCategory) {
+        for (MonthlyTotal total : totals) {
+            // Solo se suman los meses pedidos, aunque el servicio devuelva otros
+            if (byMonth.containsKey(total.getMonthStart())) {
+                byMonth.merge(total.getMonthStart(), total.getTotal(), BigDecimal::add);
+                byCategory.merge(total.getCategoryId(), total.getTotal(), BigDecimal::add);
+            }
+        }
+    }
+
+    private static BigDecimal sum(Map<?, BigDecimal> totals) {
+        return totals.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static List<CategoryTotalItem> toCategoryItems(Map<Long, BigDecimal> byCategory) {
+        return byCategory.entrySet().stream()
+                .map(entry -> CategoryTotalItem.builder().categoryId(entry.getKey()).total(entry.getValue()).build())
+                .toList();
+    }
+
+    /**
+     * Traduce la falla de la consulta. Un 4xx de ms_expense o ms_income (por ejemplo, token
+     * rechazado) se propaga tal cual; el resto se reporta como servicio no disponible.
+     */
+    private RuntimeException unavailable(ReportKey key, Throwable cause) {
+        if (cause instanceof HttpClientErrorException clientError) {
+            return clientError;
+        }
+        if (cause instanceof TimeoutException) {
+            logger.warn("ms_expense o ms_income no respondieron en {} para el reporte del usuario {}", timeout, key.userId());
+            return new ReportUnavailableException("Los servicios de origen no respondieron en " + timeout, true, cause);
+        }
+        if (cause instanceof RejectedExecutionException) {
+            logger.warn("Ejecutor de consultas de reportes saturado, se rechaza el reporte del usuario {}", key.userId());
+        } else if (cause instanceof CallNotPermittedException) {
+            logger.warn("Circuito abierto hacia un servicio de origen: {}", cause.getMessage());
+        } else {
+            logger.error("Error al consultar los totales del usuario {}: {}", key.userId(), cause.getMessage());
+        }
+        return new ReportUnavailableException("No se pudo obtener el reporte", false, cause);
+    }
+}
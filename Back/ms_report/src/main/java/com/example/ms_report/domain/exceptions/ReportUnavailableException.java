@@ -0,0 +1,20 @@
+package com.example.ms_report.domain.exceptions;
+
+/**
+ * ms_expense o ms_income no respondieron dentro del plazo (timedOut) o no están disponibles
+ * (error, circuito abierto o ejecutor de consultas saturado). El reporte no se arma con datos
+ * parciales.
+ */
+public class ReportUnavailableException extends RuntimeException {
+
+    private final boolean timedOut;
+
+    public ReportUnavailableException(String message, boolean timedOut, Throwable cause) {
+        super(message, cause);
+        this.timedOut = timedOut;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+}
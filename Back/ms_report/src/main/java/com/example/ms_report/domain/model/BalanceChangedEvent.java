@@ -0,0 +1,10 @@
+package com.example.ms_report.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Cambio en el acumulado mensual de un usuario, tomado de un evento de expense_outbox o
+ * income_outbox que ms_expense o ms_income envían a POST /api/v1/reports/events.
+ */
+public record BalanceChangedEvent(Long userId, LocalDate month) {
+}
@@ -0,0 +1,20 @@
+package com.example.ms_report.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Total de un mes y una categoría, tal como lo devuelven ms_expense o ms_income
+ * (GET /monthly-totals, leído de su tabla monthly_balances).
+ */
+@Data
+@AllArgsConstructor
+public class MonthlyTotal {
+
+    private LocalDate monthStart;
+    private Long categoryId;
+    private BigDecimal total;
+}
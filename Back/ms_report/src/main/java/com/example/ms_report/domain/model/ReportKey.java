@@ -0,0 +1,19 @@
+package com.example.ms_report.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Clave de la caché de reportes: usuario y rango de meses (primer día del mes inicial y del
+ * mes final). Los acumulados de ms_expense y ms_income son mensuales, así que dos rangos que
+ * tocan los mismos meses comparten el mismo reporte.
+ */
+public record ReportKey(Long userId, LocalDate fromMonth, LocalDate toMonth) {
+
+    public static ReportKey of(Long userId, LocalDate from, LocalDate to) {
+        return new ReportKey(userId, from.withDayOfMonth(1), to.withDayOfMonth(1));
+    }
+
+    public boolean covers(LocalDate month) {
+        return !month.isBefore(fromMonth) && !month.isAfter(toMonth);
+    }
+}
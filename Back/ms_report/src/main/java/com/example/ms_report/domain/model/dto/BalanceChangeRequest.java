@@ -0,0 +1,31 @@
+package com.example.ms_report.domain.model.dto;
+
+import com.example.ms_report.domain.model.BalanceChangedEvent;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Evento de expense_outbox o income_outbox tal como lo envían los suscriptores HTTP de
+ * ms_expense y ms_income. Solo interesan el usuario y la fecha; cada servicio nombra la fecha
+ * a su manera (expenseDate / incomeDate).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BalanceChangeRequest {
+    private Long userId;
+    @JsonAlias({"expenseDate", "incomeDate"})
+    private LocalDate date;
+
+    public BalanceChangedEvent toEvent() {
+        return new BalanceChangedEvent(userId, date.withDayOfMonth(1));
+    }
+}
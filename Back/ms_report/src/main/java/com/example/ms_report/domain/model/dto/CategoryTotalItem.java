@@ -0,0 +1,17 @@
+package com.example.ms_report.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTotalItem {
+    private Long categoryId;
+    private BigDecimal total;
+}
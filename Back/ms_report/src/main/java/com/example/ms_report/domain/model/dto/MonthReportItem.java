@@ -0,0 +1,20 @@
+package com.example.ms_report.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthReportItem {
+    private LocalDate month;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal balance;
+}
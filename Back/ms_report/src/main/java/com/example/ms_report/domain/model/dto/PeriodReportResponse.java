@@ -0,0 +1,27 @@
+package com.example.ms_report.domain.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodReportResponse {
+    private Long userId;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal balance;
+    // Todos los meses del rango, con cero los que no tienen movimientos
+    private List<MonthReportItem> months;
+    private List<CategoryTotalItem> incomeByCategory;
+    private List<CategoryTotalItem> expenseByCategory;
+}
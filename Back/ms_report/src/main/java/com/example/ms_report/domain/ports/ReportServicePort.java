@@ -0,0 +1,21 @@
+package com.example.ms_report.domain.ports;
+
+import com.example.ms_report.domain.model.BalanceChangedEvent;
+import com.example.ms_report.domain.model.dto.BalanceResponse;
+import com.example.ms_report.domain.model.dto.PeriodReportResponse;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * authHeader es el Authorization de la solicitud original; se reenvía a ms_expense y ms_income,
+ * que obtienen el usuario del mismo token.
+ */
+public interface ReportServicePort {
+    BalanceResponse getBalance(Long userId, String authHeader, LocalDate from, LocalDate to);
+    PeriodReportResponse getPeriodReport(Long userId, String authHeader, LocalDate from, LocalDate to);
+    PeriodReportResponse getMonthlyReport(Long userId, String authHeader, YearMonth month);
+    PeriodReportResponse getAnnualReport(Long userId, String authHeader, int year);
+    void invalidateReports(List<BalanceChangedEvent> events);
+}
@@ -0,0 +1,69 @@
+package com.example.ms_report.infrastructure.adapters.input.rest;
+
+import com.example.ms_report.domain.model.dto.BalanceChangeRequest;
+import com.example.ms_report.domain.ports.ReportServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Suscriptor de los outbox de ms_expense y ms_income (expenses.outbox.http.urls e
+ * incomes.outbox.http.urls apuntan aquí): cada lote de cambios descarta los reportes cacheados
+ * de los (usuario, mes) afectados. Es un endpoint entre servicios, sin token de usuario: cada
+ * lote debe traer en SERVICE_TOKEN_HEADER la credencial compartida reports.events.token, que los
+ * suscriptores HTTP de los outbox envían. Sin ella responde 401; si la propiedad está vacía
+ * rechaza todos los lotes. Un 4xx hace que el relay de origen reintente el lote.
+ */
+@RestController
+@RequestMapping("/api/v1/reports/events")
+public class BalanceEventController {
+
+    public static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceEventController.class);
+    private final ReportServicePort reportServicePort;
+    private final byte[] serviceToken;
+
+    public BalanceEventController(ReportServicePort reportServicePort,
+                                  @Value("${reports.events.token:}") String serviceToken) {
+        this.reportServicePort = reportServicePort;
+        this.serviceToken = serviceToken.getBytes(StandardCharsets.UTF_8);
+        if (serviceToken.isBlank()) {
+            logger.warn("reports.events.token está vacío: se rechazarán todos los lotes de cambios de balance");
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<Void> balanceChanged(@RequestHeader(value = SERVICE_TOKEN_HEADER, required = false) String token,
+                                               @RequestBody List<BalanceChangeRequest> events) {
+        if (!isServiceToken(token)) {
+            logger.warn("Lote de {} cambios de balance sin credencial de servicio válida, se rechaza", events.size());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (events.stream().anyMatch(event -> event.getUserId() == null || event.getDate() == null)) {
+            logger.warn("Lote de {} cambios de balance con eventos sin usuario o fecha, se rechaza", events.size());
+            return ResponseEntity.badRequest().build();
+        }
+        reportServicePort.invalidateReports(events.stream().map(BalanceChangeRequest::toEvent).toList());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Compara en tiempo constante para no revelar cuántos caracteres coinciden
+     */
+    private boolean isServiceToken(String token) {
+        return serviceToken.length > 0 && token != null
+                && MessageDigest.isEqual(serviceToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
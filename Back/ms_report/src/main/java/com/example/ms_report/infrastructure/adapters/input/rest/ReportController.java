@@ -0,0 +1,120 @@
+package com.example.ms_report.infrastructure.adapters.input.rest;
+
+import com.example.ms_report.domain.exceptions.ReportUnavailableException;
+import com.example.ms_report.domain.model.dto.BalanceResponse;
+import com.example.ms_report.domain.model.dto.PeriodReportResponse;
+import com.example.ms_report.domain.ports.ReportServicePort;
+import com.example.ms_report.infrastructure.security.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.function.Supplier;
+
+/**
+ * Reportes calculados sobre los acumulados mensuales de ms_expense y ms_income: los rangos se
+ * amplían a meses completos (from y to de la respuesta son el primer día de cada mes).
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+    private final ReportServicePort reportServicePort;
+    private final JwtUtil jwtUtil;
+
+    public ReportController(ReportServicePort reportServicePort, JwtUtil jwtUtil) {
+        this.reportServicePort = reportServicePort;
+        this.jwtUtil = jwtUtil;
+    }
+
+    /**
+     * Extract JWT token from Authorization header
+     */
+    private String extractToken(String authHeader) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        return null;
+    }
+
+    /**
+     * Extract userId from JWT token, null when the token is missing or invalid
+     */
+    private Long extractUserId(String authHeader) {
+        String token = extractToken(authHeader);
+        return token != null ? jwtUtil.extractUserId(token) : null;
+    }
+
+    @GetMapping("/balance")
+    public ResponseEntity<BalanceResponse> getBalance(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+
+        Long userId = extractUserId(authHeader);
+        logger.info("Solicitud recibida para balance - Usuario: {}, Rango: {} a {}", userId, from, to);
+        return respond(userId, () -> reportServicePort.getBalance(userId, authHeader, from, to));
+    }
+
+    @GetMapping("/period")
+    public ResponseEntity<PeriodReportResponse> getPeriodReport(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+
+        Long userId = extractUserId(authHeader);
+        logger.info("Solicitud recibida para reporte por periodo - Usuario: {}, Rango: {} a {}", userId, from, to);
+        return respond(userId, () -> reportServicePort.getPeriodReport(userId, authHeader, from, to));
+    }
+
+    @GetMapping("/monthly")
+    public ResponseEntity<PeriodReportResponse> getMonthlyReport(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam int year,
+            @RequestParam int month) {
+
+        Long userId = extractUserId(authHeader);
+        logger.info("Solicitud recibida para reporte mensual - Usuario: {}, Mes: {}-{}", userId, year, month);
+        return respond(userId, () -> reportServicePort.getMonthlyReport(userId, authHeader, YearMonth.of(year, month)));
+    }
+
+    @GetMapping("/annual")
+    public ResponseEntity<PeriodReportResponse> getAnnualReport(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam int year) {
+
+        Long userId = extractUserId(authHeader);
+        logger.info("Solicitud recibida para reporte anual - Usuario: {}, Año: {}", userId, year);
+        return respond(userId, () -> reportServicePort.getAnnualReport(userId, authHeader, year));
+    }
+
+    /**
+     * 401 sin usuario en el token, 400 ante un rango inválido, el mismo 4xx que respondió el
+     * servicio de origen, 504 si no respondió a tiempo y 503 si no está disponible.
+     */
+    private <T> ResponseEntity<T> respond(Long userId, Supplier<T> report) {
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            return ResponseEntity.ok(report.get());
+        } catch (IllegalArgumentException | DateTimeException e) {
+            logger.warn("Solicitud de reporte inválida del usuario {}: {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (HttpClientErrorException e) {
+            logger.warn("Un servicio de origen rechazó la consulta del usuario {}: {}", userId, e.getStatusCode());
+            return ResponseEntity.status(e.getStatusCode()).build();
+        } catch (ReportUnavailableException e) {
+            return ResponseEntity.status(e.isTimedOut() ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
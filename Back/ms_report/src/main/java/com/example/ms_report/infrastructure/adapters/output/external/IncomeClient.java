@@ -0,0 +1,46 @@
+package com.example.ms_report.infrastructure.adapters.output.external;
+
+import com.example.ms_report.domain.model.MonthlyTotal;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Consulta los totales mensuales de ingresos del usuario en ms_income, reenviando su token.
+ */
+@Component
+public class IncomeClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncomeClient.class);
+    private final RestTemplate restTemplate;
+    // Plantilla de URL para que http.client.requests se etiquete por ruta y no por cada rango
+    private final String monthlyTotalsUrl;
+    private final CircuitBreaker circuitBreaker;
+
+    public IncomeClient(RestTemplate restTemplate,
+                        @Value("${incomes.service.url}") String incomesServiceUrl,
+                        CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.restTemplate = restTemplate;
+        this.monthlyTotalsUrl = incomesServiceUrl + "/api/v1/incomes/monthly-totals?from={from}&to={to}";
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("incomes");
+    }
+
+    public List<MonthlyTotal> getMonthlyTotals(String authHeader, LocalDate from, LocalDate to) {
+        logger.debug("Consultando totales mensuales de ingresos en ms_income entre {} y {}", from, to);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, authHeader);
+        MonthlyTotalsResponse response = circuitBreaker.executeSupplier(() -> restTemplate.exchange(
+                monthlyTotalsUrl, HttpMethod.GET, new HttpEntity<>(headers), MonthlyTotalsResponse.class, from, to).getBody());
+        return response != null ? response.toMonthlyTotals() : List.of();
+    }
+}
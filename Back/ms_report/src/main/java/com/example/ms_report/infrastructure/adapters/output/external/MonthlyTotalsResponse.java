@@ -0,0 +1,42 @@
+package com.example.ms_report.infrastructure.adapters.output.external;
+
+import com.example.ms_report.domain.model.MonthlyTotal;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Respuesta de GET /monthly-totals de ms_expense y ms_income. Cada servicio nombra la categoría
+ * a su manera (expenseCategoryId / incomeCategoryId).
+ */
+@Data
+@NoArgsConstructor
+public class MonthlyTotalsResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal total;
+    private List<Item> months;
+
+    public List<MonthlyTotal> toMonthlyTotals() {
+        if (months == null) {
+            return List.of();
+        }
+        return months.stream()
+                .map(item -> new MonthlyTotal(item.getMonth(), item.getCategoryId(), item.getTotal()))
+                .toList();
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Item {
+        private LocalDate month;
+        @JsonAlias({"expenseCategoryId", "incomeCategoryId"})
+        private Long categoryId;
+        private BigDecimal total;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ms_report.infrastructure.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecutor acotado para las consultas concurrentes a ms_expense y ms_income (dos tareas por
+ * reporte no cacheado). Con la cola llena la consulta se rechaza de inmediato en lugar de
+ * acumular espera detrás de un servicio lento; la profundidad de la cola se publica en las
+ * métricas del ejecutor "reportFanOut".
+ */
+@Configuration
+public class ReportExecutorConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportExecutorConfiguration.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService reportFanOutExecutor(
+            @Value("${reports.fanout.threads:32}") int threads,
+            @Value("${reports.fanout.queue-capacity:200}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("report-fanout-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        logger.info("Ejecutor de consultas de reportes iniciado con {} hilos y cola de {}", threads, queueCapacity);
+        return ExecutorServiceMetrics.monitor(meterRegistry, threadPool, "reportFanOut");
+    }
+}
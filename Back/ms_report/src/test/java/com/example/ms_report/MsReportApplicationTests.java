@@ -0,0 +1,13 @@
+package com.example.ms_report;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class MsReportApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
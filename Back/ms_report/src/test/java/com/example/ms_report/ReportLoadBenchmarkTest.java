@@ -0,0 +1,260 @@
+package com.example.ms_report;
+
+import com.example.ms_report.infrastructure.adapters.input.rest.BalanceEventController;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga de /api/v1/reports/period contra un ms_expense y un ms_income simulados
+ * (servidor HTTP en proceso) que tardan benchmark.latency-ms en responder cada uno. Mide:
+ * <ul>
+ *     <li>aislada: un solo cliente y usuarios distintos; las dos consultas de cada reporte deben
+ *     estar en curso a la vez, así la latencia se acerca a la de un servicio y no a la suma;</li>
+ *     <li>sin caché: bajo carga, cada solicitud es de un usuario distinto y consulta los dos servicios;</li>
+ *     <li>con caché: los mismos usuarios repetidos no vuelven a consultar los servicios;</li>
+ *     <li>tras invalidar: un cambio de balance por usuario obliga a consultar de nuevo.</li>
+ * </ul>
+ * Imprime throughput y percentiles de cada fase. Se omite salvo con REPORT_BENCHMARK=true:
+ * REPORT_BENCHMARK=true SPRING_PROFILES_ACTIVE=local mvn test -Dtest=ReportLoadBenchmarkTest
+ * (opcionales: -Dbenchmark.latency-ms, -Dbenchmark.clients, -Dbenchmark.requests).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "reports.fanout.threads=128",
+        "reports.fanout.queue-capacity=1000",
+        "reports.cache.ttl=10m",
+        "reports.events.token=" + ReportLoadBenchmarkTest.SERVICE_TOKEN,
+        // Bajo carga en una máquina pequeña las llamadas se vuelven lentas; el circuito no debe abrirse
+        "resilience4j.circuitbreaker.configs.default.slow-call-duration-threshold=1m",
+        "resilience4j.circuitbreaker.configs.default.failure-rate-threshold=100",
+        "http.client.max-connections=300",
+        "http.client.max-connections-per-route=150",
+        "logging.level.com.example.ms_report=WARN"
+})
+@EnabledIfEnvironmentVariable(named = "REPORT_BENCHMARK", matches = "true")
+class ReportLoadBenchmarkTest {
+
+    static final String SERVICE_TOKEN = "benchmark-service-token";
+    private static final long LATENCY_MS = Long.getLong("benchmark.latency-ms", 50);
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 16);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 1000);
+    private static final int ISOLATED_REQUESTS = 50;
+    private static final int HOT_USERS = 100;
+    private static final long FIRST_USER = 1_000_000;
+    private static final int YEAR = 2026;
+
+    private static final AtomicInteger DOWNSTREAM_CALLS = new AtomicInteger();
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+    private static HttpServer downstream;
+    private static ExecutorService downstreamExecutor;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    private final Map<Long, String> tokens = new ConcurrentHashMap<>();
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @DynamicPropertySource
+    static void downstreamServices(DynamicPropertyRegistry registry) throws IOException {
+        downstream = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+        downstreamExecutor = Executors.newFixedThreadPool(300);
+        downstream.setExecutor(downstreamExecutor);
+        downstream.createContext("/api/v1/expenses/monthly-totals", exchange -> respond(exchange, "expenseCategoryId"));
+        downstream.createContext("/api/v1/incomes/monthly-totals", exchange -> respond(exchange, "incomeCategoryId"));
+        downstream.start();
+        String url = "http://localhost:" + downstream.getAddress().getPort();
+        registry.add("expenses.service.url", () -> url);
+        registry.add("incomes.service.url", () -> url);
+    }
+
+    @AfterAll
+    static void stopDownstream() {
+        downstream.stop(0);
+        downstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    void periodReportUnderLoad() throws Exception {
+        // Calentamiento de JIT, pools de conexiones y ejecutor (usuarios fuera de las fases medidas)
+        run("calentamiento", CLIENTS, Math.min(REQUESTS, 500), i -> FIRST_USER - 1 - i);
+
+        MAX_IN_FLIGHT.set(0);
+        Result isolated = run("aislada", 1, ISOLATED_REQUESTS, i -> FIRST_USER - 1_000 - i);
+        int isolatedMaxInFlight = MAX_IN_FLIGHT.get();
+
+        int callsBefore = DOWNSTREAM_CALLS.get();
+        Result cold = run("sin caché", CLIENTS, REQUESTS, i -> FIRST_USER + HOT_USERS + i);
+        int coldCalls = DOWNSTREAM_CALLS.get() - callsBefore;
+
+        run("carga de usuarios frecuentes", CLIENTS, HOT_USERS, i -> FIRST_USER + i);
+        callsBefore = DOWNSTREAM_CALLS.get();
+        Result warm = run("con caché", CLIENTS, REQUESTS, i -> FIRST_USER + i % HOT_USERS);
+        int warmCalls = DOWNSTREAM_CALLS.get() - callsBefore;
+
+        StringBuilder events = new StringBuilder();
+        for (int i = 0; i < HOT_USERS; i++) {
+            events.append(events.isEmpty() ? "[" : ",")
+                    .append(String.format("{\"userId\":%d,\"expenseDate\":\"%d-03-15\"}", FIRST_USER + i, YEAR));
+        }
+        assertEquals(204, postEvents(events.append(']').toString()), "el lote de eventos fue rechazado");
+        callsBefore = DOWNSTREAM_CALLS.get();
+        Result invalidated = run("tras invalidar", CLIENTS, REQUESTS, i -> FIRST_USER + i % HOT_USERS);
+        int invalidatedCalls = DOWNSTREAM_CALLS.get() - callsBefore;
+
+        System.out.printf("%nLatencia simulada por servicio: %d ms, clientes concurrentes: %d%n", LATENCY_MS, CLIENTS);
+        System.out.printf("%-16s %10s %8s %8s %8s %8s %12s%n", "fase", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "consultas");
+        isolated.print(2 * ISOLATED_REQUESTS);
+        cold.print(coldCalls);
+        warm.print(warmCalls);
+        invalidated.print(invalidatedCalls);
+
+        assertEquals(0, isolated.errors + cold.errors + warm.errors + invalidated.errors, "solicitudes con error");
+        // Con un solo cliente, dos consultas simultáneas solo ocurren si el reporte las lanza en paralelo
+        assertEquals(2, isolatedMaxInFlight, "las consultas a ms_expense y ms_income no se hicieron en paralelo");
+        assertEquals(2 * REQUESTS, coldCalls, "sin caché cada reporte consulta los dos servicios");
+        assertEquals(0, warmCalls, "con caché no se consulta a los servicios");
+        // Solicitudes simultáneas del mismo usuario comparten la consulta en curso
+        assertTrue(invalidatedCalls <= 2 * HOT_USERS,
+                "tras invalidar cada usuario se consulta una sola vez (" + invalidatedCalls + " consultas)");
+    }
+
+    private Result run(String phase, int concurrency, int requests, IntFunction<Long> userOf) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        for (int c = 0; c < concurrency; c++) {
+            clients.execute(() -> {
+                for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                    long begin = System.nanoTime();
+                    if (!request(userOf.apply(i))) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                }
+            });
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(5, TimeUnit.MINUTES), phase + " no terminó");
+        return new Result(phase, latencies, System.nanoTime() - start, errors.get());
+    }
+
+    private boolean request(long userId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/api/v1/reports/period?from=" + YEAR + "-01-01&to=" + YEAR + "-12-31"))
+                .header("Authorization", "Bearer " + tokens.computeIfAbsent(userId, this::token))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int postEvents(String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/reports/events"))
+                .header("Content-Type", "application/json")
+                .header(BalanceEventController.SERVICE_TOKEN_HEADER, SERVICE_TOKEN)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String token(long userId) {
+        return Jwts.builder()
+                .subject("user" + userId + "@benchmark.local")
+                .claim("userId", userId)
+                .claim("role", "USER")
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    /**
+     * Respuesta de /monthly-totals: doce meses con tres categorías cada uno
+     */
+    private static void respond(HttpExchange exchange, String categoryField) throws IOException {
+        DOWNSTREAM_CALLS.incrementAndGet();
+        MAX_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            IN_FLIGHT.decrementAndGet();
+        }
+        StringBuilder months = new StringBuilder();
+        for (int month = 1; month <= 12; month++) {
+            for (long category = 1; category <= 3; category++) {
+                if (!months.isEmpty()) {
+                    months.append(',');
+                }
+                months.append(String.format("{\"month\":\"%d-%02d-01\",\"%s\":%d,\"total\":%d.00}",
+                        YEAR, month, categoryField, category, month * 100 + category));
+            }
+        }
+        byte[] body = ("{\"from\":\"" + YEAR + "-01-01\",\"to\":\"" + YEAR + "-12-01\",\"total\":0,\"months\":["
+                + months + "]}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private record Result(String phase, long[] latencies, long elapsedNanos, int errors) {
+
+        long percentile(int percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = Math.max(0, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+            return TimeUnit.NANOSECONDS.toMillis(sorted[index]);
+        }
+
+        void print(int downstreamCalls) {
+            double throughput = latencies.length / (elapsedNanos / 1_000_000_000.0);
+            System.out.printf("%-16s %10.0f %8d %8d %8d %8d %12d%n", phase, throughput,
+                    percentile(50), percentile(95), percentile(99), percentile(100), downstreamCalls);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.ms_report.infrastructure.adapters.input.rest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * POST /api/v1/reports/events contra un ms_expense y un ms_income simulados que cuentan las
+ * consultas: un lote con la credencial de servicio descarta el reporte cacheado y el siguiente
+ * GET vuelve a consultar los dos servicios; sin la credencial el lote se rechaza y el reporte
+ * sigue saliendo del caché.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "reports.cache.ttl=10m",
+        "reports.events.token=" + BalanceEventControllerTest.SERVICE_TOKEN
+})
+class BalanceEventControllerTest {
+
+    static final String SERVICE_TOKEN = "test-service-token";
+    private static final int YEAR = 2026;
+
+    private static final AtomicInteger DOWNSTREAM_CALLS = new AtomicInteger();
+    private static HttpServer downstream;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @DynamicPropertySource
+    static void downstreamServices(DynamicPropertyRegistry registry) throws IOException {
+        downstream = HttpServer.create(new InetSocketAddress("localhost", 0), 50);
+        downstream.createContext("/api/v1/expenses/monthly-totals", exchange -> respond(exchange, "expenseCategoryId"));
+        downstream.createContext("/api/v1/incomes/monthly-totals", exchange -> respond(exchange, "incomeCategoryId"));
+        downstream.start();
+        String url = "http://localhost:" + downstream.getAddress().getPort();
+        registry.add("expenses.service.url", () -> url);
+        registry.add("incomes.service.url", () -> url);
+    }
+
+    @AfterAll
+    static void stopDownstream() {
+        downstream.stop(0);
+    }
+
+    @Test
+    void evictingBatchMakesTheNextReportFetchAgain() throws Exception {
+        long userId = 5_001;
+        assertEquals(2, callsFor(() -> getReport(userId)), "el primer reporte consulta los dos servicios");
+        assertEquals(0, callsFor(() -> getReport(userId)), "el segundo reporte sale del caché");
+
+        assertEquals(204, postEvents("[{\"userId\":" + userId + ",\"expenseDate\":\"" + YEAR + "-03-15\"}]", SERVICE_TOKEN));
+
+        assertEquals(2, callsFor(() -> getReport(userId)), "tras el evento el reporte se vuelve a consultar");
+        assertEquals(0, callsFor(() -> getReport(userId)), "y queda cacheado de nuevo");
+    }
+
+    @Test
+    void batchForAnotherUserOrMonthKeepsTheReport() throws Exception {
+        long userId = 5_002;
+        callsFor(() -> getReport(userId));
+
+        assertEquals(204, postEvents("[{\"userId\":" + (userId + 1) + ",\"incomeDate\":\"" + YEAR + "-03-15\"},"
+                + "{\"userId\":" + userId + ",\"incomeDate\":\"" + (YEAR + 1) + "-01-10\"}]", SERVICE_TOKEN));
+
+        assertEquals(0, callsFor(() -> getReport(userId)));
+    }
+
+    @Test
+    void batchWithoutTheServiceTokenIsRejected() throws Exception {
+        long userId = 5_003;
+        callsFor(() -> getReport(userId));
+        String batch = "[{\"userId\":" + userId + ",\"expenseDate\":\"" + YEAR + "-03-15\"}]";
+
+        assertEquals(401, postEvents(batch, null));
+        assertEquals(401, postEvents(batch, SERVICE_TOKEN + "x"));
+        assertEquals(401, postEvents(batch, ""));
+
+        assertEquals(0, callsFor(() -> getReport(userId)), "un lote rechazado no descarta el reporte");
+    }
+
+    @Test
+    void batchWithMissingFieldsIsRejected() throws Exception {
+        assertEquals(400, postEvents("[{\"userId\":5004}]", SERVICE_TOKEN));
+    }
+
+    private int callsFor(ThrowingRunnable request) throws Exception {
+        int before = DOWNSTREAM_CALLS.get();
+        request.run();
+        return DOWNSTREAM_CALLS.get() - before;
+    }
+
+    private void getReport(long userId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/api/v1/reports/period?from=" + YEAR + "-01-01&to=" + YEAR + "-12-31"))
+                .header("Authorization", "Bearer " + token(userId))
+                .build();
+        assertEquals(200, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    private int postEvents(String body, String serviceToken) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/reports/events"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (serviceToken != null) {
+            request.header(BalanceEventController.SERVICE_TOKEN_HEADER, serviceToken);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String token(long userId) {
+        return Jwts.builder()
+                .subject("user" + userId + "@test.local")
+                .claim("userId", userId)
+                .claim("role", "USER")
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static void respond(HttpExchange exchange, String categoryField) throws IOException {
+        DOWNSTREAM_CALLS.incrementAndGet();
+        byte[] body = ("{\"from\":\"" + YEAR + "-01-01\",\"to\":\"" + YEAR + "-12-01\",\"total\":10.00,\"months\":["
+                + "{\"month\":\"" + YEAR + "-03-01\",\"" + categoryField + "\":1,\"total\":10.00}]}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
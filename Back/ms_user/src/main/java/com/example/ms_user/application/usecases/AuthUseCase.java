@@ -10,13 +10,10 @@ import com.example.ms_user.domain.model.dto.UserResponse;
 import com.example.ms_user.domain.ports.AuthServicePort;
 import com.example.ms_user.domain.ports.UserRepositoryPort;
 import com.example.ms_user.infrastructure.security.JwtService;
+import com.example.ms_user.infrastructure.security.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,12 +26,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthUseCase implements AuthServicePort {
 
     private final UserRepositoryPort userRepositoryPort;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
 
+    /**
+     * Not transactional on purpose: the BCrypt hash is computed on the hashing executor and
+     * no database connection should be held while waiting for it. The unique email
+     * constraint still guards against concurrent registrations.
+     */
     @Override
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user with email: {}", request.getEmail());
 
@@ -47,7 +47,7 @@ public class AuthUseCase implements AuthServicePort {
         // Create new user
         User user = User.builder()
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .provider(AuthProvider.LOCAL)
@@ -67,28 +67,30 @@ public class AuthUseCase implements AuthServicePort {
         return buildAuthResponse(savedUser, token);
     }
 
+    /**
+     * Loads the user once and verifies the password on the hashing executor. Like register,
+     * it runs outside a transaction so no connection is held during the BCrypt check.
+     */
     @Override
-    @Transactional(readOnly = true)
     public AuthResponse login(LoginRequest request) {
         log.info("User login attempt with email: {}", request.getEmail());
 
         try {
-            // Authenticate user
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            request.getPassword()
-                    )
-            );
-
-            // Get user from database
-            User user = userRepositoryPort.findByEmail(request.getEmail())
-                    .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
+            // Get user from database (single load per login)
+            User user = userRepositoryPort.findByEmail(request.getEmail()).orElse(null);
+            String storedPassword = user != null ? user.getPassword() : null;
+
+            // Unknown emails are verified against a dummy hash to keep the timing uniform
+            if (!passwordHashingService.matches(request.getPassword(), storedPassword)) {
+                throw new BadCredentialsException("Invalid credentials");
+            }
 
             if (!user.getActive()) {
                 throw new BadCredentialsException("Account is deactivated");
             }
 
+            rehashIfNeeded(user, request.getPassword());
+
             // Generate JWT token
             String token = jwtService.generateToken(user);
 
@@ -159,6 +161,26 @@ public class AuthUseCase implements AuthServicePort {
         return buildAuthResponse(user, token);
     }
 
+    /**
+     * Re-hash the password with the configured BCrypt cost when it was stored with another one.
+     * A failure here never blocks the login; the next one will try again.
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+
+        try {
+            String newPassword = passwordHashingService.encode(rawPassword);
+            if (userRepositoryPort.updatePassword(user.getUserId(), user.getPassword(), newPassword)) {
+                user.setPassword(newPassword);
+                log.info("Password re-hashed with the configured cost for user ID: {}", user.getUserId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not re-hash password for user ID {}: {}", user.getUserId(), e.getMessage());
+        }
+    }
+
     /**
      * Build authentication response
      */
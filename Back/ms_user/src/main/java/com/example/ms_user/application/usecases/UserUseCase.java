@@ -3,6 +3,7 @@ package com.example.ms_user.application.usecases;
 import com.example.ms_user.domain.model.User;
 import com.example.ms_user.domain.model.dto.UpdateUserRequest;
 import com.example.ms_user.domain.model.dto.UserResponse;
+import com.example.ms_user.domain.ports.UserPrincipalCachePort;
 import com.example.ms_user.domain.ports.UserRepositoryPort;
 import com.example.ms_user.domain.ports.UserServicePort;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +12,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Use case implementation for user operations
@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 public class UserUseCase implements UserServicePort {
 
     private final UserRepositoryPort userRepositoryPort;
+    private final UserPrincipalCachePort userPrincipalCachePort;
 
     @Override
     @Transactional(readOnly = true)
@@ -58,11 +59,7 @@ public class UserUseCase implements UserServicePort {
     public List<UserResponse> getAllActiveUsers() {
         log.info("Getting all active users");
 
-        List<User> users = userRepositoryPort.findAllActive();
-
-        return users.stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
+        return userRepositoryPort.findAllActive();
     }
 
     @Override
@@ -87,6 +84,7 @@ public class UserUseCase implements UserServicePort {
         }
 
         User updatedUser = userRepositoryPort.save(user);
+        userPrincipalCachePort.evict(userId);
         log.info("User updated successfully with ID: {}", userId);
 
         return mapToUserResponse(updatedUser);
@@ -102,6 +100,7 @@ public class UserUseCase implements UserServicePort {
 
         user.deactivate();
         userRepositoryPort.save(user);
+        userPrincipalCachePort.evict(userId);
 
         log.info("User deleted (soft delete) successfully with ID: {}", userId);
     }
@@ -116,6 +115,7 @@ public class UserUseCase implements UserServicePort {
 
         user.activate();
         userRepositoryPort.save(user);
+        userPrincipalCachePort.evict(userId);
 
         log.info("User activated successfully with ID: {}", userId);
     }
@@ -130,6 +130,7 @@ public class UserUseCase implements UserServicePort {
 
         user.deactivate();
         userRepositoryPort.save(user);
+        userPrincipalCachePort.evict(userId);
 
         log.info("User deactivated successfully with ID: {}", userId);
     }
@@ -2,13 +2,18 @@ package com.example.ms_user.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 /**
- * User entity representing a registered user in the system
+ * User entity representing a registered user in the system.
+ * Cached in the Hibernate second-level cache, both by id and by email (natural id).
  */
 @Entity
 @Table(name = "users",
@@ -24,6 +29,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 public class User {
 
     @Id
@@ -31,6 +38,7 @@ public class User {
     @Column(name = "user_id")
     private Long userId;
 
+    @NaturalId
     @Column(name = "email", nullable = false, unique = true, length = 100)
     private String email;
 
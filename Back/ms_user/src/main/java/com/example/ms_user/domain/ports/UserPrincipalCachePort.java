@@ -0,0 +1,12 @@
+package com.example.ms_user.domain.ports;
+
+/**
+ * Port interface for the cache of authenticated principals
+ */
+public interface UserPrincipalCachePort {
+
+    /**
+     * Evict the cached principal of a user whose account state changed
+     */
+    void evict(Long userId);
+}
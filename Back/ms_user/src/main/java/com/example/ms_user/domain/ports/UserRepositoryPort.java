@@ -1,6 +1,7 @@
 package com.example.ms_user.domain.ports;
 
 import com.example.ms_user.domain.model.User;
+import com.example.ms_user.domain.model.dto.UserResponse;
 
 import java.util.List;
 import java.util.Optional;
@@ -38,7 +39,12 @@ public interface UserRepositoryPort {
     /**
      * Find all active users
      */
-    List<User> findAllActive();
+    List<UserResponse> findAllActive();
+
+    /**
+     * Replace the password hash if it was not changed concurrently
+     */
+    boolean updatePassword(Long userId, String currentPassword, String newPassword);
 
     /**
      * Delete user (soft delete)
@@ -4,9 +4,11 @@ import com.example.ms_user.domain.model.dto.AuthResponse;
 import com.example.ms_user.domain.model.dto.LoginRequest;
 import com.example.ms_user.domain.model.dto.RegisterRequest;
 import com.example.ms_user.domain.ports.AuthServicePort;
+import com.example.ms_user.infrastructure.security.PasswordHashingRejectedException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -35,6 +37,9 @@ public class AuthController {
             log.info("Registration request received for email: {}", request.getEmail());
             AuthResponse response = authServicePort.register(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (PasswordHashingRejectedException e) {
+            log.warn("Registration rejected, password hashing is saturated: {}", e.getMessage());
+            return serviceUnavailable();
         } catch (IllegalArgumentException e) {
             log.error("Registration failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -55,6 +60,9 @@ public class AuthController {
             log.info("Login request received for email: {}", request.getEmail());
             AuthResponse response = authServicePort.login(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingRejectedException e) {
+            log.warn("Login rejected, password hashing is saturated: {}", e.getMessage());
+            return serviceUnavailable();
         } catch (Exception e) {
             log.error("Login failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -103,6 +111,15 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Build a 503 response asking the client to retry shortly
+     */
+    private ResponseEntity<Map<String, String>> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(createErrorResponse("Too many authentication requests, please retry"));
+    }
+
     /**
      * Create error response
      */
@@ -2,8 +2,13 @@ package com.example.ms_user.infrastructure.adapters.output.persistence;
 
 import com.example.ms_user.domain.model.AuthProvider;
 import com.example.ms_user.domain.model.User;
+import com.example.ms_user.domain.model.dto.UserResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,11 +19,6 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    /**
-     * Find user by email
-     */
-    Optional<User> findByEmail(String email);
-
     /**
      * Find user by provider and provider ID
      */
@@ -30,7 +30,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     /**
-     * Find all active users
+     * Find all active users, projected straight into the response DTO so the
+     * rows are never loaded as managed entities
+     */
+    @Query("SELECT new com.example.ms_user.domain.model.dto.UserResponse(" +
+           "u.userId, u.email, u.firstName, u.lastName, CONCAT(u.firstName, ' ', u.lastName), " +
+           "u.provider, u.role, u.emailVerified, u.profilePictureUrl, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.active = true")
+    List<UserResponse> findAllActive();
+
+    /**
+     * Replace the password hash only if it still matches the expected one
      */
-    List<User> findByActiveTrue();
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.userId = :userId AND u.password = :currentPassword")
+    int updatePassword(@Param("userId") Long userId,
+                       @Param("currentPassword") String currentPassword,
+                       @Param("newPassword") String newPassword);
 }
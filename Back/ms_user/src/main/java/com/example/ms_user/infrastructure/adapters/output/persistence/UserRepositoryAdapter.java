@@ -2,10 +2,14 @@ package com.example.ms_user.infrastructure.adapters.output.persistence;
 
 import com.example.ms_user.domain.model.AuthProvider;
 import com.example.ms_user.domain.model.User;
+import com.example.ms_user.domain.model.dto.UserResponse;
 import com.example.ms_user.domain.ports.UserRepositoryPort;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +23,7 @@ import java.util.Optional;
 public class UserRepositoryAdapter implements UserRepositoryPort {
 
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
 
     @Override
     public User save(User user) {
@@ -32,10 +37,19 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
         return userRepository.findById(userId);
     }
 
+    /**
+     * Natural-id lookup: resolves email to id through the "users-by-email" region and the user
+     * through the "users" region, so repeated logins do not hit the database.
+     * Runs in its own read-only transaction (like the Spring Data methods) because callers such
+     * as login are not transactional and the Session must stay open during the lookup
+     */
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         log.debug("Finding user by email: {}", email);
-        return userRepository.findByEmail(email);
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
     }
 
     @Override
@@ -57,9 +71,15 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
     }
 
     @Override
-    public List<User> findAllActive() {
+    public List<UserResponse> findAllActive() {
         log.debug("Finding all active users");
-        return userRepository.findByActiveTrue();
+        return userRepository.findAllActive();
+    }
+
+    @Override
+    public boolean updatePassword(Long userId, String currentPassword, String newPassword) {
+        log.debug("Updating password hash for user ID: {}", userId);
+        return userRepository.updatePassword(userId, currentPassword, newPassword) > 0;
     }
 
     @Override
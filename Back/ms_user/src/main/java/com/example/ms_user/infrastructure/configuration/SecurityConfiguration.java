@@ -3,6 +3,7 @@ package com.example.ms_user.infrastructure.configuration;
 import com.example.ms_user.infrastructure.security.CustomUserDetailsService;
 import com.example.ms_user.infrastructure.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -31,6 +32,9 @@ public class SecurityConfiguration {
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     /**
      * Configure security filter chain
      */
@@ -85,10 +89,10 @@ public class SecurityConfiguration {
     }
 
     /**
-     * Configure password encoder
+     * Configure password encoder with the configured BCrypt cost
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 }
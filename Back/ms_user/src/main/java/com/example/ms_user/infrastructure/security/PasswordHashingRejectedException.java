@@ -0,0 +1,11 @@
+package com.example.ms_user.infrastructure.security;
+
+/**
+ * Thrown when the password hashing executor is saturated or does not answer in time
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
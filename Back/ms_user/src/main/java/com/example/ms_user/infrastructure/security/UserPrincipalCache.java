@@ -0,0 +1,95 @@
+package com.example.ms_user.infrastructure.security;
+
+import com.example.ms_user.domain.model.User;
+import com.example.ms_user.domain.ports.UserPrincipalCachePort;
+import com.example.ms_user.domain.ports.UserRepositoryPort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of authenticated principals keyed by userId, so that requests carrying
+ * a valid JWT do not need a database round trip to resolve the user.
+ * Only active users are cached; the TTL bounds staleness across instances and
+ * {@link #evict(Long)} is called whenever the account state changes.
+ */
+@Component
+@Slf4j
+public class UserPrincipalCache implements UserPrincipalCachePort {
+
+    private final UserRepositoryPort userRepositoryPort;
+    private final Cache<Long, CustomUserDetails> principals;
+
+    public UserPrincipalCache(
+            UserRepositoryPort userRepositoryPort,
+            @Value("${security.principal-cache.ttl:1m}") Duration ttl,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.userRepositoryPort = userRepositoryPort;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+    }
+
+    /**
+     * Get the principal of an active user, loading it on a cache miss.
+     * Returns null when the user does not exist or is inactive.
+     */
+    public CustomUserDetails getPrincipal(Long userId) {
+        return principals.get(userId, this::loadPrincipal);
+    }
+
+    /**
+     * Evict the cached principal. Inside a transaction the entry is evicted again after
+     * commit, so a concurrent request cannot re-cache the state being replaced.
+     */
+    @Override
+    public void evict(Long userId) {
+        principals.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    principals.invalidate(userId);
+                }
+            });
+        }
+        log.debug("Evicted cached principal for user ID: {}", userId);
+    }
+
+    /**
+     * Load the user and keep a copy without the password hash, which the JWT path never needs
+     */
+    private CustomUserDetails loadPrincipal(Long userId) {
+        log.debug("Loading principal for user ID: {}", userId);
+
+        return userRepositoryPort.findById(userId)
+                .filter(User::getActive)
+                .map(user -> new CustomUserDetails(User.builder()
+                        .userId(user.getUserId())
+                        .email(user.getEmail())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .provider(user.getProvider())
+                        .providerId(user.getProviderId())
+                        .role(user.getRole())
+                        .active(user.getActive())
+                        .emailVerified(user.getEmailVerified())
+                        .profilePictureUrl(user.getProfilePictureUrl())
+                        .createdAt(user.getCreatedAt())
+                        .updatedAt(user.getUpdatedAt())
+                        .build()))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.ms_user;
+
+import com.example.ms_user.domain.model.User;
+import com.example.ms_user.domain.ports.UserRepositoryPort;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures how many SQL statements the user read path sends to the database with the Hibernate
+ * second-level cache off and on, under the read mix the cache was sized for: USERS users,
+ * READS lookups through UserRepositoryPort, 60% login by email (natural id) and 40% by id, with
+ * 80% of the lookups on the hottest 20% of users. The same seeded sequence runs against two
+ * application contexts that differ only in hibernate.cache.use_second_level_cache /
+ * use_query_cache, each on its own in-memory H2 database and starting from an empty cache.
+ * <p>
+ * Counts come from Hibernate Statistics: prepared statements, second-level cache hits and
+ * natural-id cache hits. Skipped unless USER_CACHE_BENCHMARK=true:
+ * USER_CACHE_BENCHMARK=true SPRING_PROFILES_ACTIVE=local mvn test -Dtest=UserSecondLevelCacheBenchmarkTest
+ * (optional: -Dbenchmark.users, -Dbenchmark.reads).
+ */
+@EnabledIfEnvironmentVariable(named = "USER_CACHE_BENCHMARK", matches = "true")
+class UserSecondLevelCacheBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 200);
+    private static final int READS = Integer.getInteger("benchmark.reads", 20_000);
+    private static final double EMAIL_SHARE = 0.6;
+    private static final double HOT_USER_SHARE = 0.2;
+    private static final double HOT_TRAFFIC_SHARE = 0.8;
+    private static final long SEED = 18;
+
+    @Test
+    void secondLevelCacheCutsDatabaseStatements() {
+        Result off = run(false);
+        Result on = run(true);
+
+        System.out.printf("%nUsers: %d, reads: %d (%.0f%% by email, %.0f%% of reads on the hottest %.0f%% of users)%n",
+                USERS, READS, EMAIL_SHARE * 100, HOT_TRAFFIC_SHARE * 100, HOT_USER_SHARE * 100);
+        System.out.printf("%-8s %12s %10s %14s%n", "L2", "statements", "L2 hits", "natural-id hits");
+        off.print("off");
+        on.print("on");
+        System.out.printf("DB query-rate reduction: %.1f%%%n", 100.0 * (off.statements - on.statements) / off.statements);
+
+        assertEquals(0, off.secondLevelHits, "without L2 nothing is served from the cache");
+        assertEquals(READS, off.statements, "without L2 every read is one statement");
+        // With L2 each user is loaded at most once per region: by id and email -> id
+        assertTrue(on.statements <= 2L * USERS, "with L2 only the first read of each user hits the database: " + on.statements);
+        assertTrue(on.secondLevelHits >= READS - 2L * USERS, "entity reads not served by L2: " + on.secondLevelHits);
+        assertTrue(on.naturalIdHits > 0, "email lookups did not use the users-by-email region");
+        assertTrue(on.statements * 10 <= off.statements, "L2 should cut DB statements by at least 90%");
+    }
+
+    private static Result run(boolean secondLevelCache) {
+        String[] args = {
+                "--spring.profiles.active=local",
+                "--spring.datasource.url=jdbc:h2:mem:user_l2_" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--spring.devtools.restart.enabled=false",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--logging.level.com.example.ms_user=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"
+        };
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MsUserApplication.class).run(args)) {
+            UserRepositoryPort users = context.getBean(UserRepositoryPort.class);
+            SessionFactory sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+
+            List<User> seeded = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                seeded.add(users.save(User.builder()
+                        .email("l2-bench-" + i + "@example.com")
+                        .password("{noop}secret")
+                        .firstName("Bench")
+                        .lastName("User " + i)
+                        .build()));
+            }
+            // Start from an empty cache: inserts also populate the READ_WRITE regions
+            sessionFactory.getCache().evictAllRegions();
+            Statistics statistics = sessionFactory.getStatistics();
+            statistics.clear();
+
+            Random random = new Random(SEED);
+            int hotUsers = Math.max(1, (int) (USERS * HOT_USER_SHARE));
+            for (int i = 0; i < READS; i++) {
+                User user = random.nextDouble() < HOT_TRAFFIC_SHARE
+                        ? seeded.get(random.nextInt(hotUsers))
+                        : seeded.get(hotUsers + random.nextInt(USERS - hotUsers));
+                boolean found = random.nextDouble() < EMAIL_SHARE
+                        ? users.findByEmail(user.getEmail()).isPresent()
+                        : users.findById(user.getUserId()).isPresent();
+                assertTrue(found, "user " + user.getUserId() + " not found");
+            }
+            return new Result(statistics.getPrepareStatementCount(),
+                    statistics.getSecondLevelCacheHitCount(),
+                    statistics.getNaturalIdCacheHitCount());
+        }
+    }
+
+    private record Result(long statements, long secondLevelHits, long naturalIdHits) {
+
+        void print(String label) {
+            System.out.printf("%-8s %12d %10d %14d%n", label, statements, secondLevelHits, naturalIdHits);
+        }
+    }
+}
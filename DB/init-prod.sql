@@ -10,12 +10,6 @@ GRANT ALL PRIVILEGES ON SCHEMA public TO expense_user_prod;
 ALTER DEFAULT PRIVILEGES IN SCHEMA public GRANT ALL ON TABLES TO expense_user_prod;
 ALTER DEFAULT PRIVILEGES IN SCHEMA public GRANT ALL ON SEQUENCES TO expense_user_prod;
 
--- Configuraciones adicionales para producción
--- Índices para optimización
-CREATE INDEX IF NOT EXISTS idx_expenses_created_date ON expenses(created_date);
-CREATE INDEX IF NOT EXISTS idx_expenses_category ON expenses(category);
-CREATE INDEX IF NOT EXISTS idx_expenses_amount ON expenses(amount);
-
--- Configurar límites y restricciones
-ALTER TABLE expenses ADD CONSTRAINT check_amount_positive CHECK (amount > 0);
-ALTER TABLE expenses ADD CONSTRAINT check_description_length CHECK (LENGTH(description) >= 3);
\ No newline at end of file
+-- Índices y restricciones: no se crean aquí. Este script corre al crear el contenedor,
+-- antes de que exista la tabla expenses; el esquema lo gestiona cada servicio al iniciar
+-- (Hibernate y las migraciones de Flyway en src/main/resources/db/migration).